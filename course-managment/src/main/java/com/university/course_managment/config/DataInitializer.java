@@ -1,16 +1,22 @@
 package com.university.course_managment.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.EnrollmentRepository;
 import com.university.course_managment.repository.UserRepository;
 
 @Configuration
 public class DataInitializer {
     
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+    
     private final PasswordEncoder passwordEncoder;
 
     public DataInitializer(PasswordEncoder passwordEncoder) {
@@ -18,7 +24,8 @@ public class DataInitializer {
     }
     
     @Bean
-    CommandLineRunner init(UserRepository userRepository) {
+    CommandLineRunner init(UserRepository userRepository, CourseRepository courseRepository,
+                           EnrollmentRepository enrollmentRepository) {
         return args -> {
             // Create default admin only
             if (!userRepository.existsByEmail("admin@university.edu")) {
@@ -31,8 +38,19 @@ public class DataInitializer {
                         .enabled(true)
                         .build();
                 userRepository.save(admin);
-                System.out.println("Admin user created: admin@university.edu / admin123");
+                log.info("Admin user created: admin@university.edu / admin123");
+            }
+            
+            // Carry over enrollments from the old join table before the counters are rebuilt from them
+            if (enrollmentRepository.countLegacyJoinTables() > 0) {
+                int migrated = enrollmentRepository.backfillFromLegacyJoinTable();
+                if (migrated > 0) {
+                    log.info("Migrated {} enrollments from student_courses", migrated);
+                }
             }
+            
+            // Bring seat counters in line with existing enrollments
+            courseRepository.recalculateEnrolledCounts();
         };
     }
 }
\ No newline at end of file
@@ -2,8 +2,11 @@ package com.university.course_managment.controller;
 
 import com.university.course_managment.dto.CourseDTO;
 import com.university.course_managment.dto.CreateCourseRequest;
+import com.university.course_managment.dto.GradeDistributionDTO;
 import com.university.course_managment.dto.StudentDTO;
 import com.university.course_managment.service.CourseService;
+import com.university.course_managment.service.EnrollmentService;
+import com.university.course_managment.service.GradeDistributionService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +14,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -18,14 +22,24 @@ import java.util.List;
 public class CourseController {
     
     private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final GradeDistributionService gradeDistributionService;
 
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService, EnrollmentService enrollmentService,
+                            GradeDistributionService gradeDistributionService) {
         this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        this.gradeDistributionService = gradeDistributionService;
     }
     
+    // Courses one page at a time, sorted by id or code - see PageResponses for the cursor
     @GetMapping
-    public ResponseEntity<List<CourseDTO>> getAllCourses() {
-        return ResponseEntity.ok(courseService.getAllCourses());
+    public ResponseEntity<List<CourseDTO>> getAllCourses(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count) {
+        return PageResponses.ok(courseService.getCourses(sort, cursor, size, count));
     }
     
     @GetMapping("/{id}")
@@ -55,10 +69,52 @@ public class CourseController {
         courseService.deleteCourse(id);
         return ResponseEntity.noContent().build();
     }
+    
+    @GetMapping("/{id}/prerequisites")
+    public ResponseEntity<List<CourseDTO>> getPrerequisites(@PathVariable Long id) {
+        return ResponseEntity.ok(courseService.getPrerequisites(id));
+    }
+    
+    @PostMapping("/{id}/prerequisites/{prerequisiteId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CourseDTO>> addPrerequisite(@PathVariable Long id, @PathVariable Long prerequisiteId) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(courseService.addPrerequisite(id, prerequisiteId));
+    }
+    
+    @DeleteMapping("/{id}/prerequisites/{prerequisiteId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> removePrerequisite(@PathVariable Long id, @PathVariable Long prerequisiteId) {
+        courseService.removePrerequisite(id, prerequisiteId);
+        return ResponseEntity.noContent().build();
+    }
 
     @GetMapping("/{id}/students")
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
-    public ResponseEntity<List<StudentDTO>> getCourseStudents(@PathVariable Long id) {
-        return ResponseEntity.ok(courseService.getCourseStudents(id));
+    public ResponseEntity<List<StudentDTO>> getCourseStudents(
+            @PathVariable Long id,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count) {
+        return PageResponses.ok(courseService.getCourseStudents(id, sort, cursor, size, count));
+    }
+
+    // Score histogram, mean, median and percentiles for one course; all terms unless year/semester are given
+    @GetMapping("/{id}/grade-distribution")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
+    public ResponseEntity<GradeDistributionDTO> getGradeDistribution(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String semester,
+            @RequestParam(defaultValue = "10") int binWidth,
+            @RequestParam(defaultValue = "10,25,50,75,90") List<Double> percentiles) {
+        return ResponseEntity.ok(gradeDistributionService.getCourseDistribution(id, year, semester, binWidth, percentiles));
+    }
+    
+    @GetMapping("/{id}/waitlist")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
+    public ResponseEntity<Map<String, Long>> getWaitlistSize(@PathVariable Long id) {
+        return ResponseEntity.ok(Map.of("waitlisted", enrollmentService.getWaitlistSize(id)));
     }
 }
\ No newline at end of file
@@ -1,14 +1,28 @@
 package com.university.course_managment.controller;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.university.course_managment.dto.DashboardStats;
+import com.university.course_managment.dto.MetricPointDTO;
+import com.university.course_managment.entity.DashboardCounter;
+import com.university.course_managment.entity.DashboardSnapshot;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.service.DashboardHistoryService;
 import com.university.course_managment.service.DashboardService;
+import com.university.course_managment.service.DashboardStreamService;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -16,9 +30,15 @@ import com.university.course_managment.service.DashboardService;
 public class DashboardController {
     
     private final DashboardService dashboardService;
+    private final DashboardStreamService dashboardStreamService;
+    private final DashboardHistoryService dashboardHistoryService;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService,
+                               DashboardStreamService dashboardStreamService,
+                               DashboardHistoryService dashboardHistoryService) {
         this.dashboardService = dashboardService;
+        this.dashboardStreamService = dashboardStreamService;
+        this.dashboardHistoryService = dashboardHistoryService;
     }
     
     @GetMapping("/admin")
@@ -29,13 +49,34 @@ public class DashboardController {
     
     @GetMapping("/student")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<DashboardStats> getStudentStats() {
-        return ResponseEntity.ok(dashboardService.getStudentDashboardStats());
+    public ResponseEntity<DashboardStats> getStudentStats(Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(dashboardService.getStudentDashboardStats(currentUser.getId()));
     }
     
     @GetMapping("/instructor")
     @PreAuthorize("hasRole('INSTRUCTOR')")
-    public ResponseEntity<DashboardStats> getInstructorStats() {
-        return ResponseEntity.ok(dashboardService.getInstructorDashboardStats());
+    public ResponseEntity<DashboardStats> getInstructorStats(Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(dashboardService.getInstructorDashboardStats(currentUser.getId()));
+    }
+    
+    // Time series of an admin dashboard total, e.g. ENROLLMENTS per hour during registration
+    @GetMapping("/history")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<MetricPointDTO>> getHistory(
+            @RequestParam DashboardCounter.Name metric,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) DashboardSnapshot.Resolution resolution) {
+        return ResponseEntity.ok(dashboardHistoryService.getHistory(
+                metric, from, to != null ? to : LocalDateTime.now(), resolution));
+    }
+    
+    // Live version of the caller's dashboard: a "snapshot" event, then "delta" events with changed fields
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT') or hasRole('INSTRUCTOR')")
+    public SseEmitter streamStats(Authentication authentication) {
+        return dashboardStreamService.subscribe((User) authentication.getPrincipal());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.university.course_managment.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.university.course_managment.dto.CreateGradingSchemeRequest;
+import com.university.course_managment.dto.GradingSchemeDTO;
+import com.university.course_managment.dto.RegradeReportDTO;
+import com.university.course_managment.service.GradingSchemeService;
+import com.university.course_managment.service.RegradeService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/grading-schemes")
+@CrossOrigin(origins = "http://localhost:3000")
+public class GradingSchemeController {
+
+    private final GradingSchemeService gradingSchemeService;
+    private final RegradeService regradeService;
+
+    public GradingSchemeController(GradingSchemeService gradingSchemeService, RegradeService regradeService) {
+        this.gradingSchemeService = gradingSchemeService;
+        this.regradeService = regradeService;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
+    public ResponseEntity<List<GradingSchemeDTO>> getSchemes() {
+        return ResponseEntity.ok(gradingSchemeService.getSchemes());
+    }
+
+    @GetMapping("/{version}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
+    public ResponseEntity<GradingSchemeDTO> getScheme(@PathVariable int version) {
+        return ResponseEntity.ok(gradingSchemeService.getScheme(version));
+    }
+
+    // Stores a new version; existing results keep their grades until their term is re-graded
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<GradingSchemeDTO> createScheme(@Valid @RequestBody CreateGradingSchemeRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(gradingSchemeService.createScheme(request));
+    }
+
+    @PutMapping("/{version}/activate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<GradingSchemeDTO> activate(@PathVariable int version) {
+        return ResponseEntity.ok(gradingSchemeService.activate(version));
+    }
+
+    // Recomputes totals and grades of one term, with the active scheme unless a version is given
+    @PostMapping("/regrade")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RegradeReportDTO> regrade(@RequestParam Integer year,
+                                                    @RequestParam String semester,
+                                                    @RequestParam(required = false) Integer version) {
+        return ResponseEntity.ok(regradeService.regrade(year, semester, version));
+    }
+}
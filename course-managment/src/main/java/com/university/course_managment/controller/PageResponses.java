@@ -0,0 +1,35 @@
+package com.university.course_managment.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.university.course_managment.dto.KeysetPage;
+
+// Paged lists keep a plain JSON array as the body. The next page's cursor is sent in X-Next-Cursor and
+// as a Link rel="next" URL, both missing on the last page, and a requested total in X-Total-Count.
+final class PageResponses {
+
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+    static final String TOTAL_COUNT = "X-Total-Count";
+
+    private PageResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(KeysetPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.getNextCursor())
+                    .toUriString();
+            response.header(NEXT_CURSOR, page.getNextCursor());
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        if (page.getTotal() != null) {
+            response.header(TOTAL_COUNT, String.valueOf(page.getTotal()));
+        }
+        return response.body(page.getItems());
+    }
+}
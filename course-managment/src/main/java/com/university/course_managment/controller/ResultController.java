@@ -1,8 +1,12 @@
 package com.university.course_managment.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -13,14 +17,25 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.university.course_managment.dto.CreateResultRequest;
+import com.university.course_managment.dto.GradeDistributionDTO;
 import com.university.course_managment.dto.ResultDTO;
+import com.university.course_managment.dto.ResultImportResponse;
+import com.university.course_managment.dto.TranscriptReportDTO;
 import com.university.course_managment.entity.User;
+import com.university.course_managment.service.GradeDistributionService;
+import com.university.course_managment.service.IdempotencyService;
+import com.university.course_managment.service.ResultExportService;
+import com.university.course_managment.service.ResultImportService;
 import com.university.course_managment.service.ResultService;
+import com.university.course_managment.service.TranscriptService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -29,16 +44,40 @@ import jakarta.validation.Valid;
 public class ResultController {
     
     private final ResultService resultService;
+    private final IdempotencyService idempotencyService;
+    private final ResultImportService resultImportService;
+    private final ResultExportService resultExportService;
+    private final GradeDistributionService gradeDistributionService;
+    private final TranscriptService transcriptService;
 
-    public ResultController(ResultService resultService) {
+    public ResultController(ResultService resultService, IdempotencyService idempotencyService,
+                            ResultImportService resultImportService, ResultExportService resultExportService,
+                            GradeDistributionService gradeDistributionService, TranscriptService transcriptService) {
         this.resultService = resultService;
+        this.idempotencyService = idempotencyService;
+        this.resultImportService = resultImportService;
+        this.resultExportService = resultExportService;
+        this.gradeDistributionService = gradeDistributionService;
+        this.transcriptService = transcriptService;
     }
     
     @PostMapping
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
-    public ResponseEntity<ResultDTO> createResult(@Valid @RequestBody CreateResultRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(resultService.createResult(request));
+    public ResponseEntity<ResultDTO> createResult(@Valid @RequestBody CreateResultRequest request,
+                                                  @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                  Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+        String fingerprint = request.getStudentId() + "|" + request.getCourseId() + "|" + request.getYear() + "|" +
+                request.getSemester() + "|" + request.getMidtermScore() + "|" + request.getFinalScore();
+        return idempotencyService.execute(idempotencyKey, "result:" + currentUser.getId(), fingerprint,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(resultService.createResult(request)));
+    }
+    
+    // Bulk upload: the request body is a CSV with one result per line, read as it arrives
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    public ResponseEntity<ResultImportResponse> importResults(InputStream csv) throws IOException {
+        return ResponseEntity.ok(resultImportService.importCsv(csv));
     }
     
     @GetMapping("/student/{studentId}")
@@ -53,12 +92,28 @@ public class ResultController {
         return ResponseEntity.ok(resultService.getCourseResults(courseId));
     }
     
-    // Add instructor endpoint
+    // One distribution merged over several courses, e.g. all courses of a department
+    @GetMapping("/grade-distribution")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    public ResponseEntity<GradeDistributionDTO> getGradeDistribution(
+            @RequestParam List<Long> courseIds,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String semester,
+            @RequestParam(defaultValue = "10") int binWidth,
+            @RequestParam(defaultValue = "10,25,50,75,90") List<Double> percentiles) {
+        return ResponseEntity.ok(gradeDistributionService.getDistribution(courseIds, year, semester, binWidth, percentiles));
+    }
+    
+    // The results of the instructor's courses one page at a time; see PageResponses for the cursor
     @GetMapping("/instructor")
     @PreAuthorize("hasRole('INSTRUCTOR')")
-    public ResponseEntity<List<ResultDTO>> getInstructorResults(Authentication authentication) {
+    public ResponseEntity<List<ResultDTO>> getInstructorResults(@RequestParam(required = false) Integer year,
+                                                                @RequestParam(required = false) String semester,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer size,
+                                                                Authentication authentication) {
         User instructor = (User) authentication.getPrincipal();
-        return ResponseEntity.ok(resultService.getResultsByInstructor(instructor.getId()));
+        return PageResponses.ok(resultService.getResultsByInstructor(instructor.getId(), year, semester, cursor, size));
     }
     
     @PutMapping("/{id}")
@@ -70,11 +125,44 @@ public class ResultController {
         return ResponseEntity.ok(resultService.updateResult(id, request));
     }
  
+    // All results one page at a time in id order - see PageResponses for the cursor
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<ResultDTO>> getAllResults() {
-        List<ResultDTO> results = resultService.getAllResults();
-        return ResponseEntity.ok(results);
+    public ResponseEntity<List<ResultDTO>> getAllResults(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size,
+                                                         @RequestParam(defaultValue = "false") boolean count) {
+        return PageResponses.ok(resultService.getResults(cursor, size, count));
+    }
+
+    // All results as NDJSON (default) or CSV, written to the response while they are read
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportResults(@RequestParam(defaultValue = "ndjson") String format,
+                              HttpServletResponse response) throws IOException {
+        ResultExportService.Format exportFormat = ResultExportService.Format.of(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"results." + exportFormat.getExtension() + "\"");
+        resultExportService.export(exportFormat, response.getOutputStream());
+    }
+
+    // Transcripts of every student with results in the term, one file each in the configured directory
+    @PostMapping("/transcripts")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TranscriptReportDTO> writeTranscripts(@RequestParam Integer year,
+                                                                @RequestParam String semester) throws IOException {
+        return ResponseEntity.ok(transcriptService.writeToDirectory(year, semester));
+    }
+
+    // The same transcripts as a zip, written to the response while they are produced
+    @GetMapping("/transcripts")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void downloadTranscripts(@RequestParam Integer year, @RequestParam String semester,
+                                    HttpServletResponse response) throws IOException {
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transcripts.zip\"");
+        transcriptService.writeZip(year, semester, response.getOutputStream());
     }
 
     @GetMapping("/{id}")
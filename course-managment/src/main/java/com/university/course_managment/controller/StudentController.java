@@ -1,8 +1,9 @@
 package com.university.course_managment.controller;
 
+import java.net.URI;
 import java.util.List;
-import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -14,15 +15,28 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import com.university.course_managment.dto.AcademicSummaryDTO;
+import com.university.course_managment.dto.BulkEnrollmentRequest;
+import com.university.course_managment.dto.BulkEnrollmentResponse;
+import com.university.course_managment.dto.CartEnrollmentRequest;
 import com.university.course_managment.dto.CourseDTO;
+import com.university.course_managment.dto.EnrollmentStatusDTO;
+import com.university.course_managment.dto.EnrollmentTicketDTO;
+import com.university.course_managment.dto.RankDTO;
 import com.university.course_managment.dto.StudentDTO;
-import com.university.course_managment.entity.Student;
 import com.university.course_managment.entity.User;
-import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.exception.ResourceNotFoundException;
+import com.university.course_managment.service.AcademicSummaryService;
+import com.university.course_managment.service.EnrollmentAdmissionService;
 import com.university.course_managment.service.EnrollmentService;
+import com.university.course_managment.service.IdempotencyService;
+import com.university.course_managment.service.RankService;
 import com.university.course_managment.service.StudentService;
 
 import jakarta.validation.Valid;
@@ -34,22 +48,40 @@ public class StudentController {
     
     private final EnrollmentService enrollmentService;
     private final StudentService studentService;
-    private final StudentRepository studentRepository;
+    private final EnrollmentAdmissionService admissionService;
+    private final IdempotencyService idempotencyService;
+    private final AcademicSummaryService academicSummaryService;
+    private final RankService rankService;
+    private final long admissionWaitMillis;
+    private final long maxTicketWaitMillis;
 
     public StudentController(EnrollmentService enrollmentService, 
                            StudentService studentService,
-                           StudentRepository studentRepository) {
+                           EnrollmentAdmissionService admissionService,
+                           IdempotencyService idempotencyService,
+                           AcademicSummaryService academicSummaryService,
+                           RankService rankService,
+                           @Value("${enrollment.admission.request-wait:2000}") long admissionWaitMillis,
+                           @Value("${enrollment.admission.max-ticket-wait:30000}") long maxTicketWaitMillis) {
         this.enrollmentService = enrollmentService;
         this.studentService = studentService;
-        this.studentRepository = studentRepository;
+        this.admissionService = admissionService;
+        this.idempotencyService = idempotencyService;
+        this.academicSummaryService = academicSummaryService;
+        this.rankService = rankService;
+        this.admissionWaitMillis = admissionWaitMillis;
+        this.maxTicketWaitMillis = maxTicketWaitMillis;
     }
     
-    // GET all students - Admin only
+    // GET students one page at a time, sorted by id or studentId - see PageResponses for the cursor
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
-    public ResponseEntity<List<StudentDTO>> getAllStudents() {
-        List<StudentDTO> students = studentService.getAllStudents();
-        return ResponseEntity.ok(students);
+    public ResponseEntity<List<StudentDTO>> getAllStudents(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count) {
+        return PageResponses.ok(studentService.getStudents(sort, cursor, size, count));
     }
     
     // GET student by ID
@@ -60,6 +92,29 @@ public class StudentController {
         return ResponseEntity.ok(student);
     }
     
+    // GET credit-weighted GPA, credits and per-term GPA, read from the maintained summary rows
+    @GetMapping("/{id}/academic-summary")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR') or (hasRole('STUDENT') and @studentService.isOwnProfile(#id, authentication))")
+    public ResponseEntity<AcademicSummaryDTO> getAcademicSummary(@PathVariable Long id, Authentication authentication) {
+        return ResponseEntity.ok(academicSummaryService.getSummary(id));
+    }
+    
+    @GetMapping("/{id}/course-rank")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR') or (hasRole('STUDENT') and @studentService.isOwnProfile(#id, authentication))")
+    public ResponseEntity<RankDTO> getCourseRank(@PathVariable Long id,
+                                                 @RequestParam Long courseId,
+                                                 @RequestParam Integer year,
+                                                 @RequestParam String semester,
+                                                 Authentication authentication) {
+        return ResponseEntity.ok(rankService.getCourseRank(id, courseId, year, semester));
+    }
+    
+    @GetMapping("/{id}/cohort-rank")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR') or (hasRole('STUDENT') and @studentService.isOwnProfile(#id, authentication))")
+    public ResponseEntity<RankDTO> getCohortRank(@PathVariable Long id, Authentication authentication) {
+        return ResponseEntity.ok(rankService.getCohortRank(id));
+    }
+    
     // CREATE student - Admin only
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -84,22 +139,98 @@ public class StudentController {
         return ResponseEntity.noContent().build();
     }
     
-    // ENROLL in course - Student only
+    // ENROLL in course - Student only. The request goes through the admission queue; if it is not
+    // processed within the wait window, or the student lands on the waitlist, the client gets 202 with the ticket.
+    // A retry with the same Idempotency-Key is answered from the original ticket.
     @PostMapping("/enroll/{courseId}")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<Void> enrollInCourse(@PathVariable Long courseId, Authentication authentication) {
+    public DeferredResult<ResponseEntity<?>> enrollInCourse(@PathVariable Long courseId,
+                                                            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                            Authentication authentication) {
         User currentUser = (User) authentication.getPrincipal();
-        enrollmentService.enrollInCourse(courseId, currentUser.getId());
-        return ResponseEntity.ok().build();
+        EnrollmentAdmissionService.Ticket ticket = idempotencyService.execute(idempotencyKey,
+                "enroll:" + currentUser.getId(), String.valueOf(courseId),
+                () -> admissionService.submit(courseId, currentUser.getId()));
+        
+        DeferredResult<ResponseEntity<?>> deferred = new DeferredResult<>(admissionWaitMillis);
+        deferred.onTimeout(() -> deferred.setResult(accepted(ticket)));
+        ticket.getFuture().whenComplete((status, error) -> {
+            if (error != null) {
+                deferred.setErrorResult(error);
+            } else if (status.getStatus() == EnrollmentStatusDTO.Status.WAITLISTED) {
+                // A full course queues the student; like a pending request this is a 202 with the ticket
+                deferred.setResult(accepted(ticket));
+            } else {
+                deferred.setResult(ResponseEntity.ok(status));
+            }
+        });
+        return deferred;
+    }
+    
+    // POLL an enrollment ticket - Student only; wait (ms) turns this into a long-poll
+    @GetMapping("/enroll/tickets/{ticketId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public DeferredResult<EnrollmentTicketDTO> getEnrollmentTicket(@PathVariable String ticketId,
+                                                                   @RequestParam(defaultValue = "0") long wait,
+                                                                   Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+        EnrollmentAdmissionService.Ticket ticket = admissionService.findTicket(ticketId, currentUser.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Enrollment ticket not found"));
+        
+        DeferredResult<EnrollmentTicketDTO> deferred = new DeferredResult<>(Math.max(1, Math.min(wait, maxTicketWaitMillis)));
+        if (wait <= 0 || ticket.getFuture().isDone()) {
+            deferred.setResult(admissionService.toDTO(ticket));
+            return deferred;
+        }
+        deferred.onTimeout(() -> deferred.setResult(admissionService.toDTO(ticket)));
+        ticket.getFuture().whenComplete((status, error) -> deferred.setResult(admissionService.toDTO(ticket)));
+        return deferred;
+    }
+    
+    // ENROLL in a cart of courses - Student only; either every course succeeds or none does
+    @PostMapping("/enroll/cart")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<List<EnrollmentStatusDTO>> enrollInCart(@Valid @RequestBody CartEnrollmentRequest request,
+                                                                  Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(enrollmentService.enrollCart(request.getCourseIds(), currentUser.getId()));
+    }
+    
+    // BULK enroll students into courses - Admin only
+    @PostMapping("/enroll/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkEnrollmentResponse> bulkEnroll(@Valid @RequestBody BulkEnrollmentRequest request) {
+        return ResponseEntity.ok(enrollmentService.bulkEnroll(request));
     }
     
     // DROP course - Student only
     @DeleteMapping("/drop/{courseId}")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<Void> dropCourse(@PathVariable Long courseId, Authentication authentication) {
+    public ResponseEntity<Void> dropCourse(@PathVariable Long courseId,
+                                           @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                           Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+        return idempotencyService.execute(idempotencyKey, "drop:" + currentUser.getId(), String.valueOf(courseId), () -> {
+            enrollmentService.dropCourse(courseId, currentUser.getId());
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    // GET waitlist position - Student only
+    @GetMapping("/waitlist/{courseId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<EnrollmentStatusDTO> getWaitlistPosition(@PathVariable Long courseId, Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(enrollmentService.getWaitlistPosition(courseId, currentUser.getId()));
+    }
+    
+    // LEAVE waitlist - Student only
+    @DeleteMapping("/waitlist/{courseId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long courseId, Authentication authentication) {
         User currentUser = (User) authentication.getPrincipal();
-        enrollmentService.dropCourse(courseId, currentUser.getId());
-        return ResponseEntity.ok().build();
+        enrollmentService.leaveWaitlist(courseId, currentUser.getId());
+        return ResponseEntity.noContent().build();
     }
 
     // GET student's enrolled courses
@@ -115,36 +246,13 @@ public class StudentController {
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<StudentDTO> getCurrentStudentProfile(Authentication authentication) {
         User currentUser = (User) authentication.getPrincipal();
-        
-        // Try to find student profile
-        Optional<Student> studentOpt = studentRepository.findByUserId(currentUser.getId());
-        
-        if (studentOpt.isEmpty()) {
-            // Create a basic student profile if it doesn't exist
-            Student newStudent = Student.builder()
-                    .studentId("STU" + String.format("%05d", currentUser.getId()))
-                    .user(currentUser)
-                    .department("General Studies")
-                    .year(1)
-                    .build();
-            Student saved = studentRepository.save(newStudent);
-            return ResponseEntity.ok(mapStudentToDTO(saved));
-        }
-        
-        return ResponseEntity.ok(mapStudentToDTO(studentOpt.get()));
+        return ResponseEntity.ok(studentService.getOrCreateProfile(currentUser));
     }
 
-    private StudentDTO mapStudentToDTO(Student student) {
-        return StudentDTO.builder()
-                .id(student.getId())
-                .studentId(student.getStudentId())
-                .firstName(student.getUser().getFirstName())
-                .lastName(student.getUser().getLastName())
-                .email(student.getUser().getEmail())
-                .department(student.getDepartment())
-                .year(student.getYear())
-                .userId(student.getUser().getId())
-                .enrolledCourses(student.getCourses() != null ? student.getCourses().size() : 0)
-                .build();
-    }
-}
\ No newline at end of file
+    // Every 202 from the enroll endpoint carries the ticket, so clients have one body type to handle
+    private ResponseEntity<EnrollmentTicketDTO> accepted(EnrollmentAdmissionService.Ticket ticket) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/students/enroll/tickets/" + ticket.getId()))
+                .body(admissionService.toDTO(ticket));
+    }
+}
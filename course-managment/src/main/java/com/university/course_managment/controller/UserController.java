@@ -36,17 +36,12 @@ public class UserController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<UserDTO>> getAllUsers(
             @RequestParam(required = false) String role,
-            @RequestParam(required = false) Boolean unassigned) {
-        
-        if (unassigned != null && unassigned && "STUDENT".equals(role)) {
-            return ResponseEntity.ok(userService.getUnassignedStudentUsers());
-        }
-        
-        if (role != null && !role.isEmpty()) {
-            return ResponseEntity.ok(userService.getUsersByRole(role));
-        }
-        
-        return ResponseEntity.ok(userService.getAllUsers());
+            @RequestParam(defaultValue = "false") boolean unassigned,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count) {
+        return PageResponses.ok(userService.getUsers(role, unassigned, sort, cursor, size, count));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,134 @@
+package com.university.course_managment.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AcademicSummaryDTO {
+    private Long studentId;
+    private Double gpa;
+    private Integer gradedCredits;
+    private Integer completedCredits;
+    private Integer completedCourses;
+    private List<Term> terms = new ArrayList<>();
+
+    public static class Term {
+        private Integer year;
+        private String semester;
+        private Double gpa;
+        private Integer gradedCredits;
+        private Integer completedCredits;
+        private Integer completedCourses;
+
+        public Term() {}
+
+        public Term(Integer year, String semester, Double gpa, Integer gradedCredits,
+                    Integer completedCredits, Integer completedCourses) {
+            this.year = year;
+            this.semester = semester;
+            this.gpa = gpa;
+            this.gradedCredits = gradedCredits;
+            this.completedCredits = completedCredits;
+            this.completedCourses = completedCourses;
+        }
+
+        public Integer getYear() {
+            return year;
+        }
+
+        public void setYear(Integer year) {
+            this.year = year;
+        }
+
+        public String getSemester() {
+            return semester;
+        }
+
+        public void setSemester(String semester) {
+            this.semester = semester;
+        }
+
+        public Double getGpa() {
+            return gpa;
+        }
+
+        public void setGpa(Double gpa) {
+            this.gpa = gpa;
+        }
+
+        public Integer getGradedCredits() {
+            return gradedCredits;
+        }
+
+        public void setGradedCredits(Integer gradedCredits) {
+            this.gradedCredits = gradedCredits;
+        }
+
+        public Integer getCompletedCredits() {
+            return completedCredits;
+        }
+
+        public void setCompletedCredits(Integer completedCredits) {
+            this.completedCredits = completedCredits;
+        }
+
+        public Integer getCompletedCourses() {
+            return completedCourses;
+        }
+
+        public void setCompletedCourses(Integer completedCourses) {
+            this.completedCourses = completedCourses;
+        }
+    }
+
+    // Constructors
+    public AcademicSummaryDTO() {}
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Double getGpa() {
+        return gpa;
+    }
+
+    public void setGpa(Double gpa) {
+        this.gpa = gpa;
+    }
+
+    public Integer getGradedCredits() {
+        return gradedCredits;
+    }
+
+    public void setGradedCredits(Integer gradedCredits) {
+        this.gradedCredits = gradedCredits;
+    }
+
+    public Integer getCompletedCredits() {
+        return completedCredits;
+    }
+
+    public void setCompletedCredits(Integer completedCredits) {
+        this.completedCredits = completedCredits;
+    }
+
+    public Integer getCompletedCourses() {
+        return completedCourses;
+    }
+
+    public void setCompletedCourses(Integer completedCourses) {
+        this.completedCourses = completedCourses;
+    }
+
+    public List<Term> getTerms() {
+        return terms;
+    }
+
+    public void setTerms(List<Term> terms) {
+        this.terms = terms;
+    }
+}
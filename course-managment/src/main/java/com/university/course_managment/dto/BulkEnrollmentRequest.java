@@ -0,0 +1,38 @@
+package com.university.course_managment.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+
+public class BulkEnrollmentRequest {
+    @NotEmpty
+    private List<Long> studentIds;
+    
+    @NotEmpty
+    private List<Long> courseIds;
+
+    // Constructors
+    public BulkEnrollmentRequest() {}
+
+    public BulkEnrollmentRequest(List<Long> studentIds, List<Long> courseIds) {
+        this.studentIds = studentIds;
+        this.courseIds = courseIds;
+    }
+
+    // Getters and Setters
+    public List<Long> getStudentIds() {
+        return studentIds;
+    }
+
+    public void setStudentIds(List<Long> studentIds) {
+        this.studentIds = studentIds;
+    }
+
+    public List<Long> getCourseIds() {
+        return courseIds;
+    }
+
+    public void setCourseIds(List<Long> courseIds) {
+        this.courseIds = courseIds;
+    }
+}
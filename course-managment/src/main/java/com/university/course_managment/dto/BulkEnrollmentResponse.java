@@ -0,0 +1,68 @@
+package com.university.course_managment.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkEnrollmentResponse {
+    private int enrolled;
+    private int failed;
+    private List<Item> results = new ArrayList<>();
+
+    public static class Item {
+        private Long studentId;
+        private Long courseId;
+        private boolean success;
+        private String message;
+
+        public Item() {}
+
+        public Item(Long studentId, Long courseId, boolean success, String message) {
+            this.studentId = studentId;
+            this.courseId = courseId;
+            this.success = success;
+            this.message = message;
+        }
+
+        public Long getStudentId() {
+            return studentId;
+        }
+
+        public Long getCourseId() {
+            return courseId;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    // Constructors
+    public BulkEnrollmentResponse() {}
+
+    public void addSuccess(Long studentId, Long courseId) {
+        results.add(new Item(studentId, courseId, true, null));
+        enrolled++;
+    }
+
+    public void addFailure(Long studentId, Long courseId, String message) {
+        results.add(new Item(studentId, courseId, false, message));
+        failed++;
+    }
+
+    // Getters
+    public int getEnrolled() {
+        return enrolled;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<Item> getResults() {
+        return results;
+    }
+}
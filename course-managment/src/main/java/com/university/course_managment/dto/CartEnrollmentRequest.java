@@ -0,0 +1,26 @@
+package com.university.course_managment.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+
+public class CartEnrollmentRequest {
+    @NotEmpty
+    private List<Long> courseIds;
+
+    // Constructors
+    public CartEnrollmentRequest() {}
+
+    public CartEnrollmentRequest(List<Long> courseIds) {
+        this.courseIds = courseIds;
+    }
+
+    // Getters and Setters
+    public List<Long> getCourseIds() {
+        return courseIds;
+    }
+
+    public void setCourseIds(List<Long> courseIds) {
+        this.courseIds = courseIds;
+    }
+}
@@ -0,0 +1,76 @@
+package com.university.course_managment.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+public class CreateGradingSchemeRequest {
+    @NotBlank
+    private String name;
+    
+    @NotNull
+    @DecimalMin("0")
+    @DecimalMax("1")
+    private Double midtermWeight;
+    
+    @NotNull
+    @DecimalMin("0")
+    @DecimalMax("1")
+    private Double finalWeight;
+    
+    @NotEmpty
+    @Valid
+    private List<GradingSchemeDTO.Boundary> boundaries;
+    
+    // Make the new version the one used for results from now on
+    private boolean activate;
+
+    // Constructors
+    public CreateGradingSchemeRequest() {}
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Double getMidtermWeight() {
+        return midtermWeight;
+    }
+
+    public void setMidtermWeight(Double midtermWeight) {
+        this.midtermWeight = midtermWeight;
+    }
+
+    public Double getFinalWeight() {
+        return finalWeight;
+    }
+
+    public void setFinalWeight(Double finalWeight) {
+        this.finalWeight = finalWeight;
+    }
+
+    public List<GradingSchemeDTO.Boundary> getBoundaries() {
+        return boundaries;
+    }
+
+    public void setBoundaries(List<GradingSchemeDTO.Boundary> boundaries) {
+        this.boundaries = boundaries;
+    }
+
+    public boolean isActivate() {
+        return activate;
+    }
+
+    public void setActivate(boolean activate) {
+        this.activate = activate;
+    }
+}
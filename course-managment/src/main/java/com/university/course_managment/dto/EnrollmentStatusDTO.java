@@ -0,0 +1,53 @@
+package com.university.course_managment.dto;
+
+public class EnrollmentStatusDTO {
+    private Long courseId;
+    private Status status;
+    private Long waitlistPosition;
+
+    public enum Status {
+        ENROLLED, WAITLISTED
+    }
+
+    // Constructors
+    public EnrollmentStatusDTO() {}
+
+    public EnrollmentStatusDTO(Long courseId, Status status, Long waitlistPosition) {
+        this.courseId = courseId;
+        this.status = status;
+        this.waitlistPosition = waitlistPosition;
+    }
+
+    public static EnrollmentStatusDTO enrolled(Long courseId) {
+        return new EnrollmentStatusDTO(courseId, Status.ENROLLED, null);
+    }
+
+    public static EnrollmentStatusDTO waitlisted(Long courseId, long position) {
+        return new EnrollmentStatusDTO(courseId, Status.WAITLISTED, position);
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getWaitlistPosition() {
+        return waitlistPosition;
+    }
+
+    public void setWaitlistPosition(Long waitlistPosition) {
+        this.waitlistPosition = waitlistPosition;
+    }
+}
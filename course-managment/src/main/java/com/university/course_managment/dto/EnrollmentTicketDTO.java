@@ -0,0 +1,86 @@
+package com.university.course_managment.dto;
+
+public class EnrollmentTicketDTO {
+    private String ticketId;
+    private Long courseId;
+    private State state;
+    private Long queuePosition;
+    private EnrollmentStatusDTO result;
+    private String error;
+    private String errorCode;
+
+    public enum State {
+        QUEUED, PROCESSING, COMPLETED, FAILED
+    }
+
+    // Constructors
+    public EnrollmentTicketDTO() {}
+
+    public EnrollmentTicketDTO(String ticketId, Long courseId, State state, Long queuePosition,
+                               EnrollmentStatusDTO result, String error, String errorCode) {
+        this.ticketId = ticketId;
+        this.courseId = courseId;
+        this.state = state;
+        this.queuePosition = queuePosition;
+        this.result = result;
+        this.error = error;
+        this.errorCode = errorCode;
+    }
+
+    // Getters and Setters
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(String ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public Long getQueuePosition() {
+        return queuePosition;
+    }
+
+    public void setQueuePosition(Long queuePosition) {
+        this.queuePosition = queuePosition;
+    }
+
+    public EnrollmentStatusDTO getResult() {
+        return result;
+    }
+
+    public void setResult(EnrollmentStatusDTO result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+}
@@ -0,0 +1,129 @@
+package com.university.course_managment.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GradeDistributionDTO {
+    private List<Long> courseIds;
+    private Integer year;
+    private String semester;
+    private long count;
+    private Double mean;
+    private Double standardDeviation;
+    private Double median;
+    private Map<String, Double> percentiles = new LinkedHashMap<>();
+    private Map<String, Long> grades = new LinkedHashMap<>();
+    private List<Bin> histogram = new ArrayList<>();
+
+    public static class Bin {
+        private int from;
+        private int to;
+        private long count;
+
+        public Bin() {}
+
+        public Bin(int from, int to, long count) {
+            this.from = from;
+            this.to = to;
+            this.count = count;
+        }
+
+        public int getFrom() {
+            return from;
+        }
+
+        public int getTo() {
+            return to;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+
+    // Constructors
+    public GradeDistributionDTO() {}
+
+    // Getters and Setters
+    public List<Long> getCourseIds() {
+        return courseIds;
+    }
+
+    public void setCourseIds(List<Long> courseIds) {
+        this.courseIds = courseIds;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public String getSemester() {
+        return semester;
+    }
+
+    public void setSemester(String semester) {
+        this.semester = semester;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+
+    public Double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public void setStandardDeviation(Double standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+
+    public Double getMedian() {
+        return median;
+    }
+
+    public void setMedian(Double median) {
+        this.median = median;
+    }
+
+    public Map<String, Double> getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(Map<String, Double> percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    public Map<String, Long> getGrades() {
+        return grades;
+    }
+
+    public void setGrades(Map<String, Long> grades) {
+        this.grades = grades;
+    }
+
+    public List<Bin> getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(List<Bin> histogram) {
+        this.histogram = histogram;
+    }
+}
@@ -0,0 +1,116 @@
+package com.university.course_managment.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class GradingSchemeDTO {
+    private Integer version;
+    private String name;
+    private Double midtermWeight;
+    private Double finalWeight;
+    private boolean active;
+    private List<Boundary> boundaries = new ArrayList<>();
+
+    public static class Boundary {
+        @NotNull
+        @DecimalMin("0")
+        @DecimalMax("100")
+        private Double minScore;
+
+        @NotBlank
+        private String grade;
+
+        @NotNull
+        @DecimalMin("0")
+        private Double gradePoints;
+
+        public Boundary() {}
+
+        public Boundary(Double minScore, String grade, Double gradePoints) {
+            this.minScore = minScore;
+            this.grade = grade;
+            this.gradePoints = gradePoints;
+        }
+
+        public Double getMinScore() {
+            return minScore;
+        }
+
+        public void setMinScore(Double minScore) {
+            this.minScore = minScore;
+        }
+
+        public String getGrade() {
+            return grade;
+        }
+
+        public void setGrade(String grade) {
+            this.grade = grade;
+        }
+
+        public Double getGradePoints() {
+            return gradePoints;
+        }
+
+        public void setGradePoints(Double gradePoints) {
+            this.gradePoints = gradePoints;
+        }
+    }
+
+    // Constructors
+    public GradingSchemeDTO() {}
+
+    // Getters and Setters
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Double getMidtermWeight() {
+        return midtermWeight;
+    }
+
+    public void setMidtermWeight(Double midtermWeight) {
+        this.midtermWeight = midtermWeight;
+    }
+
+    public Double getFinalWeight() {
+        return finalWeight;
+    }
+
+    public void setFinalWeight(Double finalWeight) {
+        this.finalWeight = finalWeight;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public List<Boundary> getBoundaries() {
+        return boundaries;
+    }
+
+    public void setBoundaries(List<Boundary> boundaries) {
+        this.boundaries = boundaries;
+    }
+}
@@ -0,0 +1,44 @@
+package com.university.course_managment.dto;
+
+import java.util.List;
+
+// One page of a keyset-paged list. The cursor names the last item and is null on the last page; the
+// total is only counted when asked for.
+public class KeysetPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private Long total;
+
+    // Constructors
+    public KeysetPage() {}
+
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,63 @@
+package com.university.course_managment.dto;
+
+import java.time.LocalDateTime;
+
+public class MetricPointDTO {
+    private LocalDateTime bucketStart;
+    private Long min;
+    private Long max;
+    private Double average;
+    private Long last;
+
+    // Constructors
+    public MetricPointDTO() {}
+
+    public MetricPointDTO(LocalDateTime bucketStart, Long min, Long max, Double average, Long last) {
+        this.bucketStart = bucketStart;
+        this.min = min;
+        this.max = max;
+        this.average = average;
+        this.last = last;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public Long getMin() {
+        return min;
+    }
+
+    public void setMin(Long min) {
+        this.min = min;
+    }
+
+    public Long getMax() {
+        return max;
+    }
+
+    public void setMax(Long max) {
+        this.max = max;
+    }
+
+    public Double getAverage() {
+        return average;
+    }
+
+    public void setAverage(Double average) {
+        this.average = average;
+    }
+
+    public Long getLast() {
+        return last;
+    }
+
+    public void setLast(Long last) {
+        this.last = last;
+    }
+}
@@ -0,0 +1,100 @@
+package com.university.course_managment.dto;
+
+// A student's standing in a course and term (course fields set) or in a department cohort (department
+// and cohort year set). Rank 1 is the best score; equal scores share a rank.
+public class RankDTO {
+    private Long studentId;
+    private Long courseId;
+    private Integer year;
+    private String semester;
+    private String department;
+    private Integer cohortYear;
+    private Double score;
+    private Integer rank;
+    private Integer outOf;
+    private Double percentile;
+
+    // Constructors
+    public RankDTO() {}
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public String getSemester() {
+        return semester;
+    }
+
+    public void setSemester(String semester) {
+        this.semester = semester;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public Integer getCohortYear() {
+        return cohortYear;
+    }
+
+    public void setCohortYear(Integer cohortYear) {
+        this.cohortYear = cohortYear;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public Integer getRank() {
+        return rank;
+    }
+
+    public void setRank(Integer rank) {
+        this.rank = rank;
+    }
+
+    public Integer getOutOf() {
+        return outOf;
+    }
+
+    public void setOutOf(Integer outOf) {
+        this.outOf = outOf;
+    }
+
+    public Double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(Double percentile) {
+        this.percentile = percentile;
+    }
+}
@@ -0,0 +1,107 @@
+package com.university.course_managment.dto;
+
+public class RegradeReportDTO {
+    private Integer year;
+    private String semester;
+    private int schemeVersion;
+    private int workers;
+    private int chunks;
+    private int failedChunks;
+    private long results;
+    private long updated;
+    private long gradesChanged;
+    private long elapsedMillis;
+    private double resultsPerSecond;
+
+    // Constructors
+    public RegradeReportDTO() {}
+
+    // Getters and Setters
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public String getSemester() {
+        return semester;
+    }
+
+    public void setSemester(String semester) {
+        this.semester = semester;
+    }
+
+    public int getSchemeVersion() {
+        return schemeVersion;
+    }
+
+    public void setSchemeVersion(int schemeVersion) {
+        this.schemeVersion = schemeVersion;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    public void setFailedChunks(int failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+
+    public long getResults() {
+        return results;
+    }
+
+    public void setResults(long results) {
+        this.results = results;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(long updated) {
+        this.updated = updated;
+    }
+
+    public long getGradesChanged() {
+        return gradesChanged;
+    }
+
+    public void setGradesChanged(long gradesChanged) {
+        this.gradesChanged = gradesChanged;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getResultsPerSecond() {
+        return resultsPerSecond;
+    }
+
+    public void setResultsPerSecond(double resultsPerSecond) {
+        this.resultsPerSecond = resultsPerSecond;
+    }
+}
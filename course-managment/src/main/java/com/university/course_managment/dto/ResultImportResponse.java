@@ -0,0 +1,75 @@
+package com.university.course_managment.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResultImportResponse {
+    private int rows;
+    private int imported;
+    private int failed;
+    private boolean errorsTruncated;
+    private List<RowError> errors = new ArrayList<>();
+    private final int maxErrors;
+
+    public static class RowError {
+        private int line;
+        private String message;
+
+        public RowError() {}
+
+        public RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    // Constructors
+    public ResultImportResponse(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public void addImported(int count) {
+        rows += count;
+        imported += count;
+    }
+
+    // Only the first maxErrors failures are listed, so the report stays small for any upload size
+    public void addFailure(int line, String message) {
+        rows++;
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    // Getters
+    public int getRows() {
+        return rows;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,89 @@
+package com.university.course_managment.dto;
+
+public class TranscriptReportDTO {
+    private Integer year;
+    private String semester;
+    private int workers;
+    private long students;
+    private long results;
+    private long failed;
+    private String output;
+    private long elapsedMillis;
+    private double studentsPerSecond;
+
+    // Constructors
+    public TranscriptReportDTO() {}
+
+    // Getters and Setters
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public String getSemester() {
+        return semester;
+    }
+
+    public void setSemester(String semester) {
+        this.semester = semester;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public long getStudents() {
+        return students;
+    }
+
+    public void setStudents(long students) {
+        this.students = students;
+    }
+
+    public long getResults() {
+        return results;
+    }
+
+    public void setResults(long results) {
+        this.results = results;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    public void setOutput(String output) {
+        this.output = output;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getStudentsPerSecond() {
+        return studentsPerSecond;
+    }
+
+    public void setStudentsPerSecond(double studentsPerSecond) {
+        this.studentsPerSecond = studentsPerSecond;
+    }
+}
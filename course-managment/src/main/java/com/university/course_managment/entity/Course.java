@@ -10,7 +10,6 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
@@ -33,14 +32,15 @@ public class Course extends BaseEntity {
     
     private Integer capacity;
     
+    // Denormalized count of ENROLLED enrollments, only written by the conditional updates in CourseRepository
+    @Column(nullable = false, updatable = false)
+    private Integer enrolledCount = 0;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "instructor_id")
     @JsonIgnoreProperties({"courses", "password", "hibernateLazyInitializer"})
     private User instructor;
     
-    @ManyToMany(mappedBy = "courses", fetch = FetchType.LAZY)
-    private Set<Student> students = new HashSet<>();
-    
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Result> results = new HashSet<>();
 
@@ -68,7 +68,6 @@ public class Course extends BaseEntity {
         private Integer credits;
         private Integer capacity;
         private User instructor;
-        private Set<Student> students = new HashSet<>();
         private Set<Result> results = new HashSet<>();
 
         public CourseBuilder code(String code) {
@@ -101,11 +100,6 @@ public class Course extends BaseEntity {
             return this;
         }
 
-        public CourseBuilder students(Set<Student> students) {
-            this.students = students;
-            return this;
-        }
-
         public CourseBuilder results(Set<Result> results) {
             this.results = results;
             return this;
@@ -113,7 +107,6 @@ public class Course extends BaseEntity {
 
         public Course build() {
             Course course = new Course(code, title, description, credits, capacity, instructor);
-            course.setStudents(students);
             course.setResults(results);
             return course;
         }
@@ -160,20 +153,20 @@ public class Course extends BaseEntity {
         this.capacity = capacity;
     }
 
-    public User getInstructor() {
-        return instructor;
+    public Integer getEnrolledCount() {
+        return enrolledCount;
     }
 
-    public void setInstructor(User instructor) {
-        this.instructor = instructor;
+    public void setEnrolledCount(Integer enrolledCount) {
+        this.enrolledCount = enrolledCount;
     }
 
-    public Set<Student> getStudents() {
-        return students;
+    public User getInstructor() {
+        return instructor;
     }
 
-    public void setStudents(Set<Student> students) {
-        this.students = students;
+    public void setInstructor(User instructor) {
+        this.instructor = instructor;
     }
 
     public Set<Result> getResults() {
@@ -0,0 +1,50 @@
+package com.university.course_managment.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// Edge of the prerequisite graph: course requires prerequisite to have been passed
+@Entity
+@Table(name = "course_prerequisites",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"course_id", "prerequisite_id"}),
+       indexes = @Index(name = "idx_prerequisite_prerequisite", columnList = "prerequisite_id"))
+public class CoursePrerequisite extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "prerequisite_id", nullable = false)
+    private Course prerequisite;
+
+    // Constructors
+    public CoursePrerequisite() {}
+
+    public CoursePrerequisite(Course course, Course prerequisite) {
+        this.course = course;
+        this.prerequisite = prerequisite;
+    }
+
+    // Getters and Setters
+    public Course getCourse() {
+        return course;
+    }
+
+    public void setCourse(Course course) {
+        this.course = course;
+    }
+
+    public Course getPrerequisite() {
+        return prerequisite;
+    }
+
+    public void setPrerequisite(Course prerequisite) {
+        this.prerequisite = prerequisite;
+    }
+}
@@ -0,0 +1,100 @@
+package com.university.course_managment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// One cell of a course's total-score histogram for one term: how many results fall into the one-point
+// bucket [bucket, bucket + 1), with their sum and sum of squares in hundredths of a point so that
+// deltas add up exactly. Buckets of any set of courses and terms merge by summing.
+@Entity
+@Table(name = "course_score_buckets",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"course_id", "year", "semester", "bucket"}))
+public class CourseScoreBucket extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private String semester;
+
+    @Column(nullable = false)
+    private Integer bucket;
+
+    @Column(nullable = false)
+    private Long scoreCount = 0L;
+
+    @Column(nullable = false)
+    private Long scoreSum = 0L;
+
+    @Column(nullable = false)
+    private Long scoreSquareSum = 0L;
+
+    // Constructors
+    public CourseScoreBucket() {}
+
+    // Getters and Setters
+    public Course getCourse() {
+        return course;
+    }
+
+    public void setCourse(Course course) {
+        this.course = course;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public String getSemester() {
+        return semester;
+    }
+
+    public void setSemester(String semester) {
+        this.semester = semester;
+    }
+
+    public Integer getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(Integer bucket) {
+        this.bucket = bucket;
+    }
+
+    public Long getScoreCount() {
+        return scoreCount;
+    }
+
+    public void setScoreCount(Long scoreCount) {
+        this.scoreCount = scoreCount;
+    }
+
+    public Long getScoreSum() {
+        return scoreSum;
+    }
+
+    public void setScoreSum(Long scoreSum) {
+        this.scoreSum = scoreSum;
+    }
+
+    public Long getScoreSquareSum() {
+        return scoreSquareSum;
+    }
+
+    public void setScoreSquareSum(Long scoreSquareSum) {
+        this.scoreSquareSum = scoreSquareSum;
+    }
+}
@@ -0,0 +1,64 @@
+package com.university.course_managment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// One stripe of a dashboard counter. Each counter is split over several rows so that concurrent
+// writers usually update different rows; the counter value is the sum of its stripes.
+@Entity
+@Table(name = "dashboard_counters",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"name", "stripe"}))
+public class DashboardCounter extends BaseEntity {
+    
+    public enum Name {
+        STUDENTS, INSTRUCTORS, COURSES, RESULTS, ENROLLMENTS
+    }
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Name name;
+    
+    @Column(nullable = false)
+    private Integer stripe;
+    
+    @Column(name = "counter_value", nullable = false)
+    private Long value = 0L;
+
+    // Constructors
+    public DashboardCounter() {}
+
+    public DashboardCounter(Name name, Integer stripe, Long value) {
+        this.name = name;
+        this.stripe = stripe;
+        this.value = value;
+    }
+
+    // Getters and Setters
+    public Name getName() {
+        return name;
+    }
+
+    public void setName(Name name) {
+        this.name = name;
+    }
+
+    public Integer getStripe() {
+        return stripe;
+    }
+
+    public void setStripe(Integer stripe) {
+        this.stripe = stripe;
+    }
+
+    public Long getValue() {
+        return value;
+    }
+
+    public void setValue(Long value) {
+        this.value = value;
+    }
+}
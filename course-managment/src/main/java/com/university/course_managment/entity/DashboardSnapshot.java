@@ -0,0 +1,156 @@
+package com.university.course_managment.entity;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// One time-series point of a dashboard metric. Raw samples are rolled up into hourly and then daily
+// buckets as they age; a bucket keeps min, max, sum and last value so rolled-up points stay mergeable.
+@Entity
+@Table(name = "dashboard_snapshots",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"metric", "resolution", "bucket_start"}))
+public class DashboardSnapshot extends BaseEntity {
+
+    public enum Resolution {
+        RAW(ChronoUnit.MINUTES), HOURLY(ChronoUnit.HOURS), DAILY(ChronoUnit.DAYS);
+
+        private final ChronoUnit unit;
+
+        Resolution(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        public LocalDateTime bucketOf(LocalDateTime time) {
+            return time.truncatedTo(unit);
+        }
+    }
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private DashboardCounter.Name metric;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Resolution resolution;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private Integer sampleCount;
+
+    @Column(nullable = false)
+    private Long minValue;
+
+    @Column(nullable = false)
+    private Long maxValue;
+
+    @Column(nullable = false)
+    private Long sumValue;
+
+    @Column(nullable = false)
+    private Long lastValue;
+
+    // Constructors
+    public DashboardSnapshot() {}
+
+    public DashboardSnapshot(DashboardCounter.Name metric, Resolution resolution, LocalDateTime bucketStart, long value) {
+        this.metric = metric;
+        this.resolution = resolution;
+        this.bucketStart = bucketStart;
+        this.sampleCount = 1;
+        this.minValue = value;
+        this.maxValue = value;
+        this.sumValue = value;
+        this.lastValue = value;
+    }
+
+    // Folds a later point into this bucket
+    public void merge(DashboardSnapshot later) {
+        sampleCount += later.sampleCount;
+        minValue = Math.min(minValue, later.minValue);
+        maxValue = Math.max(maxValue, later.maxValue);
+        sumValue += later.sumValue;
+        lastValue = later.lastValue;
+    }
+
+    public DashboardSnapshot copyAs(Resolution resolution) {
+        DashboardSnapshot copy = new DashboardSnapshot(metric, resolution, resolution.bucketOf(bucketStart), lastValue);
+        copy.sampleCount = sampleCount;
+        copy.minValue = minValue;
+        copy.maxValue = maxValue;
+        copy.sumValue = sumValue;
+        return copy;
+    }
+
+    // Getters and Setters
+    public DashboardCounter.Name getMetric() {
+        return metric;
+    }
+
+    public void setMetric(DashboardCounter.Name metric) {
+        this.metric = metric;
+    }
+
+    public Resolution getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(Resolution resolution) {
+        this.resolution = resolution;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public Integer getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(Integer sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public Long getMinValue() {
+        return minValue;
+    }
+
+    public void setMinValue(Long minValue) {
+        this.minValue = minValue;
+    }
+
+    public Long getMaxValue() {
+        return maxValue;
+    }
+
+    public void setMaxValue(Long maxValue) {
+        this.maxValue = maxValue;
+    }
+
+    public Long getSumValue() {
+        return sumValue;
+    }
+
+    public void setSumValue(Long sumValue) {
+        this.sumValue = sumValue;
+    }
+
+    public Long getLastValue() {
+        return lastValue;
+    }
+
+    public void setLastValue(Long lastValue) {
+        this.lastValue = lastValue;
+    }
+}
@@ -0,0 +1,92 @@
+package com.university.course_managment.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+@Entity
+@Table(name = "enrollments",
+       uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_student_course", columnNames = {"student_id", "course_id"}),
+       indexes = @Index(name = "idx_enrollment_course_status", columnList = "course_id, status"))
+public class Enrollment extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+    
+    @Column(nullable = false)
+    private LocalDateTime enrolledAt;
+    
+    // A dropped enrollment keeps its row and is reactivated if the student enrolls again
+    public enum Status {
+        ENROLLED, DROPPED
+    }
+
+    // Constructors
+    public Enrollment() {}
+
+    public Enrollment(Student student, Course course, Status status, LocalDateTime enrolledAt) {
+        this.student = student;
+        this.course = course;
+        this.status = status;
+        this.enrolledAt = enrolledAt;
+    }
+
+    // Getters and Setters
+    public Student getStudent() {
+        return student;
+    }
+
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+
+    public Course getCourse() {
+        return course;
+    }
+
+    public void setCourse(Course course) {
+        this.course = course;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getEnrolledAt() {
+        return enrolledAt;
+    }
+
+    public void setEnrolledAt(LocalDateTime enrolledAt) {
+        this.enrolledAt = enrolledAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Enrollment{" +
+                "status=" + status +
+                ", enrolledAt=" + enrolledAt +
+                '}';
+    }
+}
@@ -0,0 +1,52 @@
+package com.university.course_managment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+// A total score from which a grade is given, up to the next higher boundary of the scheme, and the grade
+// points that grade is worth. Points are null only on boundaries stored before schemes carried them.
+@Embeddable
+public class GradeBoundary {
+
+    @Column(nullable = false)
+    private Double minScore;
+
+    @Column(nullable = false)
+    private String grade;
+
+    private Double gradePoints;
+
+    // Constructors
+    public GradeBoundary() {}
+
+    public GradeBoundary(Double minScore, String grade, Double gradePoints) {
+        this.minScore = minScore;
+        this.grade = grade;
+        this.gradePoints = gradePoints;
+    }
+
+    // Getters and Setters
+    public Double getMinScore() {
+        return minScore;
+    }
+
+    public void setMinScore(Double minScore) {
+        this.minScore = minScore;
+    }
+
+    public String getGrade() {
+        return grade;
+    }
+
+    public void setGrade(String grade) {
+        this.grade = grade;
+    }
+
+    public Double getGradePoints() {
+        return gradePoints;
+    }
+
+    public void setGradePoints(Double gradePoints) {
+        this.gradePoints = gradePoints;
+    }
+}
@@ -0,0 +1,102 @@
+package com.university.course_managment.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.Table;
+
+// How total scores and grades are computed: the weights of the midterm and final scores and the
+// boundary table. Schemes are versioned and never changed once stored; a new scale is a new version,
+// and exactly one version is active for new and updated results.
+@Entity
+@Table(name = "grading_schemes")
+public class GradingScheme extends BaseEntity {
+
+    @Column(nullable = false, unique = true)
+    private Integer version;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private Double midtermWeight;
+
+    @Column(nullable = false)
+    private Double finalWeight;
+
+    @Column(nullable = false)
+    private boolean active = false;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "grading_scheme_boundaries", joinColumns = @JoinColumn(name = "scheme_id"))
+    @OrderBy("minScore DESC")
+    private List<GradeBoundary> boundaries = new ArrayList<>();
+
+    // Constructors
+    public GradingScheme() {}
+
+    public GradingScheme(Integer version, String name, Double midtermWeight, Double finalWeight,
+                         List<GradeBoundary> boundaries) {
+        this.version = version;
+        this.name = name;
+        this.midtermWeight = midtermWeight;
+        this.finalWeight = finalWeight;
+        this.boundaries = new ArrayList<>(boundaries);
+    }
+
+    // Getters and Setters
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Double getMidtermWeight() {
+        return midtermWeight;
+    }
+
+    public void setMidtermWeight(Double midtermWeight) {
+        this.midtermWeight = midtermWeight;
+    }
+
+    public Double getFinalWeight() {
+        return finalWeight;
+    }
+
+    public void setFinalWeight(Double finalWeight) {
+        this.finalWeight = finalWeight;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public List<GradeBoundary> getBoundaries() {
+        return boundaries;
+    }
+
+    public void setBoundaries(List<GradeBoundary> boundaries) {
+        this.boundaries = boundaries;
+    }
+}
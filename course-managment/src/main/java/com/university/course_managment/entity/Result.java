@@ -3,6 +3,7 @@ package com.university.course_managment.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -10,7 +11,8 @@ import jakarta.persistence.UniqueConstraint;
 
 @Entity
 @Table(name = "results", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "course_id", "year", "semester"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "course_id", "year", "semester"}),
+       indexes = @Index(name = "idx_results_course_term", columnList = "course_id, year, semester, id"))
 public class Result extends BaseEntity {
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -34,6 +36,9 @@ public class Result extends BaseEntity {
     
     @Column(nullable = false)
     private String semester;
+    
+    // The grading scheme version that computed totalScore and grade
+    private Integer gradingSchemeVersion;
 
     // Constructors
     public Result() {}
@@ -61,6 +66,7 @@ public class Result extends BaseEntity {
         private String grade;
         private Integer year;
         private String semester;
+        private Integer gradingSchemeVersion;
 
         public ResultBuilder student(Student student) {
             this.student = student;
@@ -102,10 +108,16 @@ public class Result extends BaseEntity {
             return this;
         }
 
+        public ResultBuilder gradingSchemeVersion(Integer gradingSchemeVersion) {
+            this.gradingSchemeVersion = gradingSchemeVersion;
+            return this;
+        }
+
         public Result build() {
             Result result = new Result(student, course, midtermScore, finalScore, year, semester);
             result.setTotalScore(totalScore);
             result.setGrade(grade);
+            result.setGradingSchemeVersion(gradingSchemeVersion);
             return result;
         }
     }
@@ -175,6 +187,14 @@ public class Result extends BaseEntity {
         this.semester = semester;
     }
 
+    public Integer getGradingSchemeVersion() {
+        return gradingSchemeVersion;
+    }
+
+    public void setGradingSchemeVersion(Integer gradingSchemeVersion) {
+        this.gradingSchemeVersion = gradingSchemeVersion;
+    }
+
     @Override
     public String toString() {
         return "Result{" +
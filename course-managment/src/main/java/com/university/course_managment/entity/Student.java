@@ -8,8 +8,6 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.JoinTable;
-import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -29,14 +27,6 @@ public class Student extends BaseEntity {
     
     private Integer year;
     
-    @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
-    @JoinTable(
-        name = "student_courses",
-        joinColumns = @JoinColumn(name = "student_id"),
-        inverseJoinColumns = @JoinColumn(name = "course_id")
-    )
-    private Set<Course> courses = new HashSet<>();
-    
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Result> results = new HashSet<>();
 
@@ -60,7 +50,6 @@ public class Student extends BaseEntity {
         private User user;
         private String department;
         private Integer year;
-        private Set<Course> courses = new HashSet<>();
         private Set<Result> results = new HashSet<>();
 
         public StudentBuilder studentId(String studentId) {
@@ -83,11 +72,6 @@ public class Student extends BaseEntity {
             return this;
         }
 
-        public StudentBuilder courses(Set<Course> courses) {
-            this.courses = courses;
-            return this;
-        }
-
         public StudentBuilder results(Set<Result> results) {
             this.results = results;
             return this;
@@ -95,7 +79,6 @@ public class Student extends BaseEntity {
 
         public Student build() {
             Student student = new Student(studentId, user, department, year);
-            student.setCourses(courses);
             student.setResults(results);
             return student;
         }
@@ -134,14 +117,6 @@ public class Student extends BaseEntity {
         this.year = year;
     }
 
-    public Set<Course> getCourses() {
-        return courses;
-    }
-
-    public void setCourses(Set<Course> courses) {
-        this.courses = courses;
-    }
-
     public Set<Result> getResults() {
         return results;
     }
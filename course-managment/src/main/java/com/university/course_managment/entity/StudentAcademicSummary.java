@@ -0,0 +1,80 @@
+package com.university.course_managment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+
+// Running academic totals of one student, kept up to date by applying each result's contribution as a
+// delta. Grade points are stored in tenths, multiplied by credits, so additions and removals stay exact.
+@Entity
+@Table(name = "student_academic_summaries")
+public class StudentAcademicSummary extends BaseEntity {
+    
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false, unique = true)
+    private Student student;
+    
+    @Column(nullable = false)
+    private Long gradePointTenths = 0L;
+    
+    @Column(nullable = false)
+    private Integer gradedCredits = 0;
+    
+    @Column(nullable = false)
+    private Integer completedCredits = 0;
+    
+    @Column(nullable = false)
+    private Integer resultCount = 0;
+
+    // Constructors
+    public StudentAcademicSummary() {}
+
+    // Credit-weighted GPA on a 4.0 scale
+    public double getGpa() {
+        return gradedCredits == 0 ? 0.0 : gradePointTenths / (10.0 * gradedCredits);
+    }
+
+    // Getters and Setters
+    public Student getStudent() {
+        return student;
+    }
+
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+
+    public Long getGradePointTenths() {
+        return gradePointTenths;
+    }
+
+    public void setGradePointTenths(Long gradePointTenths) {
+        this.gradePointTenths = gradePointTenths;
+    }
+
+    public Integer getGradedCredits() {
+        return gradedCredits;
+    }
+
+    public void setGradedCredits(Integer gradedCredits) {
+        this.gradedCredits = gradedCredits;
+    }
+
+    public Integer getCompletedCredits() {
+        return completedCredits;
+    }
+
+    public void setCompletedCredits(Integer completedCredits) {
+        this.completedCredits = completedCredits;
+    }
+
+    public Integer getResultCount() {
+        return resultCount;
+    }
+
+    public void setResultCount(Integer resultCount) {
+        this.resultCount = resultCount;
+    }
+}
@@ -0,0 +1,102 @@
+package com.university.course_managment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// The same running totals as StudentAcademicSummary, restricted to one year and semester
+@Entity
+@Table(name = "student_term_summaries",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "year", "semester"}))
+public class StudentTermSummary extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+    
+    @Column(nullable = false)
+    private Integer year;
+    
+    @Column(nullable = false)
+    private String semester;
+    
+    @Column(nullable = false)
+    private Long gradePointTenths = 0L;
+    
+    @Column(nullable = false)
+    private Integer gradedCredits = 0;
+    
+    @Column(nullable = false)
+    private Integer completedCredits = 0;
+    
+    @Column(nullable = false)
+    private Integer resultCount = 0;
+
+    // Constructors
+    public StudentTermSummary() {}
+
+    public double getGpa() {
+        return gradedCredits == 0 ? 0.0 : gradePointTenths / (10.0 * gradedCredits);
+    }
+
+    // Getters and Setters
+    public Student getStudent() {
+        return student;
+    }
+
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public String getSemester() {
+        return semester;
+    }
+
+    public void setSemester(String semester) {
+        this.semester = semester;
+    }
+
+    public Long getGradePointTenths() {
+        return gradePointTenths;
+    }
+
+    public void setGradePointTenths(Long gradePointTenths) {
+        this.gradePointTenths = gradePointTenths;
+    }
+
+    public Integer getGradedCredits() {
+        return gradedCredits;
+    }
+
+    public void setGradedCredits(Integer gradedCredits) {
+        this.gradedCredits = gradedCredits;
+    }
+
+    public Integer getCompletedCredits() {
+        return completedCredits;
+    }
+
+    public void setCompletedCredits(Integer completedCredits) {
+        this.completedCredits = completedCredits;
+    }
+
+    public Integer getResultCount() {
+        return resultCount;
+    }
+
+    public void setResultCount(Integer resultCount) {
+        this.resultCount = resultCount;
+    }
+}
@@ -0,0 +1,50 @@
+package com.university.course_managment.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// Queue order is the identity id; the (course_id, id) index keeps head lookups and positions on an index range
+@Entity
+@Table(name = "waitlist_entries",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"course_id", "student_id"}),
+       indexes = @Index(name = "idx_waitlist_course_order", columnList = "course_id, id"))
+public class WaitlistEntry extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    // Constructors
+    public WaitlistEntry() {}
+
+    public WaitlistEntry(Course course, Student student) {
+        this.course = course;
+        this.student = student;
+    }
+
+    // Getters and Setters
+    public Course getCourse() {
+        return course;
+    }
+
+    public void setCourse(Course course) {
+        this.course = course;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+}
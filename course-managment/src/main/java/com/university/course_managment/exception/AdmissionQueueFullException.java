@@ -0,0 +1,14 @@
+package com.university.course_managment.exception;
+
+public class AdmissionQueueFullException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public AdmissionQueueFullException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,60 @@
+package com.university.course_managment.exception;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+
+// Expected business rejection on the enrollment path. These are thrown for a large share of requests
+// during a registration window, so the exception carries no stack trace and the fixed-message
+// instances are shared.
+public class EnrollmentException extends RuntimeException {
+
+    public enum Reason {
+        COURSE_FULL(HttpStatus.CONFLICT, "Course is full"),
+        ALREADY_ENROLLED(HttpStatus.CONFLICT, "Already enrolled in this course"),
+        ALREADY_WAITLISTED(HttpStatus.CONFLICT, "Already on the waitlist for this course"),
+        HAS_RESULTS(HttpStatus.CONFLICT, "Cannot drop course with existing results"),
+        NOT_ENROLLED(HttpStatus.UNPROCESSABLE_ENTITY, "Not enrolled in this course"),
+        PREREQUISITES_NOT_MET(HttpStatus.UNPROCESSABLE_ENTITY, "Prerequisites not met");
+
+        private final HttpStatus status;
+        private final String message;
+
+        Reason(HttpStatus status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+
+        public HttpStatus getStatus() {
+            return status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private static final Map<Reason, EnrollmentException> SHARED = new EnumMap<>(Reason.class);
+
+    static {
+        for (Reason reason : Reason.values()) {
+            SHARED.put(reason, new EnrollmentException(reason, reason.getMessage()));
+        }
+    }
+
+    private final Reason reason;
+
+    public EnrollmentException(Reason reason, String message) {
+        super(message, null, false, false);
+        this.reason = reason;
+    }
+
+    public static EnrollmentException of(Reason reason) {
+        return SHARED.get(reason);
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -1,9 +1,11 @@
 package com.university.course_managment.exception; 
 
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -15,6 +17,16 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     
+    // Bodies for the fixed enrollment rejections are built once; they are returned on the hot path
+    private static final Map<EnrollmentException.Reason, Map<String, String>> ENROLLMENT_BODIES =
+            new EnumMap<>(EnrollmentException.Reason.class);
+
+    static {
+        for (EnrollmentException.Reason reason : EnrollmentException.Reason.values()) {
+            ENROLLMENT_BODIES.put(reason, Map.of("error", reason.getMessage(), "code", reason.name()));
+        }
+    }
+    
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleResourceNotFound(ResourceNotFoundException ex) {
         Map<String, String> error = new HashMap<>();
@@ -22,6 +34,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
     
+    @ExceptionHandler(EnrollmentException.class)
+    public ResponseEntity<Map<String, String>> handleEnrollmentRejection(EnrollmentException ex) {
+        EnrollmentException.Reason reason = ex.getReason();
+        Map<String, String> body = reason.getMessage().equals(ex.getMessage())
+                ? ENROLLMENT_BODIES.get(reason)
+                : Map.of("error", ex.getMessage(), "code", reason.name());
+        return ResponseEntity.status(reason.getStatus()).body(body);
+    }
+    
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<Map<String, String>> handleBadCredentials(BadCredentialsException ex) {
         Map<String, String> error = new HashMap<>();
@@ -56,6 +77,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(AdmissionQueueFullException.class)
+    public ResponseEntity<Map<String, String>> handleAdmissionQueueFull(AdmissionQueueFullException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyReuse(IdempotencyKeyReuseException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException ex) {
         Map<String, String> error = new HashMap<>();
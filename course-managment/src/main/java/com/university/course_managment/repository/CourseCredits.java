@@ -0,0 +1,4 @@
+package com.university.course_managment.repository;
+
+// The credits of one course, looked up by id
+public record CourseCredits(Long courseId, Integer credits) {}
@@ -0,0 +1,4 @@
+package com.university.course_managment.repository;
+
+// A grade a student got in a course, with the scheme version that decides whether it is a pass
+public record CourseGrade(Long studentId, Long courseId, String grade, Integer gradingSchemeVersion) {}
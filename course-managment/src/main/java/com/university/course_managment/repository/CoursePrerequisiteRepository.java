@@ -0,0 +1,33 @@
+package com.university.course_managment.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.CoursePrerequisite;
+
+@Repository
+public interface CoursePrerequisiteRepository extends JpaRepository<CoursePrerequisite, Long> {
+    boolean existsByCourseIdAndPrerequisiteId(Long courseId, Long prerequisiteId);
+    
+    // Each row is {courseId, prerequisiteId}; the whole graph is loaded from ids only
+    @Query("SELECT p.course.id, p.prerequisite.id FROM CoursePrerequisite p")
+    List<Object[]> findAllEdges();
+    
+    @Query("SELECT c FROM CoursePrerequisite p JOIN p.prerequisite c LEFT JOIN FETCH c.instructor " +
+           "WHERE p.course.id = :courseId ORDER BY c.code")
+    List<Course> findPrerequisitesOf(@Param("courseId") Long courseId);
+    
+    @Modifying
+    @Query("DELETE FROM CoursePrerequisite p WHERE p.course.id = :courseId AND p.prerequisite.id = :prerequisiteId")
+    int deleteEdge(@Param("courseId") Long courseId, @Param("prerequisiteId") Long prerequisiteId);
+    
+    @Modifying
+    @Query("DELETE FROM CoursePrerequisite p WHERE p.course.id = :courseId OR p.prerequisite.id = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+}
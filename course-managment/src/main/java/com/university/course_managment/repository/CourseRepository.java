@@ -1,26 +1,83 @@
 package com.university.course_managment.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.university.course_managment.entity.Course;
 import com.university.course_managment.entity.User;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     Optional<Course> findByCode(String code);
     List<Course> findByInstructor(User instructor);
     
-    @Query("SELECT c FROM Course c WHERE c.capacity > SIZE(c.students)")
-    List<Course> findAvailableCourses();
+    // Keyset pages as rows of {id, code, title, description, credits, capacity, enrolled count, instructor id,
+    // instructor first name, instructor last name}, by id or by code
+    String PAGE_SELECT = "SELECT c.id, c.code, c.title, c.description, c.credits, c.capacity, c.enrolledCount, " +
+            "i.id, i.firstName, i.lastName FROM Course c LEFT JOIN c.instructor i ";
     
-    @Query("SELECT COUNT(s) FROM Course c JOIN c.students s WHERE c.id = :courseId")
-    Integer getEnrolledStudentCount(@Param("courseId") Long courseId);
+    @Query(PAGE_SELECT + "WHERE c.id > :afterId ORDER BY c.id")
+    List<Object[]> findPageById(@Param("afterId") long afterId, Limit limit);
+    
+    @Query(PAGE_SELECT + "WHERE :after IS NULL OR c.code > :after ORDER BY c.code")
+    List<Object[]> findPageByCode(@Param("after") String after, Limit limit);
+    
+    @Query("SELECT c FROM Course c WHERE c.capacity > c.enrolledCount")
+    List<Course> findAvailableCourses();
     
     boolean existsByCode(String code);
-}
\ No newline at end of file
+    
+    @Query("SELECT DISTINCT c.instructor.id FROM Course c WHERE c.id IN :ids AND c.instructor IS NOT NULL")
+    List<Long> findInstructorIdsByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT new com.university.course_managment.repository.CourseCredits(c.id, c.credits) " +
+           "FROM Course c WHERE c.id IN :ids")
+    List<CourseCredits> findCreditsByIds(@Param("ids") Collection<Long> ids);
+    
+    // Claims one seat only while the course is below capacity; returns 0 when full or missing
+    @Modifying
+    @Query("UPDATE Course c SET c.enrolledCount = c.enrolledCount + 1 " +
+           "WHERE c.id = :courseId AND c.enrolledCount < c.capacity")
+    int claimSeat(@Param("courseId") Long courseId);
+    
+    // Bulk paths lock the course row once, work out the free seats, then add them in one update
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Course c WHERE c.id = :courseId")
+    Optional<Course> findByIdForUpdate(@Param("courseId") Long courseId);
+    
+    @Modifying
+    @Query("UPDATE Course c SET c.enrolledCount = c.enrolledCount + :seats WHERE c.id = :courseId")
+    int claimSeats(@Param("courseId") Long courseId, @Param("seats") int seats);
+    
+    @Modifying
+    @Query("UPDATE Course c SET c.enrolledCount = c.enrolledCount - 1 " +
+           "WHERE c.id = :courseId AND c.enrolledCount > 0")
+    int releaseSeat(@Param("courseId") Long courseId);
+    
+    @Modifying
+    @Query(value = "UPDATE courses SET enrolled_count = enrolled_count - 1 " +
+                   "WHERE enrolled_count > 0 AND id IN " +
+                   "(SELECT course_id FROM enrollments WHERE student_id = :studentId AND status = 'ENROLLED')",
+           nativeQuery = true)
+    int releaseSeatsForStudent(@Param("studentId") Long studentId);
+    
+    // Rebuilds every seat counter from the enrollment rows
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE courses c SET enrolled_count = " +
+                   "(SELECT COUNT(*) FROM enrollments e WHERE e.course_id = c.id AND e.status = 'ENROLLED')",
+           nativeQuery = true)
+    int recalculateEnrolledCounts();
+}
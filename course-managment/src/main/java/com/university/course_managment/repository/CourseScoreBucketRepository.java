@@ -0,0 +1,40 @@
+package com.university.course_managment.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.university.course_managment.entity.CourseScoreBucket;
+
+@Repository
+public interface CourseScoreBucketRepository extends JpaRepository<CourseScoreBucket, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO course_score_buckets " +
+                   "(course_id, year, semester, bucket, score_count, score_sum, score_square_sum, created_at, updated_at) " +
+                   "VALUES (:courseId, :year, :semester, :bucket, :count, :sum, :squares, :now, :now) " +
+                   "ON DUPLICATE KEY UPDATE score_count = score_count + :count, score_sum = score_sum + :sum, " +
+                   "score_square_sum = score_square_sum + :squares, updated_at = :now",
+           nativeQuery = true)
+    int addDelta(@Param("courseId") Long courseId, @Param("year") Integer year, @Param("semester") String semester,
+                 @Param("bucket") int bucket, @Param("count") long count, @Param("sum") long sum,
+                 @Param("squares") long squares, @Param("now") LocalDateTime now);
+
+    // Rows are {bucket, count, sum, square sum}, merged over every matching course and term
+    @Query("SELECT b.bucket, SUM(b.scoreCount), SUM(b.scoreSum), SUM(b.scoreSquareSum) FROM CourseScoreBucket b " +
+           "WHERE b.course.id IN :courseIds AND (:year IS NULL OR b.year = :year) " +
+           "AND (:semester IS NULL OR b.semester = :semester) " +
+           "GROUP BY b.bucket HAVING SUM(b.scoreCount) > 0")
+    List<Object[]> sumByBucket(@Param("courseIds") Collection<Long> courseIds, @Param("year") Integer year,
+                               @Param("semester") String semester);
+
+    @Modifying
+    @Query("DELETE FROM CourseScoreBucket b WHERE b.course.id = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+}
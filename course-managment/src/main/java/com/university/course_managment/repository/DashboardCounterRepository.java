@@ -0,0 +1,38 @@
+package com.university.course_managment.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.university.course_managment.entity.DashboardCounter;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface DashboardCounterRepository extends JpaRepository<DashboardCounter, Long> {
+    
+    // Upsert, so a stripe that has never been written (or was added by raising the stripe count)
+    // starts at the delta
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_counters (name, stripe, counter_value, created_at, updated_at) " +
+                   "VALUES (:name, :stripe, :delta, :now, :now) " +
+                   "ON DUPLICATE KEY UPDATE counter_value = counter_value + :delta, updated_at = :now",
+           nativeQuery = true)
+    int increment(@Param("name") String name, @Param("stripe") int stripe,
+                  @Param("delta") long delta, @Param("now") LocalDateTime now);
+    
+    // Each row is {name, sum of stripes}
+    @Query("SELECT c.name, SUM(c.value) FROM DashboardCounter c GROUP BY c.name")
+    List<Object[]> sumByName();
+    
+    // Locks every stripe in a fixed order; increments wait behind it until the reconciled values commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM DashboardCounter c ORDER BY c.name, c.stripe")
+    List<DashboardCounter> findAllForUpdate();
+}
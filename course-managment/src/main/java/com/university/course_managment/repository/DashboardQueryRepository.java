@@ -0,0 +1,42 @@
+package com.university.course_managment.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Enrollment;
+
+// Read side of the dashboards: every method is one aggregate statement returning plain numbers,
+// so no entity is loaded to compute a dashboard
+@Repository
+public interface DashboardQueryRepository extends org.springframework.data.repository.Repository<Course, Long> {
+    
+    interface StudentTotals {
+        long getEnrolledCourses();
+        Integer getCompletedCourses();
+        Integer getCompletedCredits();
+        Long getGradePointTenths();
+        Integer getGradedCredits();
+    }
+    
+    interface InstructorTotals {
+        long getTotalCourses();
+        long getTotalStudents();
+    }
+    
+    // Empty when the user has no student profile
+    // Result totals come from the maintained summary row; they are null before the first result
+    @Query("SELECT (SELECT COUNT(e) FROM Enrollment e WHERE e.student = s AND e.status = :status) AS enrolledCourses, " +
+           "a.resultCount AS completedCourses, a.completedCredits AS completedCredits, " +
+           "a.gradePointTenths AS gradePointTenths, a.gradedCredits AS gradedCredits " +
+           "FROM Student s LEFT JOIN StudentAcademicSummary a ON a.student = s " +
+           "WHERE s.user.id = :userId")
+    Optional<StudentTotals> findStudentTotals(@Param("userId") Long userId, @Param("status") Enrollment.Status status);
+    
+    @Query("SELECT COUNT(c) AS totalCourses, COALESCE(SUM(c.enrolledCount), 0) AS totalStudents " +
+           "FROM Course c WHERE c.instructor.id = :instructorId")
+    InstructorTotals findInstructorTotals(@Param("instructorId") Long instructorId);
+}
@@ -0,0 +1,36 @@
+package com.university.course_managment.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.university.course_managment.entity.DashboardCounter;
+import com.university.course_managment.entity.DashboardSnapshot;
+
+@Repository
+public interface DashboardSnapshotRepository extends JpaRepository<DashboardSnapshot, Long> {
+    Optional<DashboardSnapshot> findByMetricAndResolutionAndBucketStart(
+            DashboardCounter.Name metric, DashboardSnapshot.Resolution resolution, LocalDateTime bucketStart);
+
+    List<DashboardSnapshot> findByResolutionAndBucketStartBeforeOrderByBucketStartAsc(
+            DashboardSnapshot.Resolution resolution, LocalDateTime before);
+
+    // Served by the unique (metric, resolution, bucket_start) index
+    @Query("SELECT s FROM DashboardSnapshot s WHERE s.metric = :metric AND s.resolution IN :resolutions " +
+           "AND s.bucketStart >= :from AND s.bucketStart < :to ORDER BY s.bucketStart")
+    List<DashboardSnapshot> findRange(@Param("metric") DashboardCounter.Name metric,
+                                      @Param("resolutions") Collection<DashboardSnapshot.Resolution> resolutions,
+                                      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM DashboardSnapshot s WHERE s.resolution = :resolution AND s.bucketStart < :before")
+    int deleteOlderThan(@Param("resolution") DashboardSnapshot.Resolution resolution,
+                        @Param("before") LocalDateTime before);
+}
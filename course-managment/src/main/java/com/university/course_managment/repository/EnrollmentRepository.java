@@ -0,0 +1,118 @@
+package com.university.course_managment.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Enrollment;
+import com.university.course_managment.entity.Student;
+
+@Repository
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+    Optional<Enrollment> findByStudentIdAndCourseId(Long studentId, Long courseId);
+    boolean existsByStudentIdAndCourseIdAndStatus(Long studentId, Long courseId, Enrollment.Status status);
+    long countByStudentIdAndStatus(Long studentId, Enrollment.Status status);
+    long countByCourseIdAndStatus(Long courseId, Enrollment.Status status);
+    long countByStatus(Enrollment.Status status);
+    
+    default boolean isEnrolled(Long studentId, Long courseId) {
+        return existsByStudentIdAndCourseIdAndStatus(studentId, courseId, Enrollment.Status.ENROLLED);
+    }
+    
+    default long countActiveByStudent(Long studentId) {
+        return countByStudentIdAndStatus(studentId, Enrollment.Status.ENROLLED);
+    }
+    
+    default long countActiveByCourse(Long courseId) {
+        return countByCourseIdAndStatus(courseId, Enrollment.Status.ENROLLED);
+    }
+    
+    // Rosters and course lists come straight from the enrollment rows, fetching only what the DTOs read
+    @Query("SELECT s FROM Enrollment e JOIN e.student s JOIN FETCH s.user " +
+           "WHERE e.course.id = :courseId AND e.status = :status ORDER BY s.id")
+    List<Student> findStudentsByCourseId(@Param("courseId") Long courseId, @Param("status") Enrollment.Status status);
+    
+    // Keyset pages of a roster as rows of {id, student number, first name, last name, email, department,
+    // year}, by id or by student number
+    String ROSTER_SELECT = "SELECT s.id, s.studentId, u.firstName, u.lastName, u.email, s.department, s.year " +
+            "FROM Enrollment e JOIN e.student s JOIN s.user u WHERE e.course.id = :courseId AND e.status = :status ";
+    
+    @Query(ROSTER_SELECT + "AND s.id > :afterId ORDER BY s.id")
+    List<Object[]> findRosterPageById(@Param("courseId") Long courseId, @Param("status") Enrollment.Status status,
+                                      @Param("afterId") long afterId, Limit limit);
+    
+    @Query(ROSTER_SELECT + "AND (:after IS NULL OR s.studentId > :after) ORDER BY s.studentId")
+    List<Object[]> findRosterPageByStudentId(@Param("courseId") Long courseId, @Param("status") Enrollment.Status status,
+                                             @Param("after") String after, Limit limit);
+    
+    @Query("SELECT c FROM Enrollment e JOIN e.course c LEFT JOIN FETCH c.instructor " +
+           "WHERE e.student.id = :studentId AND e.status = :status ORDER BY c.id")
+    List<Course> findCoursesByStudentId(@Param("studentId") Long studentId, @Param("status") Enrollment.Status status);
+    
+    @Query("SELECT e.student.id FROM Enrollment e " +
+           "WHERE e.course.id = :courseId AND e.student.id IN :studentIds AND e.status = :status")
+    List<Long> findStudentIdsByCourseIdAndStatus(@Param("courseId") Long courseId,
+                                                 @Param("studentIds") Collection<Long> studentIds,
+                                                 @Param("status") Enrollment.Status status);
+    
+    @Query("SELECT new com.university.course_managment.repository.StudentCourse(e.student.id, e.course.id) " +
+           "FROM Enrollment e " +
+           "WHERE e.student.id IN :studentIds AND e.course.id IN :courseIds AND e.status = :status")
+    List<StudentCourse> findPairsByStudentIdsAndCourseIds(@Param("studentIds") Collection<Long> studentIds,
+                                                          @Param("courseIds") Collection<Long> courseIds,
+                                                          @Param("status") Enrollment.Status status);
+    
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId AND e.status = :status")
+    List<Long> findCourseIdsByStudentId(@Param("studentId") Long studentId, @Param("status") Enrollment.Status status);
+    
+    // Status transitions are conditional so a concurrent duplicate request changes nothing
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.status = com.university.course_managment.entity.Enrollment.Status.ENROLLED, " +
+           "e.enrolledAt = :now, e.updatedAt = :now " +
+           "WHERE e.course.id = :courseId AND e.student.id IN :studentIds " +
+           "AND e.status = com.university.course_managment.entity.Enrollment.Status.DROPPED")
+    int reactivate(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds,
+                   @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.status = com.university.course_managment.entity.Enrollment.Status.DROPPED, " +
+           "e.updatedAt = :now " +
+           "WHERE e.course.id = :courseId AND e.student.id = :studentId " +
+           "AND e.status = com.university.course_managment.entity.Enrollment.Status.ENROLLED")
+    int drop(@Param("courseId") Long courseId, @Param("studentId") Long studentId, @Param("now") LocalDateTime now);
+    
+    // Older versions kept enrollments in the student_courses join table, which schema updates leave in place
+    @Query(value = "SELECT COUNT(*) FROM information_schema.tables " +
+                   "WHERE table_schema = SCHEMA() AND table_name = 'student_courses'",
+           nativeQuery = true)
+    long countLegacyJoinTables();
+    
+    // Copies join table pairs that have no enrollment row yet, so it is safe to run on every start
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO enrollments (student_id, course_id, status, enrolled_at, created_at, updated_at) " +
+                   "SELECT DISTINCT sc.student_id, sc.course_id, 'ENROLLED', CURRENT_TIMESTAMP, " +
+                   "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM student_courses sc " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM enrollments e " +
+                   "WHERE e.student_id = sc.student_id AND e.course_id = sc.course_id)",
+           nativeQuery = true)
+    int backfillFromLegacyJoinTable();
+    
+    @Modifying
+    @Query("DELETE FROM Enrollment e WHERE e.student.id = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+    
+    @Modifying
+    @Query("DELETE FROM Enrollment e WHERE e.course.id = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+}
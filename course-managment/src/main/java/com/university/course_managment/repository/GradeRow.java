@@ -0,0 +1,5 @@
+package com.university.course_managment.repository;
+
+// What one result adds to its student's GPA totals; the scheme version decides what its grade is worth
+public record GradeRow(Long studentId, Integer year, String semester, String grade, Integer credits,
+                       Integer gradingSchemeVersion) {}
@@ -0,0 +1,6 @@
+package com.university.course_managment.repository;
+
+// Everything a re-grade reads about one result
+public record GradingRow(Long id, Long studentId, Long courseId, Integer credits, Integer year, String semester,
+                         Double midtermScore, Double finalScore, Double totalScore, String grade,
+                         Integer gradingSchemeVersion) {}
@@ -0,0 +1,25 @@
+package com.university.course_managment.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.university.course_managment.entity.GradingScheme;
+
+@Repository
+public interface GradingSchemeRepository extends JpaRepository<GradingScheme, Long> {
+    Optional<GradingScheme> findByVersion(Integer version);
+    Optional<GradingScheme> findFirstByActiveTrue();
+    List<GradingScheme> findAllByOrderByVersionAsc();
+
+    @Query("SELECT COALESCE(MAX(g.version), 0) FROM GradingScheme g")
+    int findMaxVersion();
+
+    @Modifying
+    @Query("UPDATE GradingScheme g SET g.active = false WHERE g.active = true")
+    int deactivateAll();
+}
@@ -0,0 +1,5 @@
+package com.university.course_managment.repository;
+
+// One scored result with the cohort of its student, as the rank trees are built from
+public record RankRow(Long studentId, Long courseId, Integer year, String semester, Double totalScore,
+                      String department, Integer studentYear) {}
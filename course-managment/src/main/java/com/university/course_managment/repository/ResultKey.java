@@ -0,0 +1,4 @@
+package com.university.course_managment.repository;
+
+// What makes a result unique: one per student, course and term
+public record ResultKey(Long studentId, Long courseId, Integer year, String semester) {}
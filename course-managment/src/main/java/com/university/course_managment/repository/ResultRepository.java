@@ -1,17 +1,40 @@
 package com.university.course_managment.repository; 
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import com.university.course_managment.dto.ResultDTO;
 import com.university.course_managment.entity.Course;
 import com.university.course_managment.entity.Result;
 import com.university.course_managment.entity.Student;
 
 @Repository
 public interface ResultRepository extends JpaRepository<Result, Long> {
+    
+    // Typed rows for the bulk summary, histogram and re-grade paths, read without loading entities
+    String GRADE_ROW = "SELECT new com.university.course_managment.repository.GradeRow(" +
+            "r.student.id, r.year, r.semester, r.grade, r.course.credits, r.gradingSchemeVersion) FROM Result r ";
+    
+    // Results read straight into DTOs over the joins: one statement, and nothing becomes a managed entity
+    String DTO_SELECT = "SELECT new com.university.course_managment.dto.ResultDTO(r.id, s.id, " +
+            "CONCAT(u.firstName, ' ', u.lastName), c.id, c.code, c.title, r.midtermScore, r.finalScore, " +
+            "r.totalScore, r.grade, r.year, r.semester) FROM Result r JOIN r.student s JOIN s.user u JOIN r.course c ";
+    
     List<Result> findByStudent(Student student);
     List<Result> findByCourse(Course course);
     Optional<Result> findByStudentAndCourse(Student student, Course course);
@@ -22,4 +45,93 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
             Student student, Course course, Integer year, String semester);
     
     List<Result> findByYearAndSemester(Integer year, String semester);
-}
\ No newline at end of file
+    
+    boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+    
+    // Whether a grade is a pass depends on the scheme it was given under, so callers decide that
+    @Query("SELECT DISTINCT new com.university.course_managment.repository.CourseGrade(" +
+           "r.student.id, r.course.id, r.grade, r.gradingSchemeVersion) FROM Result r " +
+           "WHERE r.student.id IN :studentIds")
+    List<CourseGrade> findCourseGradesByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+    
+    @Query(GRADE_ROW + "WHERE r.student.id IN :studentIds")
+    List<GradeRow> findGradeRowsByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+    
+    @Query(GRADE_ROW)
+    List<GradeRow> findAllGradeRows();
+    
+    @Query("SELECT new com.university.course_managment.repository.ResultKey(" +
+           "r.student.id, r.course.id, r.year, r.semester) FROM Result r " +
+           "WHERE r.student.id IN :studentIds AND r.course.id IN :courseIds")
+    List<ResultKey> findKeysByStudentIdsAndCourseIds(@Param("studentIds") Collection<Long> studentIds,
+                                                     @Param("courseIds") Collection<Long> courseIds);
+    
+    @Query("SELECT r.id FROM Result r WHERE r.year = :year AND r.semester = :semester ORDER BY r.id")
+    List<Long> findIdsByYearAndSemester(@Param("year") Integer year, @Param("semester") String semester);
+    
+    // Locks the given results in id order, so writers that lock the same rows never wait on each other
+    // in a cycle
+    @Query(value = "SELECT id FROM results WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockByIds(@Param("ids") Collection<Long> ids);
+    
+    // A single result, locked until the transaction ends; its old grade and score are then still current
+    // when they are taken back from the summaries
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Result r WHERE r.id = :id")
+    Optional<Result> findByIdForUpdate(@Param("id") Long id);
+    
+    @Query("SELECT new com.university.course_managment.repository.GradingRow(r.id, " +
+           "r.student.id, r.course.id, r.course.credits, r.year, r.semester, r.midtermScore, r.finalScore, " +
+           "r.totalScore, r.grade, r.gradingSchemeVersion) FROM Result r WHERE r.id IN :ids")
+    List<GradingRow> findGradingRowsByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT new com.university.course_managment.repository.ScoreRow(" +
+           "r.course.id, r.year, r.semester, r.totalScore) FROM Result r WHERE r.totalScore IS NOT NULL")
+    List<ScoreRow> findAllScoreRows();
+    
+    // Read through a cursor; the stream needs a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.university.course_managment.repository.RankRow(" +
+           "s.id, r.course.id, r.year, r.semester, r.totalScore, s.department, s.year) " +
+           "FROM Result r JOIN r.student s WHERE r.totalScore IS NOT NULL")
+    Stream<RankRow> streamRankRows();
+    
+    // One term ordered by student, read through a cursor; the stream needs a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.university.course_managment.repository.TranscriptRow(" +
+           "s.id, s.studentId, u.firstName, u.lastName, s.department, c.code, c.title, c.credits, " +
+           "r.midtermScore, r.finalScore, r.totalScore, r.grade, r.gradingSchemeVersion) " +
+           "FROM Result r JOIN r.student s JOIN s.user u " +
+           "JOIN r.course c WHERE r.year = :year AND r.semester = :semester ORDER BY s.id, c.code")
+    Stream<TranscriptRow> streamTranscriptRows(@Param("year") Integer year, @Param("semester") String semester);
+    
+    @Query("SELECT DISTINCT r.student.id FROM Result r WHERE r.course.id = :courseId")
+    List<Long> findStudentIdsByCourseId(@Param("courseId") Long courseId);
+    
+    @Query("SELECT r.student.user.id FROM Result r WHERE r.id = :id")
+    Optional<Long> findStudentUserIdById(@Param("id") Long id);
+    
+    // Every result as a DTO, read through a cursor in id order. Nothing becomes a managed entity, so
+    // the persistence context stays empty however many rows are read; the stream needs a transaction.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(DTO_SELECT + "ORDER BY r.id")
+    Stream<ResultDTO> streamAll();
+    
+    @Query(DTO_SELECT + "WHERE r.id > :afterId ORDER BY r.id")
+    List<ResultDTO> findPage(@Param("afterId") long afterId, Limit limit);
+    
+    @Query(DTO_SELECT + "WHERE r.id = :id")
+    Optional<ResultDTO> findDTOById(@Param("id") Long id);
+    
+    @Query(DTO_SELECT + "WHERE s.id = :studentId ORDER BY r.id")
+    List<ResultDTO> findDTOsByStudentId(@Param("studentId") Long studentId);
+    
+    @Query(DTO_SELECT + "WHERE c.id = :courseId ORDER BY r.id")
+    List<ResultDTO> findDTOsByCourseId(@Param("courseId") Long courseId);
+    
+    // A keyset page of the results in every course the instructor teaches, in id order
+    @Query(DTO_SELECT + "WHERE c.instructor.id = :instructorId AND r.id > :afterId " +
+           "AND (:year IS NULL OR r.year = :year) AND (:semester IS NULL OR r.semester = :semester) ORDER BY r.id")
+    List<ResultDTO> findInstructorPage(@Param("instructorId") Long instructorId, @Param("year") Integer year,
+                                       @Param("semester") String semester, @Param("afterId") long afterId, Limit limit);
+}
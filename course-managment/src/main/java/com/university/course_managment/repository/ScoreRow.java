@@ -0,0 +1,4 @@
+package com.university.course_managment.repository;
+
+// What one result adds to its course's score histogram
+public record ScoreRow(Long courseId, Integer year, String semester, Double totalScore) {}
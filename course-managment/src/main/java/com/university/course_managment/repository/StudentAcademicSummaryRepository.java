@@ -0,0 +1,34 @@
+package com.university.course_managment.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.university.course_managment.entity.StudentAcademicSummary;
+
+@Repository
+public interface StudentAcademicSummaryRepository extends JpaRepository<StudentAcademicSummary, Long> {
+    Optional<StudentAcademicSummary> findByStudentId(Long studentId);
+    
+    // Adds a delta in one statement, creating the row on a student's first result
+    @Modifying
+    @Query(value = "INSERT INTO student_academic_summaries " +
+                   "(student_id, grade_point_tenths, graded_credits, completed_credits, result_count, created_at, updated_at) " +
+                   "VALUES (:studentId, :tenths, :credits, :completed, :results, :now, :now) " +
+                   "ON DUPLICATE KEY UPDATE grade_point_tenths = grade_point_tenths + :tenths, " +
+                   "graded_credits = graded_credits + :credits, completed_credits = completed_credits + :completed, " +
+                   "result_count = result_count + :results, updated_at = :now",
+           nativeQuery = true)
+    int addDelta(@Param("studentId") Long studentId, @Param("tenths") long tenths, @Param("credits") int credits,
+                 @Param("completed") int completed, @Param("results") int results, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM StudentAcademicSummary s WHERE s.student.id IN :studentIds")
+    int deleteByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+}
@@ -0,0 +1,4 @@
+package com.university.course_managment.repository;
+
+// A student and a course, as an enrollment pairs them
+public record StudentCourse(Long studentId, Long courseId) {}
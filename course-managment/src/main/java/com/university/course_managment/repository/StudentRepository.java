@@ -1,9 +1,13 @@
 package com.university.course_managment.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.university.course_managment.entity.Student;
@@ -11,11 +15,37 @@ import com.university.course_managment.entity.User;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
+    
+    // Keyset pages as rows of {id, student number, first name, last name, email, department, year, user id,
+    // active enrollments}, by id or by student number
+    String PAGE_SELECT = "SELECT s.id, s.studentId, u.firstName, u.lastName, u.email, s.department, s.year, u.id, " +
+            "(SELECT COUNT(e) FROM Enrollment e WHERE e.student = s " +
+            "AND e.status = com.university.course_managment.entity.Enrollment.Status.ENROLLED) " +
+            "FROM Student s JOIN s.user u ";
+    
     Optional<Student> findByStudentId(String studentId);
     boolean existsByStudentId(String studentId);
     Optional<Student> findByUserId(Long userId);
     // Add this method
     Optional<Student> findByUser(User user);
     boolean existsByUserId(Long userId);
-    List<Student> findByCourses_Id(Long courseId);
-}
\ No newline at end of file
+    
+    @Query("SELECT s.id FROM Student s WHERE s.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT s.user.id FROM Student s WHERE s.id IN :ids")
+    List<Long> findUserIdsByIds(@Param("ids") Collection<Long> ids);
+    
+    // Rows are {id, department, year}
+    @Query("SELECT s.id, s.department, s.year FROM Student s WHERE s.id IN :ids")
+    List<Object[]> findCohortsByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query(PAGE_SELECT + "WHERE s.id > :afterId ORDER BY s.id")
+    List<Object[]> findPageById(@Param("afterId") long afterId, Limit limit);
+    
+    @Query(PAGE_SELECT + "WHERE :after IS NULL OR s.studentId > :after ORDER BY s.studentId")
+    List<Object[]> findPageByStudentId(@Param("after") String after, Limit limit);
+}
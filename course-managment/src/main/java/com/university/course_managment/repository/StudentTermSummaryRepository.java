@@ -0,0 +1,39 @@
+package com.university.course_managment.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.university.course_managment.entity.StudentTermSummary;
+
+@Repository
+public interface StudentTermSummaryRepository extends JpaRepository<StudentTermSummary, Long> {
+    
+    // Terms whose results were all deleted keep a zero row and are left out here
+    @Query("SELECT t FROM StudentTermSummary t WHERE t.student.id = :studentId AND t.resultCount > 0 " +
+           "ORDER BY t.year, t.semester")
+    List<StudentTermSummary> findActiveByStudentId(@Param("studentId") Long studentId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO student_term_summaries " +
+                   "(student_id, year, semester, grade_point_tenths, graded_credits, completed_credits, result_count, " +
+                   "created_at, updated_at) " +
+                   "VALUES (:studentId, :year, :semester, :tenths, :credits, :completed, :results, :now, :now) " +
+                   "ON DUPLICATE KEY UPDATE grade_point_tenths = grade_point_tenths + :tenths, " +
+                   "graded_credits = graded_credits + :credits, completed_credits = completed_credits + :completed, " +
+                   "result_count = result_count + :results, updated_at = :now",
+           nativeQuery = true)
+    int addDelta(@Param("studentId") Long studentId, @Param("year") Integer year, @Param("semester") String semester,
+                 @Param("tenths") long tenths, @Param("credits") int credits, @Param("completed") int completed,
+                 @Param("results") int results, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM StudentTermSummary t WHERE t.student.id IN :studentIds")
+    int deleteByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+}
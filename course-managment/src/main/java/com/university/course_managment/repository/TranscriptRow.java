@@ -0,0 +1,7 @@
+package com.university.course_managment.repository;
+
+// One line of a term transcript with the student it belongs to
+public record TranscriptRow(Long studentId, String studentNumber, String firstName, String lastName,
+                            String department, String courseCode, String courseTitle, Integer credits,
+                            Double midtermScore, Double finalScore, Double totalScore, String grade,
+                            Integer gradingSchemeVersion) {}
@@ -1,8 +1,12 @@
 package com.university.course_managment.repository; 
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.university.course_managment.entity.User;
@@ -11,4 +15,27 @@ import com.university.course_managment.entity.User;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+    long countByRole(User.Role role);
+    
+    // Users of one role (all roles without one), or only those without a student profile
+    String PAGE_FILTER = "WHERE (:role IS NULL OR u.role = :role) " +
+            "AND (:unassigned = FALSE OR NOT EXISTS (SELECT s.id FROM Student s WHERE s.user = u)) ";
+    
+    // Keyset pages as rows of {id, email, first name, last name, role, enabled, has a student profile},
+    // by id or by email
+    String PAGE_SELECT = "SELECT u.id, u.email, u.firstName, u.lastName, u.role, u.enabled, " +
+            "CASE WHEN u.role = com.university.course_managment.entity.User.Role.STUDENT " +
+            "AND EXISTS (SELECT s.id FROM Student s WHERE s.user = u) THEN TRUE ELSE FALSE END " +
+            "FROM User u " + PAGE_FILTER;
+    
+    @Query(PAGE_SELECT + "AND u.id > :afterId ORDER BY u.id")
+    List<Object[]> findPageById(@Param("role") User.Role role, @Param("unassigned") boolean unassigned,
+                                @Param("afterId") long afterId, Limit limit);
+    
+    @Query(PAGE_SELECT + "AND (:after IS NULL OR u.email > :after) ORDER BY u.email")
+    List<Object[]> findPageByEmail(@Param("role") User.Role role, @Param("unassigned") boolean unassigned,
+                                   @Param("after") String after, Limit limit);
+    
+    @Query("SELECT COUNT(u) FROM User u " + PAGE_FILTER)
+    long countFiltered(@Param("role") User.Role role, @Param("unassigned") boolean unassigned);
+}
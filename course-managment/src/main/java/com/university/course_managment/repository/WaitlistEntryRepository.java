@@ -0,0 +1,51 @@
+package com.university.course_managment.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.university.course_managment.entity.WaitlistEntry;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    // The head of the queue as a locking read, so a promotion sees entries committed after its
+    // transaction began
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.course.id = :courseId ORDER BY w.id")
+    List<WaitlistEntry> findHeadForUpdate(@Param("courseId") Long courseId, Limit limit);
+    
+    Optional<WaitlistEntry> findByCourseIdAndStudentId(Long courseId, Long studentId);
+    long countByCourseId(Long courseId);
+    
+    // 1-based position: entries queued at or before the given one. This counts a range of the
+    // (course_id, id) index, so it costs time in proportion to the position; a head/tail sequence would
+    // be O(1) but goes wrong as soon as someone in the middle of the queue leaves.
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.course.id = :courseId AND w.id <= :entryId")
+    long getPosition(@Param("courseId") Long courseId, @Param("entryId") Long entryId);
+    
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.course.id = :courseId AND w.student.id = :studentId")
+    int deleteByCourseIdAndStudentId(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+    
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.course.id = :courseId AND w.student.id IN :studentIds")
+    int deleteByCourseIdAndStudentIds(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
+    
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.student.id = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+    
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.course.id = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+}
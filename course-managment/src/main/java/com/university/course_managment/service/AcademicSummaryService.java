@@ -0,0 +1,242 @@
+package com.university.course_managment.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.university.course_managment.dto.AcademicSummaryDTO;
+import com.university.course_managment.entity.Result;
+import com.university.course_managment.entity.StudentAcademicSummary;
+import com.university.course_managment.exception.ResourceNotFoundException;
+import com.university.course_managment.repository.GradeRow;
+import com.university.course_managment.repository.ResultRepository;
+import com.university.course_managment.repository.StudentAcademicSummaryRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.StudentTermSummaryRepository;
+
+// Per-student and per-term GPA totals. Every result adds its contribution when it is created and takes
+// it back when it is changed or deleted, so reading a GPA never touches the result history.
+@Service
+public class AcademicSummaryService {
+    
+    private final StudentAcademicSummaryRepository summaryRepository;
+    private final StudentTermSummaryRepository termRepository;
+    private final ResultRepository resultRepository;
+    private final StudentRepository studentRepository;
+    private final GradingSchemeService gradingSchemeService;
+    private final DashboardCache dashboardCache;
+
+    public AcademicSummaryService(StudentAcademicSummaryRepository summaryRepository,
+                                  StudentTermSummaryRepository termRepository,
+                                  ResultRepository resultRepository,
+                                  StudentRepository studentRepository,
+                                  GradingSchemeService gradingSchemeService,
+                                  DashboardCache dashboardCache) {
+        this.summaryRepository = summaryRepository;
+        this.termRepository = termRepository;
+        this.resultRepository = resultRepository;
+        this.studentRepository = studentRepository;
+        this.gradingSchemeService = gradingSchemeService;
+        this.dashboardCache = dashboardCache;
+    }
+    
+    // Callers pass the result as stored: before changing it to take its old contribution back, after
+    // saving it to add the new one
+    @Transactional
+    public void addResult(Result result) {
+        Contribution contribution = contributionOf(result.getGradingSchemeVersion(), result.getGrade(),
+                result.getCourse().getCredits());
+        write(result.getStudent().getId(), result.getYear(), result.getSemester(), contribution, 1);
+    }
+    
+    @Transactional
+    public void removeResult(Result result) {
+        Contribution contribution = contributionOf(result.getGradingSchemeVersion(), result.getGrade(),
+                result.getCourse().getCredits());
+        write(result.getStudent().getId(), result.getYear(), result.getSemester(), contribution, -1);
+    }
+    
+    // Bulk counterpart of addResult for results written without entities
+    @Transactional
+    public void addGradeRows(List<GradeRow> gradeRows) {
+        replaceGradeRows(List.of(), gradeRows);
+    }
+    
+    // Takes back the removed grades and adds the new ones in one pass, e.g. when results are re-graded.
+    // Rows are written in student and term order, so concurrent batches lock them in the same order.
+    @Transactional
+    public void replaceGradeRows(List<GradeRow> removed, List<GradeRow> added) {
+        Map<Long, Contribution> students = new TreeMap<>();
+        Map<TermKey, Contribution> terms = new TreeMap<>();
+        collect(students, terms, removed, true);
+        collect(students, terms, added, false);
+        
+        LocalDateTime now = LocalDateTime.now();
+        students.forEach((studentId, c) -> {
+            if (!c.isZero()) {
+                summaryRepository.addDelta(studentId, c.tenths, c.credits, c.completed, c.results, now);
+            }
+        });
+        terms.forEach((term, c) -> {
+            if (!c.isZero()) {
+                termRepository.addDelta(term.studentId, term.year, term.semester,
+                        c.tenths, c.credits, c.completed, c.results, now);
+            }
+        });
+    }
+    
+    public AcademicSummaryDTO getSummary(Long studentId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student not found");
+        }
+        
+        AcademicSummaryDTO dto = new AcademicSummaryDTO();
+        dto.setStudentId(studentId);
+        StudentAcademicSummary summary = summaryRepository.findByStudentId(studentId).orElse(null);
+        dto.setGpa(summary == null ? 0.0 : round(summary.getGpa()));
+        dto.setGradedCredits(summary == null ? 0 : summary.getGradedCredits());
+        dto.setCompletedCredits(summary == null ? 0 : summary.getCompletedCredits());
+        dto.setCompletedCourses(summary == null ? 0 : summary.getResultCount());
+        if (summary != null) {
+            termRepository.findActiveByStudentId(studentId).forEach(term -> dto.getTerms().add(new AcademicSummaryDTO.Term(
+                    term.getYear(), term.getSemester(), round(term.getGpa()),
+                    term.getGradedCredits(), term.getCompletedCredits(), term.getResultCount())));
+        }
+        return dto;
+    }
+    
+    // Rebuilds the totals of the given students from their results, e.g. after a course's credits
+    // changed
+    @Transactional
+    public void recalculate(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        summaryRepository.deleteByStudentIds(studentIds);
+        termRepository.deleteByStudentIds(studentIds);
+        rebuild(resultRepository.findGradeRowsByStudentIds(studentIds));
+        dashboardCache.evictStudentsAfterCommit(studentRepository.findUserIdsByIds(studentIds));
+    }
+    
+    // Results that existed before the summaries did are folded in once at startup
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (summaryRepository.count() == 0 && resultRepository.count() > 0) {
+            rebuild(resultRepository.findAllGradeRows());
+        }
+    }
+    
+    @Transactional
+    public void deleteForStudent(Long studentId) {
+        summaryRepository.deleteByStudentIds(List.of(studentId));
+        termRepository.deleteByStudentIds(List.of(studentId));
+    }
+    
+    private void rebuild(List<GradeRow> gradeRows) {
+        replaceGradeRows(List.of(), gradeRows);
+    }
+    
+    private void collect(Map<Long, Contribution> students, Map<TermKey, Contribution> terms,
+                                List<GradeRow> gradeRows, boolean negate) {
+        for (GradeRow row : gradeRows) {
+            Contribution contribution = contributionOf(row.gradingSchemeVersion(), row.grade(), row.credits());
+            if (negate) {
+                contribution = contribution.negate();
+            }
+            students.merge(row.studentId(), contribution, Contribution::plus);
+            terms.merge(new TermKey(row.studentId(), row.year(), row.semester()),
+                    contribution, Contribution::plus);
+        }
+    }
+    
+    private Contribution contributionOf(Integer schemeVersion, String grade, Integer courseCredits) {
+        return Contribution.of(gradingSchemeService.gradePointTenths(schemeVersion, grade), courseCredits);
+    }
+    
+    private void write(Long studentId, Integer year, String semester, Contribution c, int sign) {
+        LocalDateTime now = LocalDateTime.now();
+        summaryRepository.addDelta(studentId, sign * c.tenths, sign * c.credits, sign * c.completed, sign * c.results, now);
+        termRepository.addDelta(studentId, year, semester,
+                sign * c.tenths, sign * c.credits, sign * c.completed, sign * c.results, now);
+    }
+    
+    private static double round(double gpa) {
+        return Math.round(gpa * 100) / 100.0;
+    }
+    
+    // What one or more results add to a student's totals. Results with a grade that carries no points
+    // count as results but carry no credits.
+    private static final class Contribution {
+        private final long tenths;
+        private final int credits;
+        private final int completed;
+        private final int results;
+
+        private Contribution(long tenths, int credits, int completed, int results) {
+            this.tenths = tenths;
+            this.credits = credits;
+            this.completed = completed;
+            this.results = results;
+        }
+
+        static Contribution of(Integer points, Integer courseCredits) {
+            int credits = courseCredits == null || points == null ? 0 : courseCredits;
+            boolean passed = points != null && points > 0;
+            return new Contribution(points == null ? 0 : (long) points * credits, credits, passed ? credits : 0, 1);
+        }
+
+        Contribution negate() {
+            return new Contribution(-tenths, -credits, -completed, -results);
+        }
+
+        boolean isZero() {
+            return tenths == 0 && credits == 0 && completed == 0 && results == 0;
+        }
+
+        Contribution plus(Contribution other) {
+            return new Contribution(tenths + other.tenths, credits + other.credits,
+                    completed + other.completed, results + other.results);
+        }
+    }
+    
+    private static final class TermKey implements Comparable<TermKey> {
+        private final Long studentId;
+        private final Integer year;
+        private final String semester;
+
+        TermKey(Long studentId, Integer year, String semester) {
+            this.studentId = studentId;
+            this.year = year;
+            this.semester = semester;
+        }
+
+        @Override
+        public int compareTo(TermKey other) {
+            int order = studentId.compareTo(other.studentId);
+            if (order == 0) order = year.compareTo(other.year);
+            return order != 0 ? order : semester.compareTo(other.semester);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TermKey)) return false;
+            TermKey other = (TermKey) o;
+            return studentId.equals(other.studentId) && year.equals(other.year) && semester.equals(other.semester);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(studentId, year, semester);
+        }
+    }
+}
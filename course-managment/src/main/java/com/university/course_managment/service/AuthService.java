@@ -9,6 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.university.course_managment.dto.auth.AuthResponse;
 import com.university.course_managment.dto.auth.LoginRequest;
 import com.university.course_managment.dto.auth.RegisterRequest;
+import com.university.course_managment.entity.DashboardCounter;
 import com.university.course_managment.entity.Student;
 import com.university.course_managment.entity.User;
 import com.university.course_managment.exception.ResourceNotFoundException;
@@ -24,17 +25,20 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final DashboardCounterService counterService;
 
     public AuthService(UserRepository userRepository, 
                       StudentRepository studentRepository,
                       PasswordEncoder passwordEncoder, 
                       JwtService jwtService,
-                      AuthenticationManager authenticationManager) {
+                      AuthenticationManager authenticationManager,
+                      DashboardCounterService counterService) {
         this.userRepository = userRepository;
         this.studentRepository = studentRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
+        this.counterService = counterService;
     }
     
     @Transactional
@@ -68,6 +72,9 @@ public class AuthService {
                     .year(request.getYear())
                     .build();
             studentRepository.save(student);
+            counterService.increment(DashboardCounter.Name.STUDENTS, 1);
+        } else if (request.getRole() == User.Role.INSTRUCTOR) {
+            counterService.increment(DashboardCounter.Name.INSTRUCTORS, 1);
         }
         
         String token = jwtService.generateToken(user);
@@ -0,0 +1,75 @@
+package com.university.course_managment.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.university.course_managment.entity.GradeBoundary;
+import com.university.course_managment.entity.GradingScheme;
+
+// A grading scheme prepared for lookups. The grade of every total from 0 to 100 is precomputed in
+// steps of a hundredth of a point, so grading a result is one array read instead of a boundary scan.
+// Boundaries have at most two decimals, so a total gets the same grade as from the boundary table.
+public final class CompiledGradingScheme {
+
+    private static final int STEPS = 100 * 100;
+
+    private final int version;
+    private final double midtermWeight;
+    private final double finalWeight;
+    private final String[] gradeByStep = new String[STEPS + 1];
+    private final List<String> grades = new ArrayList<>();
+    private final Map<String, Integer> gradePointTenths = new HashMap<>();
+
+    public CompiledGradingScheme(GradingScheme scheme) {
+        this.version = scheme.getVersion();
+        this.midtermWeight = scheme.getMidtermWeight();
+        this.finalWeight = scheme.getFinalWeight();
+
+        List<GradeBoundary> boundaries = new ArrayList<>(scheme.getBoundaries());
+        boundaries.sort(Comparator.comparing(GradeBoundary::getMinScore).reversed());
+        int end = STEPS + 1;
+        for (GradeBoundary boundary : boundaries) {
+            int start = (int) Math.round(boundary.getMinScore() * 100);
+            for (int step = start; step < end; step++) {
+                gradeByStep[step] = boundary.getGrade();
+            }
+            end = Math.min(end, start);
+            if (!grades.contains(boundary.getGrade())) {
+                grades.add(boundary.getGrade());
+            }
+            if (boundary.getGradePoints() != null) {
+                gradePointTenths.put(boundary.getGrade(), (int) Math.round(boundary.getGradePoints() * 10));
+            }
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public double total(double midtermScore, double finalScore) {
+        return midtermScore * midtermWeight + finalScore * finalWeight;
+    }
+
+    // total * 100 can land just under a whole step (69.99 * 100 is 6998.999...), which would floor a total
+    // sitting on a boundary into the grade below; the nudge is far smaller than a hundredth of a point
+    public String grade(double total) {
+        int step = (int) Math.floor(total * 100 + 1e-9);
+        return gradeByStep[Math.max(0, Math.min(STEPS, step))];
+    }
+
+    // Grade points in tenths of a point, as the GPA totals keep them; null for a grade the scheme
+    // does not give
+    public Integer gradePointTenths(String grade) {
+        return grade == null ? null : gradePointTenths.get(grade);
+    }
+
+    // Every grade of the scheme, best first
+    public List<String> grades() {
+        return Collections.unmodifiableList(grades);
+    }
+}
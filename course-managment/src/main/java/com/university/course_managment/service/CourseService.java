@@ -1,21 +1,32 @@
 package com.university.course_managment.service;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.university.course_managment.dto.CourseDTO;
 import com.university.course_managment.dto.CreateCourseRequest;
+import com.university.course_managment.dto.KeysetPage;
 import com.university.course_managment.dto.StudentDTO;
 import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.CoursePrerequisite;
+import com.university.course_managment.entity.DashboardCounter;
+import com.university.course_managment.entity.Enrollment;
 import com.university.course_managment.entity.User;
 import com.university.course_managment.exception.ResourceNotFoundException;
+import com.university.course_managment.repository.CoursePrerequisiteRepository;
 import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.EnrollmentRepository;
 import com.university.course_managment.repository.ResultRepository;
 import com.university.course_managment.repository.StudentRepository;
 import com.university.course_managment.repository.UserRepository;
+import com.university.course_managment.repository.WaitlistEntryRepository;
 
 @Service
 public class CourseService {
@@ -24,15 +35,45 @@ public class CourseService {
     private final UserRepository userRepository;
     private final StudentRepository studentRepository;
     private final ResultRepository resultRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final CoursePrerequisiteRepository prerequisiteRepository;
+    private final EnrollmentService enrollmentService;
+    private final PrerequisiteGraph prerequisiteGraph;
+    private final DashboardCounterService counterService;
+    private final DashboardCache dashboardCache;
+    private final AcademicSummaryService academicSummaryService;
+    private final GradeDistributionService gradeDistributionService;
+    private final Pagination pagination;
 
     public CourseService(CourseRepository courseRepository, 
                         UserRepository userRepository,
                         StudentRepository studentRepository, 
-                        ResultRepository resultRepository) {
+                        ResultRepository resultRepository,
+                        EnrollmentRepository enrollmentRepository,
+                        WaitlistEntryRepository waitlistEntryRepository,
+                        CoursePrerequisiteRepository prerequisiteRepository,
+                        EnrollmentService enrollmentService,
+                        PrerequisiteGraph prerequisiteGraph,
+                        DashboardCounterService counterService,
+                        DashboardCache dashboardCache,
+                        AcademicSummaryService academicSummaryService,
+                        GradeDistributionService gradeDistributionService,
+                        Pagination pagination) {
         this.courseRepository = courseRepository;
         this.userRepository = userRepository;
         this.studentRepository = studentRepository;
         this.resultRepository = resultRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.prerequisiteRepository = prerequisiteRepository;
+        this.enrollmentService = enrollmentService;
+        this.prerequisiteGraph = prerequisiteGraph;
+        this.counterService = counterService;
+        this.dashboardCache = dashboardCache;
+        this.academicSummaryService = academicSummaryService;
+        this.gradeDistributionService = gradeDistributionService;
+        this.pagination = pagination;
     }
     
     @Transactional
@@ -62,13 +103,40 @@ public class CourseService {
         }
         
         course = courseRepository.save(course);
+        counterService.increment(DashboardCounter.Name.COURSES, 1);
+        dashboardCache.evictInstructorsAfterCommit(instructorIds(course.getInstructor()));
         return mapToDTO(course);
     }
     
-    public List<CourseDTO> getAllCourses() {
-        return courseRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    // One page by id (default) or by code, in one statement; the total is counted on request
+    public KeysetPage<CourseDTO> getCourses(String sort, String cursor, Integer size, boolean count) {
+        String order = pagination.sort(sort, "id", "code");
+        int limit = pagination.limit(size);
+        List<Object[]> rows = order.equals("id")
+                ? courseRepository.findPageById(pagination.afterId(cursor), Limit.of(limit + 1))
+                : courseRepository.findPageByCode(pagination.after(cursor, order), Limit.of(limit + 1));
+        List<CourseDTO> courses = rows.stream().map(row -> {
+            CourseDTO dto = new CourseDTO();
+            dto.setId((Long) row[0]);
+            dto.setCode((String) row[1]);
+            dto.setTitle((String) row[2]);
+            dto.setDescription((String) row[3]);
+            dto.setCredits((Integer) row[4]);
+            dto.setCapacity((Integer) row[5]);
+            dto.setEnrolledStudents((Integer) row[6]);
+            if (row[7] != null) {
+                dto.setInstructorId((Long) row[7]);
+                dto.setInstructorName(row[8] + " " + row[9]);
+            }
+            return dto;
+        }).collect(Collectors.toList());
+        KeysetPage<CourseDTO> page = order.equals("id")
+                ? pagination.page(courses, limit, order, CourseDTO::getId)
+                : pagination.page(courses, limit, order, CourseDTO::getCode);
+        if (count) {
+            page.setTotal(courseRepository.count());
+        }
+        return page;
     }
     
     public CourseDTO getCourseById(Long id) {
@@ -89,12 +157,16 @@ public class CourseService {
             }
         }
         
+        // Credits weight every result of the course, so changing them rebuilds those students' GPAs
+        boolean creditsChanged = !Objects.equals(course.getCredits(), request.getCredits());
         course.setCode(request.getCode());
         course.setTitle(request.getTitle());
         course.setDescription(request.getDescription());
         course.setCredits(request.getCredits());
         course.setCapacity(request.getCapacity());
         
+        // Both the previous and the new instructor see the course count change
+        Set<Long> affectedInstructors = new HashSet<>(instructorIds(course.getInstructor()));
         if (request.getInstructorId() != null) {
             User instructor = userRepository.findById(request.getInstructorId())
                     .orElseThrow(() -> new ResourceNotFoundException("Instructor not found"));
@@ -109,7 +181,17 @@ public class CourseService {
         }
         
         course = courseRepository.save(course);
-        return mapToDTO(course);
+        if (creditsChanged) {
+            academicSummaryService.recalculate(resultRepository.findStudentIdsByCourseId(id));
+        }
+        affectedInstructors.addAll(instructorIds(course.getInstructor()));
+        dashboardCache.evictInstructorsAfterCommit(affectedInstructors);
+        CourseDTO dto = mapToDTO(course);
+        
+        // Extra capacity goes to waitlisted students first
+        int promoted = enrollmentService.promoteFromWaitlist(id);
+        dto.setEnrolledStudents(dto.getEnrolledStudents() + promoted);
+        return dto;
     }
     
     @Transactional
@@ -118,8 +200,8 @@ public class CourseService {
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
         
         // Check if course has enrolled students
-        if (!course.getStudents().isEmpty()) {
-            throw new RuntimeException("Cannot delete course. " + course.getStudents().size() + 
+        if (course.getEnrolledCount() > 0) {
+            throw new RuntimeException("Cannot delete course. " + course.getEnrolledCount() + 
                     " students are enrolled. Please remove all enrollments first.");
         }
         
@@ -129,7 +211,56 @@ public class CourseService {
                     " associated results. Please delete results first.");
         }
         
+        // Only dropped enrollments can remain at this point
+        waitlistEntryRepository.deleteByCourseId(id);
+        enrollmentRepository.deleteByCourseId(id);
+        gradeDistributionService.deleteForCourse(id);
+        if (prerequisiteRepository.deleteByCourseId(id) > 0) {
+            prerequisiteGraph.reloadAfterCommit();
+        }
         courseRepository.deleteById(id);
+        counterService.increment(DashboardCounter.Name.COURSES, -1);
+        dashboardCache.evictInstructorsAfterCommit(instructorIds(course.getInstructor()));
+    }
+    
+    public List<CourseDTO> getPrerequisites(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found");
+        }
+        return prerequisiteRepository.findPrerequisitesOf(courseId).stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional
+    public List<CourseDTO> addPrerequisite(Long courseId, Long prerequisiteId) {
+        if (!courseRepository.existsById(courseId) || !courseRepository.existsById(prerequisiteId)) {
+            throw new ResourceNotFoundException("Course not found");
+        }
+        if (prerequisiteGraph.wouldCreateCycle(courseId, prerequisiteId)) {
+            throw new IllegalArgumentException("Prerequisite would create a cycle");
+        }
+        if (prerequisiteRepository.existsByCourseIdAndPrerequisiteId(courseId, prerequisiteId)) {
+            throw new IllegalArgumentException("Prerequisite already exists");
+        }
+        
+        prerequisiteRepository.save(new CoursePrerequisite(
+                courseRepository.getReferenceById(courseId),
+                courseRepository.getReferenceById(prerequisiteId)));
+        prerequisiteGraph.addEdgeAfterCommit(courseId, prerequisiteId);
+        return getPrerequisites(courseId);
+    }
+    
+    @Transactional
+    public void removePrerequisite(Long courseId, Long prerequisiteId) {
+        if (prerequisiteRepository.deleteEdge(courseId, prerequisiteId) == 0) {
+            throw new ResourceNotFoundException("Prerequisite not found");
+        }
+        prerequisiteGraph.removeEdgeAfterCommit(courseId, prerequisiteId);
+    }
+    
+    private List<Long> instructorIds(User instructor) {
+        return instructor == null ? List.of() : List.of(instructor.getId());
     }
     
     private CourseDTO mapToDTO(Course course) {
@@ -140,7 +271,7 @@ public class CourseService {
         dto.setDescription(course.getDescription());
         dto.setCredits(course.getCredits());
         dto.setCapacity(course.getCapacity());
-        dto.setEnrolledStudents(course.getStudents() != null ? course.getStudents().size() : 0);
+        dto.setEnrolledStudents(course.getEnrolledCount());
         
         if (course.getInstructor() != null) {
             dto.setInstructorId(course.getInstructor().getId());
@@ -151,20 +282,36 @@ public class CourseService {
         return dto;
     }
 
-    public List<StudentDTO> getCourseStudents(Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+    // The enrolled students one page at a time, by id (default) or by student number
+    public KeysetPage<StudentDTO> getCourseStudents(Long courseId, String sort, String cursor, Integer size, boolean count) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found");
+        }
         
-        return course.getStudents().stream()
-                .map(student -> StudentDTO.builder()
-                        .id(student.getId())
-                        .studentId(student.getStudentId())
-                        .firstName(student.getUser().getFirstName())
-                        .lastName(student.getUser().getLastName())
-                        .email(student.getUser().getEmail())
-                        .department(student.getDepartment())
-                        .year(student.getYear())
+        String order = pagination.sort(sort, "id", "studentId");
+        int limit = pagination.limit(size);
+        List<Object[]> rows = order.equals("id")
+                ? enrollmentRepository.findRosterPageById(courseId, Enrollment.Status.ENROLLED,
+                        pagination.afterId(cursor), Limit.of(limit + 1))
+                : enrollmentRepository.findRosterPageByStudentId(courseId, Enrollment.Status.ENROLLED,
+                        pagination.after(cursor, order), Limit.of(limit + 1));
+        List<StudentDTO> students = rows.stream()
+                .map(row -> StudentDTO.builder()
+                        .id((Long) row[0])
+                        .studentId((String) row[1])
+                        .firstName((String) row[2])
+                        .lastName((String) row[3])
+                        .email((String) row[4])
+                        .department((String) row[5])
+                        .year((Integer) row[6])
                         .build())
                 .collect(Collectors.toList());
+        KeysetPage<StudentDTO> page = order.equals("id")
+                ? pagination.page(students, limit, order, StudentDTO::getId)
+                : pagination.page(students, limit, order, StudentDTO::getStudentId);
+        if (count) {
+            page.setTotal(enrollmentRepository.countActiveByCourse(courseId));
+        }
+        return page;
     }
 }
\ No newline at end of file
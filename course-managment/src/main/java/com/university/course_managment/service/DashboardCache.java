@@ -0,0 +1,71 @@
+package com.university.course_managment.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.university.course_managment.repository.CourseRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Cached dashboard responses: the admin dashboard under a single key, student and instructor dashboards
+// per user id. Writers evict exactly the entries their change affects, once their transaction commits,
+// so a reader can never re-cache the pre-commit numbers; size and TTL come from spring.cache.caffeine.spec.
+@Service
+public class DashboardCache {
+    
+    public static final String ADMIN = "adminDashboard";
+    public static final String STUDENT = "studentDashboard";
+    public static final String INSTRUCTOR = "instructorDashboard";
+    public static final String ADMIN_KEY = "totals";
+    
+    private final CacheManager cacheManager;
+    private final CourseRepository courseRepository;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DashboardCache(CacheManager cacheManager, CourseRepository courseRepository, MeterRegistry meterRegistry,
+                          ApplicationEventPublisher eventPublisher) {
+        this.cacheManager = cacheManager;
+        this.courseRepository = courseRepository;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+    }
+    
+    public void evictTotalsAfterCommit() {
+        TransactionHooks.afterCommit(() -> evict(ADMIN, List.of(ADMIN_KEY)));
+    }
+    
+    public void evictStudentsAfterCommit(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            TransactionHooks.afterCommit(() -> evict(STUDENT, userIds));
+        }
+    }
+    
+    public void evictInstructorsAfterCommit(Collection<Long> instructorIds) {
+        if (!instructorIds.isEmpty()) {
+            TransactionHooks.afterCommit(() -> evict(INSTRUCTOR, instructorIds));
+        }
+    }
+    
+    // Instructors are looked up once the change has committed, outside the writer's row locks
+    public void evictCourseInstructorsAfterCommit(Collection<Long> courseIds) {
+        if (!courseIds.isEmpty()) {
+            TransactionHooks.afterCommit(() -> evict(INSTRUCTOR, courseRepository.findInstructorIdsByIds(courseIds)));
+        }
+    }
+    
+    private void evict(String cacheName, Collection<?> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || keys.isEmpty()) {
+            return;
+        }
+        keys.forEach(cache::evict);
+        meterRegistry.counter("dashboard.cache.invalidations", "cache", cacheName).increment(keys.size());
+        eventPublisher.publishEvent(new DashboardChangedEvent(cacheName, keys));
+    }
+}
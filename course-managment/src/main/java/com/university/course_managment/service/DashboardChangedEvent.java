@@ -0,0 +1,24 @@
+package com.university.course_managment.service;
+
+import java.util.Collection;
+import java.util.List;
+
+// Published once dashboard cache entries were evicted after a committed write
+public class DashboardChangedEvent {
+    
+    private final String cacheName;
+    private final List<Object> keys;
+
+    public DashboardChangedEvent(String cacheName, Collection<?> keys) {
+        this.cacheName = cacheName;
+        this.keys = List.copyOf(keys);
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public List<Object> getKeys() {
+        return keys;
+    }
+}
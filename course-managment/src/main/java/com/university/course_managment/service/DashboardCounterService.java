@@ -0,0 +1,152 @@
+package com.university.course_managment.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.university.course_managment.entity.DashboardCounter;
+import com.university.course_managment.entity.Enrollment;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.DashboardCounterRepository;
+import com.university.course_managment.repository.EnrollmentRepository;
+import com.university.course_managment.repository.ResultRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+// Totals for the admin dashboard, maintained by the services that create and delete the counted rows.
+// Increments join the caller's transaction, so they commit or roll back with the change they describe.
+// Reconciliation recounts everything from the source tables and overwrites the counters in place.
+@Service
+public class DashboardCounterService {
+
+    private final DashboardCounterRepository counterRepository;
+    private final UserRepository userRepository;
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final ResultRepository resultRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final DashboardCache dashboardCache;
+    private final int stripes;
+
+    public DashboardCounterService(DashboardCounterRepository counterRepository,
+                                   UserRepository userRepository,
+                                   StudentRepository studentRepository,
+                                   CourseRepository courseRepository,
+                                   ResultRepository resultRepository,
+                                   EnrollmentRepository enrollmentRepository,
+                                   DashboardCache dashboardCache,
+                                   @Value("${dashboard.counters.stripes:8}") int stripes) {
+        this.counterRepository = counterRepository;
+        this.userRepository = userRepository;
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.resultRepository = resultRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.dashboardCache = dashboardCache;
+        this.stripes = stripes;
+    }
+
+    // Deltas are collected per transaction and written just before it commits, after the caller has taken
+    // its own row locks. Writing them in name order on one stripe keeps the counter rows from joining a
+    // lock cycle with the course rows that enrollments claim.
+    @Transactional
+    public void increment(DashboardCounter.Name name, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<DashboardCounter.Name, Long> pending =
+                (Map<DashboardCounter.Name, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<DashboardCounter.Name, Long> deltas = new EnumMap<>(DashboardCounter.Name.class);
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    applyDeltas(deltas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DashboardCounterService.this);
+                }
+            });
+            dashboardCache.evictTotalsAfterCommit();
+            pending = deltas;
+        }
+        pending.merge(name, delta, Long::sum);
+    }
+
+    private void applyDeltas(Map<DashboardCounter.Name, Long> deltas) {
+        int stripe = ThreadLocalRandom.current().nextInt(stripes);
+        LocalDateTime now = LocalDateTime.now();
+        deltas.forEach((name, delta) -> {
+            if (delta != 0) {
+                counterRepository.increment(name.name(), stripe, delta, now);
+            }
+        });
+    }
+
+    public Map<DashboardCounter.Name, Long> getTotals() {
+        Map<DashboardCounter.Name, Long> totals = new EnumMap<>(DashboardCounter.Name.class);
+        for (DashboardCounter.Name name : DashboardCounter.Name.values()) {
+            totals.put(name, 0L);
+        }
+        for (Object[] row : counterRepository.sumByName()) {
+            totals.put((DashboardCounter.Name) row[0], ((Number) row[1]).longValue());
+        }
+        return totals;
+    }
+
+    // Runs once the application is up (after the data initializer) and then periodically. The counter rows
+    // are locked before anything is counted, so an increment either committed before the counts are taken
+    // (and is included in them) or waits and is applied on top of the reconciled values.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${dashboard.counters.reconcile-interval:3600000}",
+               fixedDelayString = "${dashboard.counters.reconcile-interval:3600000}")
+    @Transactional
+    public void reconcile() {
+        List<DashboardCounter> rows = counterRepository.findAllForUpdate();
+
+        Map<DashboardCounter.Name, Long> actual = new EnumMap<>(DashboardCounter.Name.class);
+        actual.put(DashboardCounter.Name.STUDENTS, studentRepository.count());
+        actual.put(DashboardCounter.Name.INSTRUCTORS, userRepository.countByRole(User.Role.INSTRUCTOR));
+        actual.put(DashboardCounter.Name.COURSES, courseRepository.count());
+        actual.put(DashboardCounter.Name.RESULTS, resultRepository.count());
+        actual.put(DashboardCounter.Name.ENROLLMENTS, enrollmentRepository.countByStatus(Enrollment.Status.ENROLLED));
+
+        // Stripe 0 carries the total and every other stripe is zeroed, in place
+        Set<DashboardCounter.Name> written = EnumSet.noneOf(DashboardCounter.Name.class);
+        for (DashboardCounter row : rows) {
+            if (row.getStripe() == 0) {
+                row.setValue(actual.get(row.getName()));
+                written.add(row.getName());
+            } else {
+                row.setValue(0L);
+            }
+        }
+        List<DashboardCounter> missing = new ArrayList<>();
+        actual.forEach((name, value) -> {
+            if (!written.contains(name)) {
+                missing.add(new DashboardCounter(name, 0, value));
+            }
+        });
+        counterRepository.saveAll(missing);
+        dashboardCache.evictTotalsAfterCommit();
+    }
+}
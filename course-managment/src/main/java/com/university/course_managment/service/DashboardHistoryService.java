@@ -0,0 +1,139 @@
+package com.university.course_managment.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.university.course_managment.dto.MetricPointDTO;
+import com.university.course_managment.entity.DashboardCounter;
+import com.university.course_managment.entity.DashboardSnapshot;
+import com.university.course_managment.entity.DashboardSnapshot.Resolution;
+import com.university.course_managment.repository.DashboardSnapshotRepository;
+
+// Time series of the admin dashboard totals. Samples are recorded from the maintained counters, kept raw
+// for a short while, then rolled up into hourly and later daily buckets, and finally dropped, so the
+// table stays bounded and a range query reads at most a few thousand rows whatever its span.
+@Service
+public class DashboardHistoryService {
+
+    private final DashboardSnapshotRepository snapshotRepository;
+    private final DashboardCounterService counterService;
+    private final Duration rawRetention;
+    private final Duration hourlyRetention;
+    private final Duration dailyRetention;
+
+    public DashboardHistoryService(DashboardSnapshotRepository snapshotRepository,
+                                   DashboardCounterService counterService,
+                                   @Value("${dashboard.history.raw-retention:48h}") Duration rawRetention,
+                                   @Value("${dashboard.history.hourly-retention:90d}") Duration hourlyRetention,
+                                   @Value("${dashboard.history.daily-retention:1825d}") Duration dailyRetention) {
+        this.snapshotRepository = snapshotRepository;
+        this.counterService = counterService;
+        this.rawRetention = rawRetention;
+        this.hourlyRetention = hourlyRetention;
+        this.dailyRetention = dailyRetention;
+    }
+
+    @Scheduled(initialDelayString = "${dashboard.history.sample-interval:300000}",
+               fixedDelayString = "${dashboard.history.sample-interval:300000}")
+    @Transactional
+    public void recordSnapshot() {
+        LocalDateTime bucket = Resolution.RAW.bucketOf(LocalDateTime.now());
+        List<DashboardSnapshot> samples = new ArrayList<>();
+        counterService.getTotals().forEach((metric, value) -> {
+            DashboardSnapshot sample = new DashboardSnapshot(metric, Resolution.RAW, bucket, value);
+            samples.add(snapshotRepository.findByMetricAndResolutionAndBucketStart(metric, Resolution.RAW, bucket)
+                    .map(existing -> {
+                        existing.merge(sample);
+                        return existing;
+                    })
+                    .orElse(sample));
+        });
+        snapshotRepository.saveAll(samples);
+    }
+
+    @Scheduled(initialDelayString = "${dashboard.history.rollup-interval:3600000}",
+               fixedDelayString = "${dashboard.history.rollup-interval:3600000}")
+    @Transactional
+    public void rollUp() {
+        rollUp(LocalDateTime.now());
+    }
+
+    // Only whole buckets are rolled up, so a coarse bucket never has to be split again
+    void rollUp(LocalDateTime now) {
+        rollUp(Resolution.RAW, Resolution.HOURLY, Resolution.HOURLY.bucketOf(now.minus(rawRetention)));
+        rollUp(Resolution.HOURLY, Resolution.DAILY, Resolution.DAILY.bucketOf(now.minus(hourlyRetention)));
+        snapshotRepository.deleteOlderThan(Resolution.DAILY, now.minus(dailyRetention));
+    }
+
+    // Points of one metric in [from, to). Without a resolution, the finest one still kept for "from" is
+    // used; newer points that are still finer are folded into buckets of that resolution.
+    public List<MetricPointDTO> getHistory(DashboardCounter.Name metric, LocalDateTime from, LocalDateTime to,
+                                           Resolution resolution) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        Resolution target = resolution != null ? resolution : resolutionFor(from, LocalDateTime.now());
+        EnumSet<Resolution> sources = EnumSet.range(Resolution.RAW, target);
+
+        Map<LocalDateTime, DashboardSnapshot> buckets = new LinkedHashMap<>();
+        for (DashboardSnapshot point : snapshotRepository.findRange(metric, sources, target.bucketOf(from), to)) {
+            DashboardSnapshot bucket = buckets.get(target.bucketOf(point.getBucketStart()));
+            if (bucket == null) {
+                buckets.put(target.bucketOf(point.getBucketStart()), point.copyAs(target));
+            } else {
+                bucket.merge(point);
+            }
+        }
+
+        List<MetricPointDTO> points = new ArrayList<>(buckets.size());
+        buckets.values().forEach(bucket -> points.add(new MetricPointDTO(bucket.getBucketStart(),
+                bucket.getMinValue(), bucket.getMaxValue(),
+                (double) bucket.getSumValue() / bucket.getSampleCount(), bucket.getLastValue())));
+        return points;
+    }
+
+    Resolution resolutionFor(LocalDateTime from, LocalDateTime now) {
+        if (!from.isBefore(now.minus(rawRetention))) {
+            return Resolution.RAW;
+        }
+        return from.isBefore(now.minus(hourlyRetention)) ? Resolution.DAILY : Resolution.HOURLY;
+    }
+
+    private void rollUp(Resolution source, Resolution target, LocalDateTime cutoff) {
+        List<DashboardSnapshot> points = snapshotRepository.findByResolutionAndBucketStartBeforeOrderByBucketStartAsc(
+                source, cutoff);
+        if (points.isEmpty()) {
+            return;
+        }
+
+        Map<String, DashboardSnapshot> buckets = new LinkedHashMap<>();
+        for (DashboardSnapshot point : points) {
+            LocalDateTime bucketStart = target.bucketOf(point.getBucketStart());
+            String key = point.getMetric() + "@" + bucketStart;
+            DashboardSnapshot bucket = buckets.get(key);
+            if (bucket == null) {
+                // A bucket can already exist when an earlier run stopped halfway through it
+                bucket = snapshotRepository.findByMetricAndResolutionAndBucketStart(point.getMetric(), target, bucketStart)
+                        .orElse(null);
+                if (bucket == null) {
+                    buckets.put(key, point.copyAs(target));
+                    continue;
+                }
+                buckets.put(key, bucket);
+            }
+            bucket.merge(point);
+        }
+        snapshotRepository.deleteOlderThan(source, cutoff);
+        snapshotRepository.saveAll(buckets.values());
+    }
+}
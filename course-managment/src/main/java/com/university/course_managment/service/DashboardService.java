@@ -1,117 +1,81 @@
 package com.university.course_managment.service;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import com.university.course_managment.dto.DashboardStats;
-import com.university.course_managment.entity.Course;
-import com.university.course_managment.entity.Result;
-import com.university.course_managment.entity.Student;
-import com.university.course_managment.entity.User;
+import com.university.course_managment.entity.DashboardCounter;
+import com.university.course_managment.entity.Enrollment;
 import com.university.course_managment.exception.ResourceNotFoundException;
-import com.university.course_managment.repository.CourseRepository;
-import com.university.course_managment.repository.ResultRepository;
-import com.university.course_managment.repository.StudentRepository;
-import com.university.course_managment.repository.UserRepository;
+import com.university.course_managment.repository.DashboardQueryRepository;
 
 @Service
 public class DashboardService {
     
-    private final UserRepository userRepository;
-    private final CourseRepository courseRepository;
-    private final StudentRepository studentRepository;
-    private final ResultRepository resultRepository;
+    private final DashboardQueryRepository dashboardQueryRepository;
+    private final DashboardCounterService counterService;
 
-    public DashboardService(UserRepository userRepository, 
-                           CourseRepository courseRepository,
-                           StudentRepository studentRepository, 
-                           ResultRepository resultRepository) {
-        this.userRepository = userRepository;
-        this.courseRepository = courseRepository;
-        this.studentRepository = studentRepository;
-        this.resultRepository = resultRepository;
+    public DashboardService(DashboardQueryRepository dashboardQueryRepository,
+                           DashboardCounterService counterService) {
+        this.dashboardQueryRepository = dashboardQueryRepository;
+        this.counterService = counterService;
     }
     
+    // Served from the maintained counters: a handful of rows instead of scanning users and courses
+    @Cacheable(cacheNames = DashboardCache.ADMIN, key = "'" + DashboardCache.ADMIN_KEY + "'", sync = true)
     public DashboardStats getAdminDashboardStats() {
-        DashboardStats stats = new DashboardStats();
-        
-        stats.setTotalStudents(studentRepository.count());
-        stats.setTotalCourses(courseRepository.count());
+        Map<DashboardCounter.Name, Long> totals = counterService.getTotals();
+        long courses = totals.get(DashboardCounter.Name.COURSES);
         
-        // Count instructors manually
-        long instructorCount = userRepository.findAll().stream()
-                .filter(user -> user.getRole() == User.Role.INSTRUCTOR)
-                .count();
-        stats.setTotalInstructors(instructorCount);
-        
-        stats.setTotalResults(resultRepository.count());
+        DashboardStats stats = new DashboardStats();
+        stats.setTotalStudents(totals.get(DashboardCounter.Name.STUDENTS));
+        stats.setTotalCourses(courses);
+        stats.setTotalInstructors(totals.get(DashboardCounter.Name.INSTRUCTORS));
+        stats.setTotalResults(totals.get(DashboardCounter.Name.RESULTS));
         
         // Additional statistics
         Map<String, Object> additionalStats = new HashMap<>();
-        additionalStats.put("activeCourses", courseRepository.findAll().size());
-        additionalStats.put("averageEnrollmentPerCourse", calculateAverageEnrollment());
+        additionalStats.put("activeCourses", courses);
+        additionalStats.put("averageEnrollmentPerCourse",
+                courses == 0 ? 0.0 : (double) totals.get(DashboardCounter.Name.ENROLLMENTS) / courses);
         stats.setAdditionalStats(additionalStats);
         
         return stats;
     }
     
-    public DashboardStats getStudentDashboardStats() {
-        User currentUser = (User) SecurityContextHolder.getContext()
-                .getAuthentication().getPrincipal();
-        
-        Student student = studentRepository.findByUserId(currentUser.getId())
+    @Cacheable(cacheNames = DashboardCache.STUDENT, key = "#userId", sync = true)
+    public DashboardStats getStudentDashboardStats(Long userId) {
+        DashboardQueryRepository.StudentTotals totals = dashboardQueryRepository
+                .findStudentTotals(userId, Enrollment.Status.ENROLLED)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
         
         DashboardStats stats = new DashboardStats();
-        stats.setEnrolledCourses(student.getCourses().size());
-        
-        // Get results for this student
-        List<Result> results = resultRepository.findByStudent(student);
-        stats.setCompletedCourses(results.size());
+        stats.setEnrolledCourses((int) totals.getEnrolledCourses());
+        stats.setCompletedCourses(totals.getCompletedCourses() == null ? 0 : totals.getCompletedCourses());
         
-        // Calculate GPA
-        if (!results.isEmpty()) {
-            double averageScore = results.stream()
-                    .mapToDouble(Result::getTotalScore)
-                    .average()
-                    .orElse(0.0);
-            // Convert to 4.0 scale (assuming 100 point scale)
-            stats.setGpa(averageScore / 25.0);
-        } else {
-            stats.setGpa(0.0);
-        }
+        // Credit-weighted GPA on a 4.0 scale
+        Integer gradedCredits = totals.getGradedCredits();
+        stats.setGpa(gradedCredits == null || gradedCredits == 0 ? 0.0
+                : Math.round(totals.getGradePointTenths() * 10.0 / gradedCredits) / 100.0);
+        Map<String, Object> additionalStats = new HashMap<>();
+        additionalStats.put("completedCredits", totals.getCompletedCredits() == null ? 0 : totals.getCompletedCredits());
+        stats.setAdditionalStats(additionalStats);
         
         return stats;
     }
     
-    public DashboardStats getInstructorDashboardStats() {
-        User currentUser = (User) SecurityContextHolder.getContext()
-                .getAuthentication().getPrincipal();
+    @Cacheable(cacheNames = DashboardCache.INSTRUCTOR, key = "#instructorId", sync = true)
+    public DashboardStats getInstructorDashboardStats(Long instructorId) {
+        DashboardQueryRepository.InstructorTotals totals =
+                dashboardQueryRepository.findInstructorTotals(instructorId);
         
         DashboardStats stats = new DashboardStats();
-        List<Course> courses = courseRepository.findByInstructor(currentUser);
-        
-        stats.setTotalCourses((long) courses.size());
-        
-        long totalStudents = courses.stream()
-                .mapToLong(course -> course.getStudents().size())
-                .sum();
-        stats.setTotalStudents(totalStudents);
+        stats.setTotalCourses(totals.getTotalCourses());
+        stats.setTotalStudents(totals.getTotalStudents());
         
         return stats;
     }
-    
-    private double calculateAverageEnrollment() {
-        List<Course> allCourses = courseRepository.findAll();
-        if (allCourses.isEmpty()) return 0.0;
-        
-        return allCourses.stream()
-                .mapToInt(course -> course.getStudents().size())
-                .average()
-                .orElse(0.0);
-    }
-}
\ No newline at end of file
+}
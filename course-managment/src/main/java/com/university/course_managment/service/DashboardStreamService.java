@@ -0,0 +1,277 @@
+package com.university.course_managment.service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.course_managment.dto.DashboardStats;
+import com.university.course_managment.entity.User;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Live dashboards over server-sent events. Connections are async servlet responses, so an idle client
+// holds no thread. Changes only mark a dashboard dirty; every interval each dirty dashboard is computed
+// once and every subscriber receives the fields that differ from what it was last sent, so a burst of
+// writes becomes at most one push per client per interval.
+// Sends block on the client's connection, so they run on a small bounded pool of their own rather than on
+// the scheduler thread. Each subscriber has at most one send in flight, and later changes coalesce behind
+// it. A subscriber whose send fails, or runs longer than the send timeout, is dropped and its stream
+// completed; the client reconnects and starts again from a snapshot.
+@Service
+public class DashboardStreamService {
+    
+    private static final TypeReference<LinkedHashMap<String, Object>> FIELDS = new TypeReference<>() {};
+    
+    private final DashboardService dashboardService;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final ThreadPoolExecutor sender;
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    public DashboardStreamService(DashboardService dashboardService,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${dashboard.stream.timeout:1800000}") long timeoutMillis,
+                                  @Value("${dashboard.stream.send-timeout:10000}") long sendTimeoutMillis,
+                                  @Value("${dashboard.stream.senders:4}") int senders,
+                                  @Value("${dashboard.stream.send-queue:1000}") int sendQueue) {
+        this.dashboardService = dashboardService;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        AtomicInteger threads = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(senders, senders, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sendQueue), task -> {
+                    Thread thread = new Thread(task, "dashboard-stream-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        meterRegistry.gauge("dashboard.stream.subscribers", this, DashboardStreamService::getSubscriberCount);
+    }
+    
+    @PreDestroy
+    void stopSender() {
+        sender.shutdownNow();
+    }
+    
+    // Opens a stream of the dashboard matching the user's role, starting with a full snapshot
+    public SseEmitter subscribe(User user) {
+        Subscriber subscriber = switch (user.getRole()) {
+            case ADMIN -> new Subscriber(streamKey(DashboardCache.ADMIN, DashboardCache.ADMIN_KEY),
+                    dashboardService::getAdminDashboardStats);
+            case STUDENT -> new Subscriber(streamKey(DashboardCache.STUDENT, user.getId()),
+                    () -> dashboardService.getStudentDashboardStats(user.getId()));
+            case INSTRUCTOR -> new Subscriber(streamKey(DashboardCache.INSTRUCTOR, user.getId()),
+                    () -> dashboardService.getInstructorDashboardStats(user.getId()));
+        };
+        
+        Map<String, Object> snapshot = fields(subscriber.loader.get());
+        subscribers.computeIfAbsent(subscriber.key, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(subscriber));
+        subscriber.emitter.onError(e -> unsubscribe(subscriber));
+        subscriber.push("snapshot", snapshot);
+        return subscriber.emitter;
+    }
+    
+    @EventListener
+    public void onDashboardChanged(DashboardChangedEvent event) {
+        event.getKeys().forEach(key -> {
+            String streamKey = streamKey(event.getCacheName(), key);
+            if (subscribers.containsKey(streamKey)) {
+                dirty.add(streamKey);
+            }
+        });
+    }
+    
+    // Only computes each dirty dashboard and queues the pushes; the sends happen on the sender pool
+    @Scheduled(fixedDelayString = "${dashboard.stream.interval:2000}")
+    public void flush() {
+        for (String key : dirty) {
+            dirty.remove(key);
+            Set<Subscriber> listeners = subscribers.get(key);
+            if (listeners == null || listeners.isEmpty()) {
+                continue;
+            }
+            Map<String, Object> current;
+            try {
+                current = fields(listeners.iterator().next().loader.get());
+            } catch (RuntimeException e) {
+                // e.g. the student profile was deleted; the stream has nothing left to show
+                listeners.forEach(Subscriber::close);
+                continue;
+            }
+            listeners.forEach(subscriber -> subscriber.deliver(current));
+        }
+    }
+    
+    // Lets proxies and clients tell an idle stream from a dead one, and drops clients stuck in a send
+    @Scheduled(fixedRateString = "${dashboard.stream.heartbeat:30000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(listeners -> listeners.forEach(subscriber -> {
+            if (subscriber.isStuck(now)) {
+                subscriber.close();
+            } else {
+                subscriber.deliverPing();
+            }
+        }));
+    }
+    
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+    
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.key, (key, listeners) -> {
+            listeners.remove(subscriber);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+    
+    private Map<String, Object> fields(DashboardStats stats) {
+        return objectMapper.convertValue(stats, FIELDS);
+    }
+    
+    private static String streamKey(String cacheName, Object key) {
+        return cacheName + ":" + key;
+    }
+    
+    private final class Subscriber {
+        private final String key;
+        private final Supplier<DashboardStats> loader;
+        private final SseEmitter emitter = new SseEmitter(timeoutMillis);
+        private Map<String, Object> lastSent = Map.of();
+        // Guarded by pendingLock: the newest fields not yet sent, a queued ping, and whether a drain is queued
+        private final Object pendingLock = new Object();
+        private Map<String, Object> pending;
+        private boolean pingPending;
+        private boolean draining;
+        private volatile long sendStartedAt;
+
+        Subscriber(String key, Supplier<DashboardStats> loader) {
+            this.key = key;
+            this.loader = loader;
+        }
+
+        void deliver(Map<String, Object> current) {
+            synchronized (pendingLock) {
+                pending = current;
+            }
+            schedule();
+        }
+
+        void deliverPing() {
+            synchronized (pendingLock) {
+                pingPending = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            synchronized (pendingLock) {
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // The pool is backed up; shed this client rather than queue without bound
+                close();
+            }
+        }
+
+        // Sends whatever is pending, including anything that arrives while a send is in progress
+        private void drain() {
+            while (true) {
+                Map<String, Object> current;
+                boolean ping;
+                synchronized (pendingLock) {
+                    current = pending;
+                    ping = pingPending;
+                    pending = null;
+                    pingPending = false;
+                    if (current == null && !ping) {
+                        draining = false;
+                        return;
+                    }
+                }
+                if (current != null) {
+                    push("delta", current);
+                } else {
+                    ping();
+                }
+            }
+        }
+
+        boolean isStuck(long now) {
+            long started = sendStartedAt;
+            return started != 0 && now - started > sendTimeoutNanos;
+        }
+
+        // Stops further pushes at once. complete() waits for any send still blocked on the connection,
+        // so it runs on the sender pool; if that is saturated the emitter's own timeout reclaims it.
+        void close() {
+            unsubscribe(this);
+            try {
+                sender.execute(emitter::complete);
+            } catch (RejectedExecutionException e) {
+                // nothing more to do
+            }
+        }
+
+        synchronized void push(String eventName, Map<String, Object> current) {
+            Map<String, Object> changed = new LinkedHashMap<>();
+            current.forEach((field, value) -> {
+                if (!lastSent.containsKey(field) || !Objects.equals(lastSent.get(field), value)) {
+                    changed.put(field, value);
+                }
+            });
+            if (changed.isEmpty()) {
+                return;
+            }
+            if (send(SseEmitter.event().name(eventName).data(changed))) {
+                lastSent = current;
+            }
+        }
+
+        synchronized void ping() {
+            send(SseEmitter.event().comment("keepalive"));
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            sendStartedAt = System.nanoTime();
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return false;
+            } finally {
+                sendStartedAt = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.university.course_managment.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.university.course_managment.dto.EnrollmentStatusDTO;
+import com.university.course_managment.dto.EnrollmentTicketDTO;
+import com.university.course_managment.exception.AdmissionQueueFullException;
+import com.university.course_managment.exception.EnrollmentException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Admission control in front of EnrollmentService: requests wait in a bounded fair queue and a fixed
+// number of workers run them, so the database only ever sees as many enrollments as there are workers
+@Service
+public class EnrollmentAdmissionService {
+
+    private final EnrollmentService enrollmentService;
+    private final BlockingQueue<Ticket> queue;
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong started = new AtomicLong();
+    private final Object submitLock = new Object();
+    private final List<Thread> workers = new ArrayList<>();
+    private final int workerCount;
+    private final Duration ticketTtl;
+    private volatile boolean running = true;
+
+    public EnrollmentAdmissionService(EnrollmentService enrollmentService,
+                                      @Value("${enrollment.admission.workers:8}") int workerCount,
+                                      @Value("${enrollment.admission.queue-capacity:5000}") int queueCapacity,
+                                      @Value("${enrollment.admission.ticket-ttl:10m}") Duration ticketTtl) {
+        this.enrollmentService = enrollmentService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity, true);
+        this.workerCount = workerCount;
+        this.ticketTtl = ticketTtl;
+    }
+
+    @PostConstruct
+    void startWorkers() {
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::drain, "enrollment-admission-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    void stopWorkers() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    public Ticket submit(Long courseId, Long userId) {
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), courseId, userId);
+        // Sequence numbers are only handed out to tickets that made it into the queue, and in queue
+        // order, so a rejected submit can never leave a gap that skews other tickets' positions
+        synchronized (submitLock) {
+            if (!queue.offer(ticket)) {
+                throw new AdmissionQueueFullException("Registration is busy, please retry shortly", 1);
+            }
+            ticket.sequence = admitted.incrementAndGet();
+        }
+        tickets.put(ticket.id, ticket);
+        return ticket;
+    }
+
+    // Tickets are only visible to the user who submitted them
+    public Optional<Ticket> findTicket(String ticketId, Long userId) {
+        return Optional.ofNullable(tickets.get(ticketId))
+                .filter(ticket -> ticket.userId.equals(userId));
+    }
+
+    public EnrollmentTicketDTO toDTO(Ticket ticket) {
+        EnrollmentTicketDTO dto = new EnrollmentTicketDTO();
+        dto.setTicketId(ticket.id);
+        dto.setCourseId(ticket.courseId);
+        dto.setState(ticket.state);
+        if (ticket.state == EnrollmentTicketDTO.State.QUEUED) {
+            dto.setQueuePosition(Math.max(1, ticket.sequence - started.get()));
+        }
+        if (ticket.future.isDone() && !ticket.future.isCompletedExceptionally()) {
+            dto.setResult(ticket.future.join());
+        }
+        if (ticket.error != null) {
+            dto.setError(ticket.error.getMessage());
+            if (ticket.error instanceof EnrollmentException rejection) {
+                dto.setErrorCode(rejection.getReason().name());
+            }
+        }
+        return dto;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Scheduled(fixedDelayString = "${enrollment.admission.cleanup-interval:60000}")
+    public void evictExpiredTickets() {
+        Instant cutoff = Instant.now().minus(ticketTtl);
+        tickets.values().removeIf(ticket -> ticket.completedAt != null && ticket.completedAt.isBefore(cutoff));
+    }
+
+    private void drain() {
+        while (running) {
+            Ticket ticket;
+            try {
+                ticket = queue.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (ticket == null) {
+                continue;
+            }
+
+            started.incrementAndGet();
+            ticket.state = EnrollmentTicketDTO.State.PROCESSING;
+            try {
+                EnrollmentStatusDTO result = enrollmentService.enrollInCourse(ticket.courseId, ticket.userId);
+                ticket.state = EnrollmentTicketDTO.State.COMPLETED;
+                ticket.completedAt = Instant.now();
+                ticket.future.complete(result);
+            } catch (Throwable e) {
+                // Anything the enrollment throws fails just this ticket; the worker keeps draining
+                ticket.state = EnrollmentTicketDTO.State.FAILED;
+                ticket.error = e;
+                ticket.completedAt = Instant.now();
+                ticket.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    public static class Ticket {
+        private final String id;
+        private final Long courseId;
+        private final Long userId;
+        private final CompletableFuture<EnrollmentStatusDTO> future = new CompletableFuture<>();
+        private volatile EnrollmentTicketDTO.State state = EnrollmentTicketDTO.State.QUEUED;
+        private volatile long sequence;
+        private volatile Throwable error;
+        private volatile Instant completedAt;
+
+        Ticket(String id, Long courseId, Long userId) {
+            this.id = id;
+            this.courseId = courseId;
+            this.userId = userId;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public CompletableFuture<EnrollmentStatusDTO> getFuture() {
+            return future;
+        }
+    }
+}
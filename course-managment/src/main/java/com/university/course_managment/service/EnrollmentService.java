@@ -1,14 +1,40 @@
 package com.university.course_managment.service;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.university.course_managment.dto.BulkEnrollmentRequest;
+import com.university.course_managment.dto.BulkEnrollmentResponse;
+import com.university.course_managment.dto.EnrollmentStatusDTO;
 import com.university.course_managment.entity.Course;
-import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.DashboardCounter;
+import com.university.course_managment.entity.Enrollment;
+import com.university.course_managment.entity.WaitlistEntry;
+import com.university.course_managment.exception.EnrollmentException;
 import com.university.course_managment.exception.ResourceNotFoundException;
+import com.university.course_managment.repository.CourseGrade;
 import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.EnrollmentRepository;
 import com.university.course_managment.repository.ResultRepository;
 import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.WaitlistEntryRepository;
 
 @Service
 public class EnrollmentService {
@@ -16,63 +42,343 @@ public class EnrollmentService {
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
     private final ResultRepository resultRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final PrerequisiteGraph prerequisiteGraph;
+    private final GradingSchemeService gradingSchemeService;
+    private final DashboardCounterService counterService;
+    private final DashboardCache dashboardCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
 
     public EnrollmentService(StudentRepository studentRepository, 
                             CourseRepository courseRepository,
-                            ResultRepository resultRepository) {
+                            ResultRepository resultRepository,
+                            EnrollmentRepository enrollmentRepository,
+                            WaitlistEntryRepository waitlistEntryRepository,
+                            PrerequisiteGraph prerequisiteGraph,
+                            GradingSchemeService gradingSchemeService,
+                            DashboardCounterService counterService,
+                            DashboardCache dashboardCache,
+                            JdbcTemplate jdbcTemplate,
+                            @Value("${enrollment.bulk.batch-size:500}") int batchSize) {
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
         this.resultRepository = resultRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.prerequisiteGraph = prerequisiteGraph;
+        this.gradingSchemeService = gradingSchemeService;
+        this.counterService = counterService;
+        this.dashboardCache = dashboardCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
     }
     
     @Transactional
-    public void enrollInCourse(Long courseId, Long userId) {
-        Student student = studentRepository.findByUserId(userId)
+    public EnrollmentStatusDTO enrollInCourse(Long courseId, Long userId) {
+        Long studentId = studentRepository.findIdByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student profile not found for user"));
         
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
-        
-        // Check if already enrolled
-        if (student.getCourses().contains(course)) {
-            throw new RuntimeException("Already enrolled in this course");
+        // Check if already enrolled; a dropped row is reused below
+        Optional<Enrollment> existing = enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId);
+        if (existing.isPresent() && existing.get().getStatus() == Enrollment.Status.ENROLLED) {
+            throw EnrollmentException.of(EnrollmentException.Reason.ALREADY_ENROLLED);
         }
+        checkPrerequisites(studentId, courseId);
         
-        // Check capacity
-        if (course.getStudents().size() >= course.getCapacity()) {
-            throw new RuntimeException("Course is full");
+        // Claim a seat; the conditional update locks the course row, so concurrent claims cannot overbook
+        if (courseRepository.claimSeat(courseId) == 0) {
+            // The course looked full. Lock its row before queueing: a drop that frees a seat holds the same
+            // lock while it promotes from the waitlist, so it either committed first and left its seat
+            // free for the claim below, or it runs after this commits and finds the new entry.
+            if (courseRepository.findByIdForUpdate(courseId).isEmpty()) {
+                throw new ResourceNotFoundException("Course not found");
+            }
+            if (courseRepository.claimSeat(courseId) == 0) {
+                // Course is full: queue the student instead of making them retry
+                return joinWaitlist(courseId, studentId);
+            }
         }
         
-        // Add enrollment
-        student.getCourses().add(course);
-        course.getStudents().add(student);
-        
-        studentRepository.save(student);
-        courseRepository.save(course);
+        addEnrollment(studentId, courseId, existing.isPresent());
+        enrollmentChanged(userId, List.of(courseId));
+        return EnrollmentStatusDTO.enrolled(courseId);
     }
     
     @Transactional
     public void dropCourse(Long courseId, Long userId) {
-        Student student = studentRepository.findByUserId(userId)
+        Long studentId = studentRepository.findIdByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student profile not found for user"));
         
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
-        
-        if (!student.getCourses().contains(course)) {
-            throw new RuntimeException("Not enrolled in this course");
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found");
         }
         
         // Check if student has results for this course
-        if (resultRepository.findByStudentAndCourse(student, course).isPresent()) {
-            throw new RuntimeException("Cannot drop course with existing results");
+        if (resultRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+            throw EnrollmentException.of(EnrollmentException.Reason.HAS_RESULTS);
+        }
+        
+        // Mark the enrollment dropped and give the seat back
+        if (enrollmentRepository.drop(courseId, studentId, LocalDateTime.now()) == 0) {
+            throw EnrollmentException.of(EnrollmentException.Reason.NOT_ENROLLED);
+        }
+        courseRepository.releaseSeat(courseId);
+        counterService.increment(DashboardCounter.Name.ENROLLMENTS, -1);
+        enrollmentChanged(userId, List.of(courseId));
+        
+        // Hand the freed seat to the head of the waitlist in the same transaction
+        promoteFromWaitlist(courseId);
+    }
+    
+    // Enrolls the student in every course of the cart or in none of them. Seats are claimed in ascending
+    // course id order, so overlapping carts lock course rows in the same sequence and cannot deadlock
+    @Transactional
+    public List<EnrollmentStatusDTO> enrollCart(List<Long> courseIds, Long userId) {
+        Long studentId = studentRepository.findIdByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student profile not found for user"));
+        
+        List<EnrollmentStatusDTO> enrolled = new ArrayList<>();
+        for (Long courseId : new TreeSet<>(courseIds)) {
+            Optional<Enrollment> existing = enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId);
+            if (existing.isPresent() && existing.get().getStatus() == Enrollment.Status.ENROLLED) {
+                throw new EnrollmentException(EnrollmentException.Reason.ALREADY_ENROLLED,
+                        "Already enrolled in course " + courseId);
+            }
+            checkPrerequisites(studentId, courseId);
+            
+            // No waitlisting here: a full course fails the whole cart and rolls back the seats claimed so far
+            if (courseRepository.claimSeat(courseId) == 0) {
+                if (!courseRepository.existsById(courseId)) {
+                    throw new ResourceNotFoundException("Course not found with id: " + courseId);
+                }
+                throw new EnrollmentException(EnrollmentException.Reason.COURSE_FULL, "Course " + courseId + " is full");
+            }
+            
+            addEnrollment(studentId, courseId, existing.isPresent());
+            enrolled.add(EnrollmentStatusDTO.enrolled(courseId));
         }
+        enrollmentChanged(userId, courseIds);
+        return enrolled;
+    }
+    
+    // Enrolls every student into every course in one transaction, reporting each pair separately
+    @Transactional
+    public BulkEnrollmentResponse bulkEnroll(BulkEnrollmentRequest request) {
+        BulkEnrollmentResponse response = new BulkEnrollmentResponse();
+        Set<Long> studentIds = new LinkedHashSet<>(request.getStudentIds());
+        Set<Long> enrolledStudents = new HashSet<>();
+        List<Long> changedCourses = new ArrayList<>();
+        Set<Long> knownStudents = new HashSet<>(studentRepository.findExistingIds(studentIds));
+        // Passed courses of every student, read in one query the first time a course has prerequisites
+        Map<Long, Set<Long>> passedCourses = null;
+        
+        // Courses are locked in ascending id order so concurrent bulk runs cannot deadlock
+        for (Long courseId : new TreeSet<>(request.getCourseIds())) {
+            Optional<Course> course = courseRepository.findByIdForUpdate(courseId);
+            if (course.isEmpty()) {
+                studentIds.forEach(studentId -> response.addFailure(studentId, courseId, "Course not found"));
+                continue;
+            }
+            
+            // Capacity and existing enrollments are checked once per course
+            Set<Long> alreadyEnrolled = new HashSet<>(enrollmentRepository.findStudentIdsByCourseIdAndStatus(
+                    courseId, studentIds, Enrollment.Status.ENROLLED));
+            Set<Long> dropped = new HashSet<>(enrollmentRepository.findStudentIdsByCourseIdAndStatus(
+                    courseId, studentIds, Enrollment.Status.DROPPED));
+            int capacity = course.get().getCapacity() != null ? course.get().getCapacity() : 0;
+            int freeSeats = capacity - course.get().getEnrolledCount();
+            
+            boolean hasPrerequisites = prerequisiteGraph.hasPrerequisites(courseId);
+            if (hasPrerequisites && passedCourses == null && !knownStudents.isEmpty()) {
+                passedCourses = passedCourseIds(knownStudents);
+            }
+            
+            List<Long> toEnroll = new ArrayList<>();
+            List<Long> toInsert = new ArrayList<>();
+            for (Long studentId : studentIds) {
+                String missing = hasPrerequisites && knownStudents.contains(studentId)
+                        ? missingPrerequisites(courseId, passedCourses.getOrDefault(studentId, Set.of()))
+                        : null;
+                if (!knownStudents.contains(studentId)) {
+                    response.addFailure(studentId, courseId, "Student not found");
+                } else if (alreadyEnrolled.contains(studentId)) {
+                    response.addFailure(studentId, courseId, "Already enrolled in this course");
+                } else if (missing != null) {
+                    response.addFailure(studentId, courseId, "Prerequisites not met: " + missing);
+                } else if (toEnroll.size() >= freeSeats) {
+                    response.addFailure(studentId, courseId, "Course is full");
+                } else {
+                    toEnroll.add(studentId);
+                    if (!dropped.contains(studentId)) {
+                        toInsert.add(studentId);
+                    }
+                    response.addSuccess(studentId, courseId);
+                }
+            }
+            
+            if (!toEnroll.isEmpty()) {
+                LocalDateTime now = LocalDateTime.now();
+                if (toInsert.size() < toEnroll.size()) {
+                    enrollmentRepository.reactivate(courseId, toEnroll, now);
+                }
+                Timestamp timestamp = Timestamp.valueOf(now);
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO enrollments (student_id, course_id, status, enrolled_at, created_at, updated_at) " +
+                        "VALUES (?, ?, 'ENROLLED', ?, ?, ?)",
+                        toInsert, batchSize, (ps, studentId) -> {
+                            ps.setLong(1, studentId);
+                            ps.setLong(2, courseId);
+                            ps.setTimestamp(3, timestamp);
+                            ps.setTimestamp(4, timestamp);
+                            ps.setTimestamp(5, timestamp);
+                        });
+                courseRepository.claimSeats(courseId, toEnroll.size());
+                counterService.increment(DashboardCounter.Name.ENROLLMENTS, toEnroll.size());
+                waitlistEntryRepository.deleteByCourseIdAndStudentIds(courseId, toEnroll);
+                enrolledStudents.addAll(toEnroll);
+                changedCourses.add(courseId);
+            }
+        }
+        if (!enrolledStudents.isEmpty()) {
+            dashboardCache.evictStudentsAfterCommit(studentRepository.findUserIdsByIds(enrolledStudents));
+            dashboardCache.evictCourseInstructorsAfterCommit(changedCourses);
+        }
+        return response;
+    }
+    
+    // Moves students from the head of the waitlist into free seats; returns how many were enrolled.
+    // The course row is locked first, in the same order as an enrollment that joins the waitlist.
+    @Transactional
+    public int promoteFromWaitlist(Long courseId) {
+        List<Long> promoted = new ArrayList<>();
+        if (courseRepository.findByIdForUpdate(courseId).isEmpty()) {
+            return 0;
+        }
+        List<WaitlistEntry> head;
+        while (!(head = waitlistEntryRepository.findHeadForUpdate(courseId, Limit.of(1))).isEmpty()) {
+            WaitlistEntry entry = head.get(0);
+            Long studentId = entry.getStudent().getId();
+            Optional<Enrollment> existing = enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId);
+            
+            if (existing.isEmpty() || existing.get().getStatus() != Enrollment.Status.ENROLLED) {
+                if (courseRepository.claimSeat(courseId) == 0) {
+                    break;
+                }
+                addEnrollment(studentId, courseId, existing.isPresent());
+                promoted.add(studentId);
+            }
+            waitlistEntryRepository.delete(entry);
+        }
+        if (!promoted.isEmpty()) {
+            dashboardCache.evictStudentsAfterCommit(studentRepository.findUserIdsByIds(promoted));
+            dashboardCache.evictCourseInstructorsAfterCommit(List.of(courseId));
+        }
+        return promoted.size();
+    }
+    
+    public EnrollmentStatusDTO getWaitlistPosition(Long courseId, Long userId) {
+        Long studentId = studentRepository.findIdByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student profile not found for user"));
         
-        // Remove enrollment
-        student.getCourses().remove(course);
-        course.getStudents().remove(student);
+        WaitlistEntry entry = waitlistEntryRepository.findByCourseIdAndStudentId(courseId, studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Not on the waitlist for this course"));
         
-        studentRepository.save(student);
-        courseRepository.save(course);
+        return EnrollmentStatusDTO.waitlisted(courseId, waitlistEntryRepository.getPosition(courseId, entry.getId()));
+    }
+    
+    @Transactional
+    public void leaveWaitlist(Long courseId, Long userId) {
+        Long studentId = studentRepository.findIdByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student profile not found for user"));
+        
+        if (waitlistEntryRepository.deleteByCourseIdAndStudentId(courseId, studentId) == 0) {
+            throw new ResourceNotFoundException("Not on the waitlist for this course");
+        }
+    }
+    
+    public long getWaitlistSize(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found");
+        }
+        return waitlistEntryRepository.countByCourseId(courseId);
+    }
+    
+    // Courses without prerequisites never query results; the others need one query for the passed courses
+    private void checkPrerequisites(Long studentId, Long courseId) {
+        if (!prerequisiteGraph.hasPrerequisites(courseId)) {
+            return;
+        }
+        String missing = missingPrerequisites(courseId,
+                passedCourseIds(List.of(studentId)).getOrDefault(studentId, Set.of()));
+        if (missing != null) {
+            throw new EnrollmentException(EnrollmentException.Reason.PREREQUISITES_NOT_MET,
+                    "Prerequisites not met for course " + courseId + ": " + missing);
+        }
+    }
+    
+    // The courses each student has passed, judged by the grading scheme each result was graded under
+    private Map<Long, Set<Long>> passedCourseIds(Collection<Long> studentIds) {
+        return resultRepository.findCourseGradesByStudentIds(studentIds).stream()
+                .filter(row -> gradingSchemeService.passed(row.gradingSchemeVersion(), row.grade()))
+                .collect(Collectors.groupingBy(CourseGrade::studentId,
+                        Collectors.mapping(CourseGrade::courseId, Collectors.toSet())));
+    }
+    
+    // Codes of the prerequisites still missing, or null when the passed courses cover them all
+    private String missingPrerequisites(Long courseId, Collection<Long> passedCourseIds) {
+        List<Long> missing = prerequisiteGraph.findMissing(courseId, passedCourseIds);
+        if (missing.isEmpty()) {
+            return null;
+        }
+        return courseRepository.findAllById(missing).stream()
+                .map(Course::getCode)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+    
+    // Reactivates a dropped row or inserts a new one; a concurrent duplicate changes nothing or hits
+    // the unique key, and the exception rolls back the seat claimed by the caller
+    private void addEnrollment(Long studentId, Long courseId, boolean hasDroppedRow) {
+        if (hasDroppedRow) {
+            if (enrollmentRepository.reactivate(courseId, List.of(studentId), LocalDateTime.now()) == 0) {
+                throw EnrollmentException.of(EnrollmentException.Reason.ALREADY_ENROLLED);
+            }
+        } else {
+            try {
+                enrollmentRepository.saveAndFlush(new Enrollment(
+                        studentRepository.getReferenceById(studentId),
+                        courseRepository.getReferenceById(courseId),
+                        Enrollment.Status.ENROLLED,
+                        LocalDateTime.now()));
+            } catch (DataIntegrityViolationException e) {
+                throw EnrollmentException.of(EnrollmentException.Reason.ALREADY_ENROLLED);
+            }
+        }
+        counterService.increment(DashboardCounter.Name.ENROLLMENTS, 1);
+    }
+    
+    // The student's dashboard counts their enrollments, the instructors' dashboards the seats taken
+    private void enrollmentChanged(Long userId, Collection<Long> courseIds) {
+        dashboardCache.evictStudentsAfterCommit(List.of(userId));
+        dashboardCache.evictCourseInstructorsAfterCommit(courseIds);
+    }
+    
+    private EnrollmentStatusDTO joinWaitlist(Long courseId, Long studentId) {
+        Optional<WaitlistEntry> existing = waitlistEntryRepository.findByCourseIdAndStudentId(courseId, studentId);
+        WaitlistEntry entry;
+        if (existing.isPresent()) {
+            entry = existing.get();
+        } else {
+            try {
+                entry = waitlistEntryRepository.saveAndFlush(new WaitlistEntry(
+                        courseRepository.getReferenceById(courseId),
+                        studentRepository.getReferenceById(studentId)));
+            } catch (DataIntegrityViolationException e) {
+                throw EnrollmentException.of(EnrollmentException.Reason.ALREADY_WAITLISTED);
+            }
+        }
+        return EnrollmentStatusDTO.waitlisted(courseId, waitlistEntryRepository.getPosition(courseId, entry.getId()));
     }
-}
\ No newline at end of file
+}
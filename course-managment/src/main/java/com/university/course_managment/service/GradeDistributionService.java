@@ -0,0 +1,240 @@
+package com.university.course_managment.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.university.course_managment.dto.GradeDistributionDTO;
+import com.university.course_managment.entity.Result;
+import com.university.course_managment.exception.ResourceNotFoundException;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.CourseScoreBucketRepository;
+import com.university.course_managment.repository.ResultRepository;
+import com.university.course_managment.repository.ScoreRow;
+
+// Total-score distributions per course and term, kept as one-point histogram buckets that every result
+// write adjusts. Statistics are computed from at most 100 merged buckets, whatever the number of
+// results: mean and standard deviation exactly, percentiles to within one point, and letter grade
+// counts under the active grading scheme, exactly as long as its boundaries are whole scores.
+@Service
+public class GradeDistributionService {
+
+    private static final int BUCKETS = 100;
+
+    private final CourseScoreBucketRepository bucketRepository;
+    private final CourseRepository courseRepository;
+    private final ResultRepository resultRepository;
+    private final GradingSchemeService gradingSchemeService;
+
+    public GradeDistributionService(CourseScoreBucketRepository bucketRepository,
+                                    CourseRepository courseRepository,
+                                    ResultRepository resultRepository,
+                                    GradingSchemeService gradingSchemeService) {
+        this.bucketRepository = bucketRepository;
+        this.courseRepository = courseRepository;
+        this.resultRepository = resultRepository;
+        this.gradingSchemeService = gradingSchemeService;
+    }
+
+    // Like AcademicSummaryService, callers pass the result as stored: before a change to take its old
+    // score back, after saving to add the new one
+    @Transactional
+    public void addResult(Result result) {
+        write(result, 1);
+    }
+
+    @Transactional
+    public void removeResult(Result result) {
+        write(result, -1);
+    }
+
+    // Bulk counterpart of addResult
+    @Transactional
+    public void addScoreRows(List<ScoreRow> scoreRows) {
+        replaceScoreRows(List.of(), scoreRows);
+    }
+
+    // Takes back the removed scores and adds the new ones, writing each touched bucket once. Buckets are
+    // written in key order, so concurrent batches lock them in the same order.
+    @Transactional
+    public void replaceScoreRows(List<ScoreRow> removed, List<ScoreRow> added) {
+        Map<BucketKey, long[]> deltas = new TreeMap<>();
+        collect(deltas, removed, -1);
+        collect(deltas, added, 1);
+        LocalDateTime now = LocalDateTime.now();
+        deltas.forEach((key, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                bucketRepository.addDelta(key.courseId, key.year, key.semester, key.bucket,
+                        delta[0], delta[1], delta[2], now);
+            }
+        });
+    }
+
+    // Results that existed before the buckets did are folded in once at startup
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (bucketRepository.count() == 0 && resultRepository.count() > 0) {
+            addScoreRows(resultRepository.findAllScoreRows());
+        }
+    }
+
+    @Transactional
+    public void deleteForCourse(Long courseId) {
+        bucketRepository.deleteByCourseId(courseId);
+    }
+
+    public GradeDistributionDTO getCourseDistribution(Long courseId, Integer year, String semester,
+                                                      int binWidth, List<Double> percentiles) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found");
+        }
+        return getDistribution(List.of(courseId), year, semester, binWidth, percentiles);
+    }
+
+    // Merges the buckets of all given courses, e.g. every course of a department or an instructor.
+    // Without a year or semester all terms are merged as well.
+    public GradeDistributionDTO getDistribution(Collection<Long> courseIds, Integer year, String semester,
+                                                int binWidth, List<Double> percentiles) {
+        if (courseIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one course is required");
+        }
+        if (binWidth < 1 || binWidth > BUCKETS || BUCKETS % binWidth != 0) {
+            throw new IllegalArgumentException("binWidth must divide " + BUCKETS);
+        }
+        for (Double p : percentiles) {
+            if (p == null || p < 0 || p > 100) {
+                throw new IllegalArgumentException("Percentiles must be between 0 and 100");
+            }
+        }
+
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        long sum = 0;
+        long squares = 0;
+        for (Object[] row : bucketRepository.sumByBucket(courseIds, year, semester)) {
+            long bucketCount = ((Number) row[1]).longValue();
+            counts[(Integer) row[0]] = bucketCount;
+            count += bucketCount;
+            sum += ((Number) row[2]).longValue();
+            squares += ((Number) row[3]).longValue();
+        }
+
+        CompiledGradingScheme scheme = gradingSchemeService.current();
+        GradeDistributionDTO dto = new GradeDistributionDTO();
+        dto.setCourseIds(new ArrayList<>(courseIds));
+        dto.setYear(year);
+        dto.setSemester(semester);
+        dto.setCount(count);
+        scheme.grades().forEach(grade -> dto.getGrades().put(grade, 0L));
+        for (int from = 0; from < BUCKETS; from += binWidth) {
+            long binCount = 0;
+            for (int bucket = from; bucket < from + binWidth; bucket++) {
+                binCount += counts[bucket];
+                dto.getGrades().merge(scheme.grade(bucket), counts[bucket], Long::sum);
+            }
+            dto.getHistogram().add(new GradeDistributionDTO.Bin(from, from + binWidth, binCount));
+        }
+        if (count == 0) {
+            return dto;
+        }
+
+        double mean = (double) sum / count;
+        dto.setMean(round(mean / 100));
+        dto.setStandardDeviation(round(Math.sqrt(Math.max(0, (double) squares / count - mean * mean)) / 100));
+        dto.setMedian(percentile(counts, count, 50));
+        for (Double p : percentiles) {
+            String label = p == Math.rint(p) ? String.valueOf(p.longValue()) : p.toString();
+            dto.getPercentiles().put("p" + label, percentile(counts, count, p));
+        }
+        return dto;
+    }
+
+    // Scores are taken to be spread evenly inside their bucket
+    private static double percentile(long[] counts, long count, double p) {
+        double rank = p / 100 * count;
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (counts[bucket] > 0 && seen + counts[bucket] >= rank) {
+                return round(bucket + (rank - seen) / counts[bucket]);
+            }
+            seen += counts[bucket];
+        }
+        return BUCKETS;
+    }
+
+    private static void collect(Map<BucketKey, long[]> deltas, List<ScoreRow> scoreRows, int sign) {
+        for (ScoreRow row : scoreRows) {
+            long hundredths = Math.round(row.totalScore() * 100);
+            long[] delta = deltas.computeIfAbsent(
+                    new BucketKey(row.courseId(), row.year(), row.semester(), bucketOf(hundredths)),
+                    key -> new long[3]);
+            delta[0] += sign;
+            delta[1] += sign * hundredths;
+            delta[2] += sign * hundredths * hundredths;
+        }
+    }
+
+    private void write(Result result, int sign) {
+        if (result.getTotalScore() == null) {
+            return;
+        }
+        long hundredths = Math.round(result.getTotalScore() * 100);
+        bucketRepository.addDelta(result.getCourse().getId(), result.getYear(), result.getSemester(),
+                bucketOf(hundredths), sign, sign * hundredths, sign * hundredths * hundredths, LocalDateTime.now());
+    }
+
+    // A perfect score shares the top bucket
+    private static int bucketOf(long hundredths) {
+        return (int) Math.max(0, Math.min(BUCKETS - 1, hundredths / 100));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static final class BucketKey implements Comparable<BucketKey> {
+        private final Long courseId;
+        private final Integer year;
+        private final String semester;
+        private final int bucket;
+
+        BucketKey(Long courseId, Integer year, String semester, int bucket) {
+            this.courseId = courseId;
+            this.year = year;
+            this.semester = semester;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public int compareTo(BucketKey other) {
+            int order = courseId.compareTo(other.courseId);
+            if (order == 0) order = year.compareTo(other.year);
+            if (order == 0) order = semester.compareTo(other.semester);
+            return order != 0 ? order : Integer.compare(bucket, other.bucket);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BucketKey)) return false;
+            BucketKey other = (BucketKey) o;
+            return bucket == other.bucket && courseId.equals(other.courseId) && year.equals(other.year)
+                    && semester.equals(other.semester);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(courseId, year, semester, bucket);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.university.course_managment.service;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.university.course_managment.dto.CreateGradingSchemeRequest;
+import com.university.course_managment.dto.GradingSchemeDTO;
+import com.university.course_managment.entity.GradeBoundary;
+import com.university.course_managment.entity.GradingScheme;
+import com.university.course_managment.exception.ResourceNotFoundException;
+import com.university.course_managment.repository.GradingSchemeRepository;
+
+import jakarta.annotation.PostConstruct;
+
+// Versioned grading schemes. The active one is kept compiled in memory, so grading a result needs no
+// query; activating another version swaps it once the change has committed.
+@Service
+public class GradingSchemeService {
+
+    private final GradingSchemeRepository schemeRepository;
+    private volatile CompiledGradingScheme active;
+    // Stored schemes never change, so a compiled older version stays valid
+    private final Map<Integer, CompiledGradingScheme> compiledVersions = new ConcurrentHashMap<>();
+
+    public GradingSchemeService(GradingSchemeRepository schemeRepository) {
+        this.schemeRepository = schemeRepository;
+    }
+
+    // Without any scheme the scale results were graded with before schemes existed becomes version 1.
+    // Boundaries stored before schemes carried grade points get the points of that scale.
+    @PostConstruct
+    public synchronized void reload() {
+        fillMissingGradePoints();
+        GradingScheme scheme = schemeRepository.findFirstByActiveTrue().orElse(null);
+        if (scheme == null) {
+            scheme = schemeRepository.findAllByOrderByVersionAsc().stream()
+                    .reduce((first, second) -> second)
+                    .orElseGet(GradingSchemeService::defaultScheme);
+            scheme.setActive(true);
+            scheme = schemeRepository.save(scheme);
+        }
+        active = new CompiledGradingScheme(scheme);
+    }
+
+    public CompiledGradingScheme current() {
+        return active;
+    }
+
+    public CompiledGradingScheme compiled(int version) {
+        CompiledGradingScheme current = active;
+        if (current.getVersion() == version) {
+            return current;
+        }
+        return compiledVersions.computeIfAbsent(version, v -> new CompiledGradingScheme(findScheme(v)));
+    }
+
+    // Points of a grade under the scheme version that gave it; results from before schemes existed
+    // were graded on the scale that became version 1
+    public Integer gradePointTenths(Integer version, String grade) {
+        return compiled(version == null ? 1 : version).gradePointTenths(grade);
+    }
+
+    // A pass is a grade worth points under its scheme, as the academic summaries count completed credits
+    public boolean passed(Integer version, String grade) {
+        Integer points = gradePointTenths(version, grade);
+        return points != null && points > 0;
+    }
+
+    public List<GradingSchemeDTO> getSchemes() {
+        return schemeRepository.findAllByOrderByVersionAsc().stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    public GradingSchemeDTO getScheme(int version) {
+        return mapToDTO(findScheme(version));
+    }
+
+    @Transactional
+    public GradingSchemeDTO createScheme(CreateGradingSchemeRequest request) {
+        if (Math.abs(request.getMidtermWeight() + request.getFinalWeight() - 1) > 1e-9) {
+            throw new IllegalArgumentException("Midterm and final weights must add up to 1");
+        }
+        Set<Double> scores = new HashSet<>();
+        Set<String> grades = new HashSet<>();
+        for (GradingSchemeDTO.Boundary boundary : request.getBoundaries()) {
+            double hundredths = boundary.getMinScore() * 100;
+            if (Math.abs(hundredths - Math.rint(hundredths)) > 1e-6) {
+                throw new IllegalArgumentException("Boundaries can have at most two decimals");
+            }
+            if (!scores.add(boundary.getMinScore()) || !grades.add(boundary.getGrade())) {
+                throw new IllegalArgumentException("Every boundary needs its own score and grade");
+            }
+            if (boundary.getGradePoints() == null) {
+                throw new IllegalArgumentException("Every boundary needs grade points");
+            }
+            // GPA totals are kept in tenths of a point
+            double tenths = boundary.getGradePoints() * 10;
+            if (tenths < 0 || Math.abs(tenths - Math.rint(tenths)) > 1e-6) {
+                throw new IllegalArgumentException("Grade points must be at least 0 with at most one decimal");
+            }
+        }
+        if (!scores.contains(0.0)) {
+            throw new IllegalArgumentException("A boundary at 0 is required so that every score has a grade");
+        }
+
+        GradingScheme scheme = schemeRepository.save(new GradingScheme(
+                schemeRepository.findMaxVersion() + 1, request.getName(),
+                request.getMidtermWeight(), request.getFinalWeight(),
+                request.getBoundaries().stream()
+                        .map(b -> new GradeBoundary(b.getMinScore(), b.getGrade(), b.getGradePoints()))
+                        .collect(Collectors.toList())));
+        if (request.isActivate()) {
+            return activate(scheme.getVersion());
+        }
+        return mapToDTO(scheme);
+    }
+
+    // Existing results keep their grades; a re-grade brings a term onto the new version
+    @Transactional
+    public GradingSchemeDTO activate(int version) {
+        schemeRepository.deactivateAll();
+        GradingScheme scheme = findScheme(version);
+        scheme.setActive(true);
+        TransactionHooks.afterCommit(this::reload);
+        return mapToDTO(scheme);
+    }
+
+    private GradingScheme findScheme(int version) {
+        return schemeRepository.findByVersion(version)
+                .orElseThrow(() -> new ResourceNotFoundException("Grading scheme not found: " + version));
+    }
+
+    private void fillMissingGradePoints() {
+        Map<String, Double> legacyPoints = defaultScheme().getBoundaries().stream()
+                .collect(Collectors.toMap(GradeBoundary::getGrade, GradeBoundary::getGradePoints));
+        for (GradingScheme scheme : schemeRepository.findAllByOrderByVersionAsc()) {
+            boolean filled = false;
+            for (GradeBoundary boundary : scheme.getBoundaries()) {
+                if (boundary.getGradePoints() == null && legacyPoints.containsKey(boundary.getGrade())) {
+                    boundary.setGradePoints(legacyPoints.get(boundary.getGrade()));
+                    filled = true;
+                }
+            }
+            if (filled) {
+                schemeRepository.save(scheme);
+            }
+        }
+    }
+
+    private static GradingScheme defaultScheme() {
+        return new GradingScheme(1, "Default", 0.4, 0.6, List.of(
+                new GradeBoundary(85.0, "A+", 4.0), new GradeBoundary(70.0, "A", 4.0),
+                new GradeBoundary(65.0, "A-", 3.7), new GradeBoundary(60.0, "B+", 3.3),
+                new GradeBoundary(55.0, "B", 3.0), new GradeBoundary(50.0, "B-", 2.7),
+                new GradeBoundary(45.0, "C+", 2.3), new GradeBoundary(40.0, "C", 2.0),
+                new GradeBoundary(35.0, "C-", 1.7), new GradeBoundary(30.0, "D", 1.0),
+                new GradeBoundary(0.0, "F", 0.0)));
+    }
+
+    private GradingSchemeDTO mapToDTO(GradingScheme scheme) {
+        GradingSchemeDTO dto = new GradingSchemeDTO();
+        dto.setVersion(scheme.getVersion());
+        dto.setName(scheme.getName());
+        dto.setMidtermWeight(scheme.getMidtermWeight());
+        dto.setFinalWeight(scheme.getFinalWeight());
+        dto.setActive(scheme.isActive());
+        scheme.getBoundaries().stream()
+                .sorted(Comparator.comparing(GradeBoundary::getMinScore).reversed())
+                .forEach(b -> dto.getBoundaries().add(new GradingSchemeDTO.Boundary(
+                        b.getMinScore(), b.getGrade(), b.getGradePoints())));
+        return dto;
+    }
+}
@@ -0,0 +1,117 @@
+package com.university.course_managment.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.university.course_managment.exception.IdempotencyKeyReuseException;
+
+// Remembers the outcome of mutating requests sent with an Idempotency-Key header so that client retries
+// get the first response back instead of running the operation again. Entries live for a fixed TTL and
+// the map never grows past max-entries; the oldest entries are dropped first.
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final LinkedHashMap<String, Entry> entries;
+
+    public IdempotencyService(@Value("${idempotency.max-entries:10000}") int maxEntries,
+                              @Value("${idempotency.ttl:1h}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyService.this.maxEntries;
+            }
+        };
+    }
+
+    // Runs the action once per (scope, key). The scope keeps keys of different users and operations apart;
+    // the fingerprint describes the request so a key reused for a different request is rejected.
+    // Without a key the action simply runs.
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, String scope, String fingerprint, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+
+        String storeKey = scope + ":" + key;
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            evictExpired();
+            entry = entries.get(storeKey);
+            if (entry == null) {
+                entry = new Entry(fingerprint);
+                entries.put(storeKey, entry);
+                owner = true;
+            }
+        }
+
+        if (!entry.fingerprint.equals(fingerprint)) {
+            throw new IdempotencyKeyReuseException("Idempotency-Key was already used for a different request");
+        }
+
+        if (owner) {
+            try {
+                T result = action.get();
+                entry.result.complete(result);
+                return result;
+            } catch (RuntimeException e) {
+                // Failures are not remembered, so a retry after e.g. a lock timeout runs again
+                synchronized (entries) {
+                    entries.remove(storeKey, entry);
+                }
+                entry.result.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        // A duplicate that arrives while the first request is still running waits for its outcome
+        try {
+            return (T) entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // Entries are kept in insertion order, so expired ones are always at the head
+    private void evictExpired() {
+        Instant cutoff = Instant.now().minus(ttl);
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().createdAt.isBefore(cutoff)) {
+            iterator.remove();
+        }
+    }
+
+    private static class Entry {
+        private final String fingerprint;
+        private final Instant createdAt = Instant.now();
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.university.course_managment.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.university.course_managment.dto.KeysetPage;
+
+// Page sizes and cursors for the paged list endpoints. Pages are keyset pages: the cursor names the last
+// row of the previous page and the next page is read from just after it, so a deep page is the same
+// index range read as the first one, where an offset would have to skip every earlier row.
+@Component
+public class Pagination {
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public Pagination(@Value("${pagination.default-size:50}") int defaultSize,
+                      @Value("${pagination.max-size:200}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    // The default when no size is asked for, and never more than the maximum
+    public int limit(Integer requested) {
+        if (requested == null) {
+            return defaultSize;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    // The sort to page by: the first allowed one when none is asked for
+    public String sort(String requested, String... allowed) {
+        if (requested == null || requested.isEmpty()) {
+            return allowed[0];
+        }
+        for (String sort : allowed) {
+            if (sort.equals(requested)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + requested + " (use one of "
+                + String.join(", ", allowed) + ")");
+    }
+
+    // The sort key to continue after, or null on the first page. A cursor only fits the sort it came from.
+    public String after(String cursor, String sort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        int separator = decoded.indexOf(':');
+        if (separator < 0 || !decoded.substring(0, separator).equals(sort)) {
+            throw new IllegalArgumentException("Cursor does not belong to sort: " + sort);
+        }
+        return decoded.substring(separator + 1);
+    }
+
+    // The id to continue after; 0 (before every id) without a cursor
+    public long afterId(String cursor) {
+        String after = after(cursor, "id");
+        if (after == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(after);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    // Rows are read one past the limit; the extra row only tells that there is a next page. The sort key
+    // must be unique (an id, or a unique column such as an email), so the order is total and stable.
+    public <T> KeysetPage<T> page(List<T> rows, int limit, String sort, Function<T, ?> keyOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        String last = sort + ":" + keyOf.apply(items.get(limit - 1));
+        return new KeysetPage<>(items, Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(last.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,204 @@
+package com.university.course_managment.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.university.course_managment.repository.CoursePrerequisiteRepository;
+
+import jakarta.annotation.PostConstruct;
+
+// In-memory prerequisite graph. Every course that takes part in an edge gets a dense bit index, and for
+// each of them the full transitive set of prerequisites is kept as a BitSet, so an eligibility check is a
+// couple of bitset operations with no recursive queries. Readers use an immutable snapshot; edge changes
+// build a new snapshot that shares every BitSet they did not touch.
+@Service
+public class PrerequisiteGraph {
+
+    private final CoursePrerequisiteRepository prerequisiteRepository;
+    private volatile Snapshot snapshot = new Snapshot();
+
+    public PrerequisiteGraph(CoursePrerequisiteRepository prerequisiteRepository) {
+        this.prerequisiteRepository = prerequisiteRepository;
+    }
+
+    @PostConstruct
+    public synchronized void reload() {
+        Snapshot next = new Snapshot();
+        for (Object[] edge : prerequisiteRepository.findAllEdges()) {
+            next = next.withEdge((Long) edge[0], (Long) edge[1]);
+        }
+        snapshot = next;
+    }
+
+    public boolean hasPrerequisites(Long courseId) {
+        Snapshot current = snapshot;
+        Integer bit = current.index.get(courseId);
+        return bit != null && !current.closure.get(bit).isEmpty();
+    }
+
+    // Prerequisites, direct or transitive, that are not among the passed courses
+    public List<Long> findMissing(Long courseId, Collection<Long> passedCourseIds) {
+        Snapshot current = snapshot;
+        Integer bit = current.index.get(courseId);
+        if (bit == null || current.closure.get(bit).isEmpty()) {
+            return List.of();
+        }
+
+        BitSet missing = (BitSet) current.closure.get(bit).clone();
+        for (Long passed : passedCourseIds) {
+            Integer passedBit = current.index.get(passed);
+            if (passedBit != null) {
+                missing.clear(passedBit);
+            }
+        }
+
+        List<Long> missingIds = new ArrayList<>(missing.cardinality());
+        missing.stream().forEach(b -> missingIds.add(current.ids.get(b)));
+        return missingIds;
+    }
+
+    // True if courseId is the prerequisite itself or already a (transitive) prerequisite of it
+    public boolean wouldCreateCycle(Long courseId, Long prerequisiteId) {
+        if (courseId.equals(prerequisiteId)) {
+            return true;
+        }
+        Snapshot current = snapshot;
+        Integer courseBit = current.index.get(courseId);
+        Integer prerequisiteBit = current.index.get(prerequisiteId);
+        return courseBit != null && prerequisiteBit != null && current.closure.get(prerequisiteBit).get(courseBit);
+    }
+
+    // Graph updates follow the database: inside a transaction they are applied only once it commits
+    public void addEdgeAfterCommit(Long courseId, Long prerequisiteId) {
+        TransactionHooks.afterCommit(() -> addEdge(courseId, prerequisiteId));
+    }
+
+    public void removeEdgeAfterCommit(Long courseId, Long prerequisiteId) {
+        TransactionHooks.afterCommit(() -> removeEdge(courseId, prerequisiteId));
+    }
+
+    public void reloadAfterCommit() {
+        TransactionHooks.afterCommit(this::reload);
+    }
+
+    synchronized void addEdge(Long courseId, Long prerequisiteId) {
+        snapshot = snapshot.withEdge(courseId, prerequisiteId);
+    }
+
+    synchronized void removeEdge(Long courseId, Long prerequisiteId) {
+        snapshot = snapshot.withoutEdge(courseId, prerequisiteId);
+    }
+
+    private static final class Snapshot {
+        private final Map<Long, Integer> index;
+        private final List<Long> ids;
+        private final List<BitSet> direct;
+        private final List<BitSet> closure;
+
+        Snapshot() {
+            this(new HashMap<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        }
+
+        private Snapshot(Map<Long, Integer> index, List<Long> ids, List<BitSet> direct, List<BitSet> closure) {
+            this.index = index;
+            this.ids = ids;
+            this.direct = direct;
+            this.closure = closure;
+        }
+
+        private Snapshot copy() {
+            return new Snapshot(new HashMap<>(index), new ArrayList<>(ids), new ArrayList<>(direct), new ArrayList<>(closure));
+        }
+
+        private int bitOf(Long courseId) {
+            Integer bit = index.get(courseId);
+            if (bit == null) {
+                bit = ids.size();
+                index.put(courseId, bit);
+                ids.add(courseId);
+                direct.add(new BitSet());
+                closure.add(new BitSet());
+            }
+            return bit;
+        }
+
+        // The new prerequisite and everything it requires flow into the course and into every course
+        // that already requires the course
+        Snapshot withEdge(Long courseId, Long prerequisiteId) {
+            Snapshot next = copy();
+            int course = next.bitOf(courseId);
+            int prerequisite = next.bitOf(prerequisiteId);
+            if (next.direct.get(course).get(prerequisite)) {
+                return this;
+            }
+
+            BitSet edges = (BitSet) next.direct.get(course).clone();
+            edges.set(prerequisite);
+            next.direct.set(course, edges);
+
+            BitSet added = (BitSet) next.closure.get(prerequisite).clone();
+            added.set(prerequisite);
+            for (int bit = 0; bit < next.closure.size(); bit++) {
+                BitSet current = next.closure.get(bit);
+                if (bit == course || current.get(course)) {
+                    BitSet missing = (BitSet) added.clone();
+                    missing.andNot(current);
+                    if (!missing.isEmpty()) {
+                        BitSet updated = (BitSet) current.clone();
+                        updated.or(added);
+                        next.closure.set(bit, updated);
+                    }
+                }
+            }
+            return next;
+        }
+
+        // Only the course and the courses that require it can lose prerequisites; their closures are
+        // recomputed from the direct edges while every other closure is reused as is
+        Snapshot withoutEdge(Long courseId, Long prerequisiteId) {
+            Integer course = index.get(courseId);
+            Integer prerequisite = index.get(prerequisiteId);
+            if (course == null || prerequisite == null || !direct.get(course).get(prerequisite)) {
+                return this;
+            }
+
+            Snapshot next = copy();
+            BitSet edges = (BitSet) next.direct.get(course).clone();
+            edges.clear(prerequisite);
+            next.direct.set(course, edges);
+
+            BitSet affected = new BitSet();
+            affected.set(course);
+            for (int bit = 0; bit < closure.size(); bit++) {
+                if (closure.get(bit).get(course)) {
+                    affected.set(bit);
+                }
+            }
+
+            BitSet done = new BitSet();
+            affected.stream().forEach(bit -> next.recompute(bit, affected, done, new BitSet()));
+            return next;
+        }
+
+        private BitSet recompute(int bit, BitSet affected, BitSet done, BitSet visiting) {
+            if (!affected.get(bit) || done.get(bit) || visiting.get(bit)) {
+                return closure.get(bit);
+            }
+            visiting.set(bit);
+            BitSet result = new BitSet();
+            direct.get(bit).stream().forEach(prerequisite -> {
+                result.set(prerequisite);
+                result.or(recompute(prerequisite, affected, done, visiting));
+            });
+            closure.set(bit, result);
+            done.set(bit);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.university.course_managment.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.university.course_managment.dto.RankDTO;
+import com.university.course_managment.exception.ResourceNotFoundException;
+import com.university.course_managment.repository.RankRow;
+import com.university.course_managment.repository.ResultRepository;
+import com.university.course_managment.repository.StudentRepository;
+
+// Class ranks kept in memory as order-statistic trees (RankTree): one per course and term over the
+// results' total scores, and one per department cohort (department and year of study) over each
+// student's mean total score. A changed result moves one entry in each of two trees and a rank is read
+// from a tree without a query, both in O(log n). The trees are built from a single streamed query once
+// the application is up.
+@Service
+public class RankService {
+
+    // A result's new total for one course and term; a null total means the result is gone
+    public record ScoreChange(Long studentId, Long courseId, Integer year, String semester, Double total) {}
+
+    private final ResultRepository resultRepository;
+    private final StudentRepository studentRepository;
+    private final Map<CourseKey, RankTree> courses = new ConcurrentHashMap<>();
+    private final Map<CohortKey, RankTree> cohorts = new ConcurrentHashMap<>();
+    private final Map<Long, StudentScores> students = new ConcurrentHashMap<>();
+
+    public RankService(ResultRepository resultRepository, StudentRepository studentRepository) {
+        this.resultRepository = resultRepository;
+        this.studentRepository = studentRepository;
+    }
+
+    // Results committed while the trees are being built can be missed until the next restart
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        courses.clear();
+        cohorts.clear();
+        students.clear();
+        try (Stream<RankRow> rows = resultRepository.streamRankRows()) {
+            rows.forEach(row -> {
+                students.computeIfAbsent(row.studentId(),
+                        id -> new StudentScores(new CohortKey(row.department(), row.studentYear())));
+                apply(row.studentId(), new CourseKey(row.courseId(), row.year(), row.semester()), row.totalScore());
+            });
+        }
+        new ArrayList<>(students.keySet()).forEach(studentId -> placeInCohort(studentId, students.get(studentId)));
+    }
+
+    // Rank updates follow the database: inside a transaction they are applied only once it commits.
+    // A null total removes the student's result for that course and term.
+    public void scoreChangedAfterCommit(Long studentId, Long courseId, Integer year, String semester, Double total) {
+        scoresChangedAfterCommit(List.of(new ScoreChange(studentId, courseId, year, semester, total)));
+    }
+
+    // Changes are applied in order
+    public void scoresChangedAfterCommit(List<ScoreChange> changes) {
+        if (!changes.isEmpty()) {
+            TransactionHooks.afterCommit(() -> applyScores(changes));
+        }
+    }
+
+    public void studentMovedAfterCommit(Long studentId, String department, Integer year) {
+        TransactionHooks.afterCommit(() -> moveStudent(studentId, new CohortKey(department, year)));
+    }
+
+    public RankDTO getCourseRank(Long studentId, Long courseId, Integer year, String semester) {
+        RankTree tree = courses.get(new CourseKey(courseId, year, semester));
+        RankTree.Standing standing = tree == null ? null : tree.standingOf(studentId);
+        if (standing == null) {
+            throw new ResourceNotFoundException("No result for this student in course " + courseId + " for "
+                    + semester + " " + year);
+        }
+        RankDTO rank = toDTO(studentId, standing);
+        rank.setCourseId(courseId);
+        rank.setYear(year);
+        rank.setSemester(semester);
+        return rank;
+    }
+
+    public RankDTO getCohortRank(Long studentId) {
+        StudentScores scores = students.get(studentId);
+        CohortKey cohort = scores == null ? null : scores.cohort;
+        RankTree tree = cohort == null ? null : cohorts.get(cohort);
+        RankTree.Standing standing = tree == null ? null : tree.standingOf(studentId);
+        if (standing == null) {
+            throw new ResourceNotFoundException("No results for this student");
+        }
+        RankDTO rank = toDTO(studentId, standing);
+        rank.setDepartment(cohort.department);
+        rank.setCohortYear(cohort.year);
+        return rank;
+    }
+
+    synchronized void applyScores(List<ScoreChange> changes) {
+        // Students seen for the first time bring their cohort along in one query
+        List<Long> unknown = new ArrayList<>();
+        for (ScoreChange change : changes) {
+            if (change.total() != null && !students.containsKey(change.studentId())) {
+                unknown.add(change.studentId());
+            }
+        }
+        if (!unknown.isEmpty()) {
+            for (Object[] student : studentRepository.findCohortsByIds(unknown)) {
+                students.putIfAbsent((Long) student[0], new StudentScores(new CohortKey((String) student[1], (Integer) student[2])));
+            }
+        }
+
+        Set<Long> touched = new LinkedHashSet<>();
+        for (ScoreChange change : changes) {
+            apply(change.studentId(), new CourseKey(change.courseId(), change.year(), change.semester()), change.total());
+            touched.add(change.studentId());
+        }
+        for (Long studentId : touched) {
+            StudentScores scores = students.get(studentId);
+            if (scores != null) {
+                placeInCohort(studentId, scores);
+            }
+        }
+    }
+
+    synchronized void moveStudent(Long studentId, CohortKey cohort) {
+        StudentScores scores = students.get(studentId);
+        if (scores == null || scores.cohort.equals(cohort)) {
+            return;
+        }
+        removeFromCohort(studentId, scores.cohort);
+        scores.cohort = cohort;
+        placeInCohort(studentId, scores);
+    }
+
+    private void apply(Long studentId, CourseKey key, Double total) {
+        Double previous;
+        if (total != null) {
+            previous = courses.computeIfAbsent(key, k -> new RankTree()).put(studentId, total);
+        } else {
+            RankTree tree = courses.get(key);
+            previous = tree == null ? null : tree.remove(studentId);
+            if (tree != null && tree.size() == 0) {
+                courses.remove(key);
+            }
+        }
+
+        StudentScores scores = students.get(studentId);
+        if (scores == null) {
+            return;
+        }
+        if (previous != null) {
+            scores.sum -= Math.round(previous * 100);
+            scores.count--;
+        }
+        if (total != null) {
+            scores.sum += Math.round(total * 100);
+            scores.count++;
+        }
+    }
+
+    // Means are kept from sums in hundredths, so adding and taking back a score leaves no rounding drift
+    private void placeInCohort(Long studentId, StudentScores scores) {
+        if (scores.count == 0) {
+            removeFromCohort(studentId, scores.cohort);
+            students.remove(studentId);
+            return;
+        }
+        cohorts.computeIfAbsent(scores.cohort, k -> new RankTree())
+                .put(studentId, Math.round((double) scores.sum / scores.count) / 100.0);
+    }
+
+    private void removeFromCohort(Long studentId, CohortKey cohort) {
+        RankTree tree = cohorts.get(cohort);
+        if (tree != null) {
+            tree.remove(studentId);
+            if (tree.size() == 0) {
+                cohorts.remove(cohort);
+            }
+        }
+    }
+
+    private static RankDTO toDTO(Long studentId, RankTree.Standing standing) {
+        RankDTO rank = new RankDTO();
+        rank.setStudentId(studentId);
+        rank.setScore(standing.getScore());
+        rank.setRank(standing.getRank());
+        rank.setOutOf(standing.getSize());
+        rank.setPercentile(standing.getPercentile());
+        return rank;
+    }
+
+    // Changed only under the service lock; readers only follow the cohort
+    private static final class StudentScores {
+        private volatile CohortKey cohort;
+        private long sum;
+        private int count;
+
+        StudentScores(CohortKey cohort) {
+            this.cohort = cohort;
+        }
+    }
+
+    private static final class CourseKey {
+        private final Long courseId;
+        private final Integer year;
+        private final String semester;
+
+        CourseKey(Long courseId, Integer year, String semester) {
+            this.courseId = courseId;
+            this.year = year;
+            this.semester = semester;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CourseKey)) return false;
+            CourseKey other = (CourseKey) o;
+            return courseId.equals(other.courseId) && year.equals(other.year) && semester.equals(other.semester);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(courseId, year, semester);
+        }
+    }
+
+    static final class CohortKey {
+        private final String department;
+        private final Integer year;
+
+        CohortKey(String department, Integer year) {
+            this.department = department;
+            this.year = year;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CohortKey)) return false;
+            CohortKey other = (CohortKey) o;
+            return Objects.equals(department, other.department) && Objects.equals(year, other.year);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(department, year);
+        }
+    }
+}
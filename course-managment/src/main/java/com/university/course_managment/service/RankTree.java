@@ -0,0 +1,197 @@
+package com.university.course_managment.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// The scores of one ranking group as a treap: a search tree kept balanced by random heap priorities,
+// ordered best score first, where every node knows the size of its subtree. Counting the scores above
+// a given one, and so a rank, walks a single path, as do inserts and removals: O(log n) expected.
+// Each member (a student) holds at most one score.
+final class RankTree {
+
+    private static final class Node {
+        private final double score;
+        private final long member;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        Node(double score, long member) {
+            this.score = score;
+            this.member = member;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    // Where a member stands: rank 1 is the best score, equal scores share a rank
+    static final class Standing {
+        private final double score;
+        private final int rank;
+        private final int size;
+        private final double percentile;
+
+        Standing(double score, int rank, int size, double percentile) {
+            this.score = score;
+            this.rank = rank;
+            this.size = size;
+            this.percentile = percentile;
+        }
+
+        double getScore() {
+            return score;
+        }
+
+        int getRank() {
+            return rank;
+        }
+
+        int getSize() {
+            return size;
+        }
+
+        double getPercentile() {
+            return percentile;
+        }
+    }
+
+    private final Map<Long, Double> scores = new HashMap<>();
+    private Node root;
+
+    // Returns the member's previous score, or null if it had none
+    synchronized Double put(long member, double score) {
+        Double previous = scores.put(member, score);
+        if (previous != null) {
+            if (previous == score) {
+                return previous;
+            }
+            root = delete(root, previous, member);
+        }
+        root = insert(root, new Node(score, member));
+        return previous;
+    }
+
+    synchronized Double remove(long member) {
+        Double previous = scores.remove(member);
+        if (previous != null) {
+            root = delete(root, previous, member);
+        }
+        return previous;
+    }
+
+    synchronized int size() {
+        return size(root);
+    }
+
+    // Percentile rank: the share of scores below the member's, counting equal scores half
+    synchronized Standing standingOf(long member) {
+        Double score = scores.get(member);
+        if (score == null) {
+            return null;
+        }
+        int size = size(root);
+        int better = countAbove(score, false);
+        int atLeast = countAbove(score, true);
+        double percentile = (size - atLeast + (atLeast - better) / 2.0) * 100 / size;
+        return new Standing(score, better + 1, size, Math.round(percentile * 100) / 100.0);
+    }
+
+    private int countAbove(double score, boolean inclusive) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.score > score || (inclusive && node.score == score)) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    // Better scores go left; equal scores are ordered by member
+    private static boolean before(double score, long member, Node node) {
+        return score > node.score || (score == node.score && member < node.member);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (before(added.score, added.member, node)) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node delete(Node node, double score, long member) {
+        if (node == null) {
+            return null;
+        }
+        if (node.member == member && node.score == score) {
+            return merge(node.left, node.right);
+        }
+        if (before(score, member, node)) {
+            node.left = delete(node.left, score, member);
+        } else {
+            node.right = delete(node.right, score, member);
+        }
+        update(node);
+        return node;
+    }
+
+    // Joins two trees where every node of the first comes before every node of the second
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            update(first);
+            return first;
+        }
+        second.left = merge(first, second.left);
+        update(second);
+        return second;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        update(node);
+        left.right = node;
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        update(node);
+        right.left = node;
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
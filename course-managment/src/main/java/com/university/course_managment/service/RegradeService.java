@@ -0,0 +1,208 @@
+package com.university.course_managment.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.university.course_managment.dto.RegradeReportDTO;
+import com.university.course_managment.repository.GradeRow;
+import com.university.course_managment.repository.GradingRow;
+import com.university.course_managment.repository.ResultRepository;
+import com.university.course_managment.repository.ScoreRow;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.service.RankService.ScoreChange;
+
+// Re-grades the results of one term with a grading scheme, e.g. after a new scale was activated. The
+// term's results are split into chunks that a few workers process in parallel, each chunk in its own
+// transaction: its rows are read with one query, written back with one JDBC batch, and the summary and
+// histogram deltas are applied once. A failed chunk keeps its old grades; running the job again is safe.
+@Service
+public class RegradeService {
+
+    private static final Logger log = LoggerFactory.getLogger(RegradeService.class);
+
+    private final ResultRepository resultRepository;
+    private final StudentRepository studentRepository;
+    private final GradingSchemeService gradingSchemeService;
+    private final AcademicSummaryService academicSummaryService;
+    private final GradeDistributionService gradeDistributionService;
+    private final RankService rankService;
+    private final DashboardCache dashboardCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int workers;
+    private final int chunkSize;
+
+    public RegradeService(ResultRepository resultRepository,
+                          StudentRepository studentRepository,
+                          GradingSchemeService gradingSchemeService,
+                          AcademicSummaryService academicSummaryService,
+                          GradeDistributionService gradeDistributionService,
+                          RankService rankService,
+                          DashboardCache dashboardCache,
+                          JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${grading.regrade.workers:4}") int workers,
+                          @Value("${grading.regrade.chunk-size:500}") int chunkSize) {
+        this.resultRepository = resultRepository;
+        this.studentRepository = studentRepository;
+        this.gradingSchemeService = gradingSchemeService;
+        this.academicSummaryService = academicSummaryService;
+        this.gradeDistributionService = gradeDistributionService;
+        this.rankService = rankService;
+        this.dashboardCache = dashboardCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+    }
+
+    // Without a version the active scheme is used
+    public RegradeReportDTO regrade(Integer year, String semester, Integer version) {
+        CompiledGradingScheme scheme = version == null
+                ? gradingSchemeService.current()
+                : gradingSchemeService.compiled(version);
+        long started = System.nanoTime();
+
+        List<Long> ids = resultRepository.findIdsByYearAndSemester(year, semester);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + chunkSize)));
+        }
+
+        RegradeReportDTO report = new RegradeReportDTO();
+        report.setYear(year);
+        report.setSemester(semester);
+        report.setSchemeVersion(scheme.getVersion());
+        report.setResults(ids.size());
+        report.setChunks(chunks.size());
+        int poolSize = Math.max(1, Math.min(workers, chunks.size()));
+        report.setWorkers(poolSize);
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize,
+                task -> new Thread(task, "regrade-" + threads.incrementAndGet()));
+        try {
+            List<Future<long[]>> futures = new ArrayList<>(chunks.size());
+            for (List<Long> chunk : chunks) {
+                futures.add(pool.submit(() -> transactionTemplate.execute(status -> regradeChunk(chunk, scheme))));
+            }
+            long updated = 0;
+            long gradesChanged = 0;
+            int failed = 0;
+            for (Future<long[]> future : futures) {
+                try {
+                    long[] counts = future.get();
+                    updated += counts[0];
+                    gradesChanged += counts[1];
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.warn("Re-grade chunk of {} {} failed", year, semester, e.getCause());
+                }
+            }
+            report.setUpdated(updated);
+            report.setGradesChanged(gradesChanged);
+            report.setFailedChunks(failed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Re-grade interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        report.setElapsedMillis(elapsedNanos / 1_000_000);
+        report.setResultsPerSecond(elapsedNanos == 0 ? 0 : Math.round(ids.size() * 1e9 / elapsedNanos * 10) / 10.0);
+        return report;
+    }
+
+    // Returns {rows written, grades changed}. The chunk's rows are locked before they are read, so an
+    // update or delete of one of them waits for the chunk, or the chunk reads the row as it left it;
+    // either way the deltas taken back are those of the row being overwritten.
+    private long[] regradeChunk(List<Long> ids, CompiledGradingScheme scheme) {
+        resultRepository.lockByIds(ids);
+        List<Update> updates = new ArrayList<>();
+        List<GradeRow> removedGrades = new ArrayList<>();
+        List<GradeRow> addedGrades = new ArrayList<>();
+        List<ScoreRow> removedScores = new ArrayList<>();
+        List<ScoreRow> addedScores = new ArrayList<>();
+        List<ScoreChange> rankChanges = new ArrayList<>();
+        Set<Long> students = new HashSet<>();
+        long gradesChanged = 0;
+
+        for (GradingRow row : resultRepository.findGradingRowsByIds(ids)) {
+            if (row.midtermScore() == null || row.finalScore() == null) {
+                continue;
+            }
+            Double oldTotal = row.totalScore();
+            String oldGrade = row.grade();
+            double total = scheme.total(row.midtermScore(), row.finalScore());
+            String grade = scheme.grade(total);
+            boolean totalChanged = oldTotal == null || Double.compare(oldTotal, total) != 0;
+            boolean gradeChanged = !grade.equals(oldGrade);
+            boolean versionChanged = !Objects.equals(row.gradingSchemeVersion(), scheme.getVersion());
+            if (!totalChanged && !gradeChanged && !versionChanged) {
+                continue;
+            }
+
+            updates.add(new Update(row.id(), total, grade));
+            // The same grade can be worth different points under another version
+            if (gradeChanged || versionChanged) {
+                removedGrades.add(new GradeRow(row.studentId(), row.year(), row.semester(), oldGrade, row.credits(),
+                        row.gradingSchemeVersion()));
+                addedGrades.add(new GradeRow(row.studentId(), row.year(), row.semester(), grade, row.credits(),
+                        scheme.getVersion()));
+                students.add(row.studentId());
+            }
+            if (gradeChanged) {
+                gradesChanged++;
+            }
+            if (totalChanged) {
+                if (oldTotal != null) {
+                    removedScores.add(new ScoreRow(row.courseId(), row.year(), row.semester(), oldTotal));
+                }
+                addedScores.add(new ScoreRow(row.courseId(), row.year(), row.semester(), total));
+                rankChanges.add(new ScoreChange(row.studentId(), row.courseId(), row.year(), row.semester(), total));
+            }
+        }
+        if (updates.isEmpty()) {
+            return new long[] {0, 0};
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "UPDATE results SET total_score = ?, grade = ?, grading_scheme_version = ?, updated_at = ? WHERE id = ?",
+                updates, updates.size(), (ps, update) -> {
+                    ps.setDouble(1, update.total());
+                    ps.setString(2, update.grade());
+                    ps.setInt(3, scheme.getVersion());
+                    ps.setTimestamp(4, now);
+                    ps.setLong(5, update.id());
+                });
+        academicSummaryService.replaceGradeRows(removedGrades, addedGrades);
+        gradeDistributionService.replaceScoreRows(removedScores, addedScores);
+        rankService.scoresChangedAfterCommit(rankChanges);
+        if (!students.isEmpty()) {
+            dashboardCache.evictStudentsAfterCommit(studentRepository.findUserIdsByIds(students));
+        }
+        return new long[] {updates.size(), gradesChanged};
+    }
+
+    private record Update(long id, double total, String grade) {}
+}
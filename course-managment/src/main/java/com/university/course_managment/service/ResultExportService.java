@@ -0,0 +1,114 @@
+package com.university.course_managment.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.course_managment.dto.ResultDTO;
+import com.university.course_managment.repository.ResultRepository;
+
+// Full result exports. Rows go from the database cursor to the output one at a time, so neither the
+// result list nor the response body is ever held in memory.
+@Service
+public class ResultExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format of(String name) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + name);
+        }
+    }
+
+    private static final String CSV_HEADER = "id,studentId,studentName,courseId,courseCode,courseTitle," +
+            "midtermScore,finalScore,totalScore,grade,year,semester";
+
+    private final ResultRepository resultRepository;
+    private final ObjectMapper objectMapper;
+
+    public ResultExportService(ResultRepository resultRepository, ObjectMapper objectMapper) {
+        this.resultRepository = resultRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // The output is flushed but not closed; it belongs to the caller
+    @Transactional(readOnly = true)
+    public void export(Format format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (Stream<ResultDTO> results = resultRepository.streamAll()) {
+            results.forEach(result -> {
+                try {
+                    writer.write(format == Format.CSV ? toCsv(result) : toJson(result));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private String toJson(ResultDTO result) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(result);
+    }
+
+    private static String toCsv(ResultDTO r) {
+        return r.getId() + "," + r.getStudentId() + "," + csvText(r.getStudentName()) + "," +
+                r.getCourseId() + "," + csvText(r.getCourseCode()) + "," + csvText(r.getCourseTitle()) + "," +
+                csvValue(r.getMidtermScore()) + "," + csvValue(r.getFinalScore()) + "," +
+                csvValue(r.getTotalScore()) + "," + csvText(r.getGrade()) + "," +
+                csvValue(r.getYear()) + "," + csvText(r.getSemester());
+    }
+
+    private static String csvValue(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static String csvText(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,284 @@
+package com.university.course_managment.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.university.course_managment.dto.ResultImportResponse;
+import com.university.course_managment.entity.DashboardCounter;
+import com.university.course_managment.entity.Enrollment;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.EnrollmentRepository;
+import com.university.course_managment.repository.GradeRow;
+import com.university.course_managment.repository.ResultKey;
+import com.university.course_managment.repository.ResultRepository;
+import com.university.course_managment.repository.ScoreRow;
+import com.university.course_managment.repository.StudentCourse;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.service.RankService.ScoreChange;
+
+// Grade uploads as CSV, one result per line: studentId,courseId,year,semester,midtermScore,finalScore.
+// The input is read line by line and written in chunks, each in its own transaction: students, courses,
+// enrollments and existing results are looked up once per chunk, and the accepted rows are inserted with
+// one JDBC batch and added to the summaries in one pass. Memory use depends on the chunk size and the
+// error cap, not on the upload.
+@Service
+public class ResultImportService {
+
+    private static final int COLUMNS = 6;
+
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ResultRepository resultRepository;
+    private final AcademicSummaryService academicSummaryService;
+    private final GradeDistributionService gradeDistributionService;
+    private final RankService rankService;
+    private final GradingSchemeService gradingSchemeService;
+    private final DashboardCounterService counterService;
+    private final DashboardCache dashboardCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public ResultImportService(StudentRepository studentRepository,
+                               CourseRepository courseRepository,
+                               EnrollmentRepository enrollmentRepository,
+                               ResultRepository resultRepository,
+                               AcademicSummaryService academicSummaryService,
+                               GradeDistributionService gradeDistributionService,
+                               RankService rankService,
+                               GradingSchemeService gradingSchemeService,
+                               DashboardCounterService counterService,
+                               DashboardCache dashboardCache,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${results.import.chunk-size:500}") int chunkSize,
+                               @Value("${results.import.max-errors:1000}") int maxErrors) {
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.resultRepository = resultRepository;
+        this.academicSummaryService = academicSummaryService;
+        this.gradeDistributionService = gradeDistributionService;
+        this.rankService = rankService;
+        this.gradingSchemeService = gradingSchemeService;
+        this.counterService = counterService;
+        this.dashboardCache = dashboardCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    // A chunk that fails as a whole (e.g. a concurrent upload inserted the same result) is rolled back
+    // and reported row by row; chunks committed before it stay imported
+    public ResultImportResponse importCsv(InputStream csv) throws IOException {
+        ResultImportResponse response = new ResultImportResponse(maxErrors);
+        // One scheme for the whole upload, even if another version is activated meanwhile
+        CompiledGradingScheme scheme = gradingSchemeService.current();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            if (line.isBlank() || (lineNumber == 1 && isHeader(line))) {
+                continue;
+            }
+            try {
+                chunk.add(Row.parse(lineNumber, line, scheme));
+            } catch (IllegalArgumentException e) {
+                response.addFailure(lineNumber, e.getMessage());
+                continue;
+            }
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, response);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, response);
+        }
+        return response;
+    }
+
+    private void importChunk(List<Row> chunk, ResultImportResponse response) {
+        String rolledBack = null;
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeChunk(chunk));
+        } catch (DataAccessException e) {
+            rolledBack = "Not imported, the rows around it conflicted with a concurrent change";
+        }
+        int imported = 0;
+        for (Row row : chunk) {
+            if (row.error != null) {
+                response.addFailure(row.line, row.error);
+            } else if (rolledBack != null) {
+                response.addFailure(row.line, rolledBack);
+            } else {
+                imported++;
+            }
+        }
+        response.addImported(imported);
+    }
+
+    private void writeChunk(List<Row> chunk) {
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        chunk.forEach(row -> {
+            row.error = null;
+            studentIds.add(row.studentId);
+            courseIds.add(row.courseId);
+        });
+
+        Set<Long> students = new HashSet<>(studentRepository.findExistingIds(studentIds));
+        Map<Long, Integer> credits = new HashMap<>();
+        courseRepository.findCreditsByIds(courseIds).forEach(c -> credits.put(c.courseId(), c.credits()));
+        Set<StudentCourse> enrolled = new HashSet<>(enrollmentRepository.findPairsByStudentIdsAndCourseIds(
+                studentIds, courseIds, Enrollment.Status.ENROLLED));
+        // Holds the results already stored and, as rows are accepted, the ones of this chunk
+        Set<ResultKey> results = new HashSet<>(resultRepository.findKeysByStudentIdsAndCourseIds(studentIds, courseIds));
+
+        List<Row> accepted = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (!students.contains(row.studentId)) {
+                row.error = "Student not found";
+            } else if (!credits.containsKey(row.courseId)) {
+                row.error = "Course not found";
+            } else if (!enrolled.contains(new StudentCourse(row.studentId, row.courseId))) {
+                row.error = "Student is not enrolled in this course";
+            } else if (!results.add(new ResultKey(row.studentId, row.courseId, row.year, row.semester))) {
+                row.error = "Result already exists for this student in this course for the specified year and semester";
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO results (student_id, course_id, midterm_score, final_score, total_score, grade, " +
+                "year, semester, grading_scheme_version, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                accepted, accepted.size(), (ps, row) -> {
+                    ps.setLong(1, row.studentId);
+                    ps.setLong(2, row.courseId);
+                    ps.setDouble(3, row.midtermScore);
+                    ps.setDouble(4, row.finalScore);
+                    ps.setDouble(5, row.totalScore);
+                    ps.setString(6, row.grade);
+                    ps.setInt(7, row.year);
+                    ps.setString(8, row.semester);
+                    ps.setInt(9, row.schemeVersion);
+                    ps.setTimestamp(10, now);
+                    ps.setTimestamp(11, now);
+                });
+
+        List<GradeRow> gradeRows = new ArrayList<>(accepted.size());
+        List<ScoreRow> scoreRows = new ArrayList<>(accepted.size());
+        List<ScoreChange> rankChanges = new ArrayList<>(accepted.size());
+        Set<Long> gradedStudents = new HashSet<>();
+        for (Row row : accepted) {
+            gradeRows.add(new GradeRow(row.studentId, row.year, row.semester, row.grade, credits.get(row.courseId),
+                    row.schemeVersion));
+            scoreRows.add(new ScoreRow(row.courseId, row.year, row.semester, row.totalScore));
+            rankChanges.add(new ScoreChange(row.studentId, row.courseId, row.year, row.semester, row.totalScore));
+            gradedStudents.add(row.studentId);
+        }
+        academicSummaryService.addGradeRows(gradeRows);
+        gradeDistributionService.addScoreRows(scoreRows);
+        rankService.scoresChangedAfterCommit(rankChanges);
+        counterService.increment(DashboardCounter.Name.RESULTS, accepted.size());
+        dashboardCache.evictStudentsAfterCommit(studentRepository.findUserIdsByIds(gradedStudents));
+    }
+
+    private static boolean isHeader(String line) {
+        String first = line.split(",", 2)[0].trim().replace("\"", "");
+        return !first.isEmpty() && !Character.isDigit(first.charAt(0));
+    }
+
+    // One parsed line; checked against the same limits as CreateResultRequest
+    private static final class Row {
+        private final int line;
+        private final Long studentId;
+        private final Long courseId;
+        private final int year;
+        private final String semester;
+        private final double midtermScore;
+        private final double finalScore;
+        private final double totalScore;
+        private final String grade;
+        private final int schemeVersion;
+        private String error;
+
+        private Row(int line, Long studentId, Long courseId, int year, String semester,
+                    double midtermScore, double finalScore, CompiledGradingScheme scheme) {
+            this.line = line;
+            this.studentId = studentId;
+            this.courseId = courseId;
+            this.year = year;
+            this.semester = semester;
+            this.midtermScore = midtermScore;
+            this.finalScore = finalScore;
+            this.totalScore = scheme.total(midtermScore, finalScore);
+            this.grade = scheme.grade(totalScore);
+            this.schemeVersion = scheme.getVersion();
+        }
+
+        static Row parse(int line, String text, CompiledGradingScheme scheme) {
+            String[] cells = text.split(",", -1);
+            if (cells.length != COLUMNS) {
+                throw new IllegalArgumentException(
+                        "Expected " + COLUMNS + " columns: studentId,courseId,year,semester,midtermScore,finalScore");
+            }
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = cells[i].trim().replace("\"", "");
+            }
+            try {
+                int year = Integer.parseInt(cells[2]);
+                double midterm = Double.parseDouble(cells[4]);
+                double finalScore = Double.parseDouble(cells[5]);
+                if (year < 1 || year > 4) {
+                    throw new IllegalArgumentException("year must be between 1 and 4");
+                }
+                if (cells[3].isEmpty()) {
+                    throw new IllegalArgumentException("semester is required");
+                }
+                if (!isScore(midterm) || !isScore(finalScore)) {
+                    throw new IllegalArgumentException("Scores must be between 0 and 100");
+                }
+                return new Row(line, Long.valueOf(cells[0]), Long.valueOf(cells[1]), year, cells[3], midterm, finalScore,
+                        scheme);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("studentId, courseId, year and scores must be numbers");
+            }
+        }
+
+        private static boolean isScore(double score) {
+            return score >= 0 && score <= 100;
+        }
+    }
+}
@@ -2,22 +2,24 @@ package com.university.course_managment.service;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.university.course_managment.dto.CreateResultRequest;
+import com.university.course_managment.dto.KeysetPage;
 import com.university.course_managment.dto.ResultDTO;
 import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.DashboardCounter;
 import com.university.course_managment.entity.Result;
 import com.university.course_managment.entity.Student;
-import com.university.course_managment.entity.User;
 import com.university.course_managment.exception.ResourceNotFoundException;
 import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.EnrollmentRepository;
 import com.university.course_managment.repository.ResultRepository;
 import com.university.course_managment.repository.StudentRepository;
-import com.university.course_managment.repository.UserRepository;
+import com.university.course_managment.service.RankService.ScoreChange;
 
 @Service
 public class ResultService {
@@ -25,17 +27,38 @@ public class ResultService {
     private final ResultRepository resultRepository;
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
-    private final UserRepository userRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final DashboardCounterService counterService;
+    private final DashboardCache dashboardCache;
+    private final AcademicSummaryService academicSummaryService;
+    private final GradeDistributionService gradeDistributionService;
+    private final GradingSchemeService gradingSchemeService;
+    private final RankService rankService;
+    private final Pagination pagination;
 
     // Constructor injection instead of @RequiredArgsConstructor
     public ResultService(ResultRepository resultRepository,
                         StudentRepository studentRepository,
                         CourseRepository courseRepository,
-                        UserRepository userRepository) {
+                        EnrollmentRepository enrollmentRepository,
+                        DashboardCounterService counterService,
+                        DashboardCache dashboardCache,
+                        AcademicSummaryService academicSummaryService,
+                        GradeDistributionService gradeDistributionService,
+                        GradingSchemeService gradingSchemeService,
+                        RankService rankService,
+                        Pagination pagination) {
         this.resultRepository = resultRepository;
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
-        this.userRepository = userRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.counterService = counterService;
+        this.dashboardCache = dashboardCache;
+        this.academicSummaryService = academicSummaryService;
+        this.gradeDistributionService = gradeDistributionService;
+        this.gradingSchemeService = gradingSchemeService;
+        this.rankService = rankService;
+        this.pagination = pagination;
     }
     
     @Transactional
@@ -47,7 +70,7 @@ public class ResultService {
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
         
         // Check if student is enrolled in the course
-        if (!student.getCourses().contains(course)) {
+        if (!enrollmentRepository.isEnrolled(student.getId(), course.getId())) {
             throw new RuntimeException("Student is not enrolled in this course");
         }
         
@@ -68,70 +91,88 @@ public class ResultService {
                 .semester(request.getSemester())
                 .build();
         
-        // Calculate total and grade
-        double total = (request.getMidtermScore() * 0.4) + (request.getFinalScore() * 0.6);
-        result.setTotalScore(total);
-        result.setGrade(calculateGrade(total));
+        grade(result);
         
         result = resultRepository.save(result);
+        academicSummaryService.addResult(result);
+        gradeDistributionService.addResult(result);
+        rankService.scoreChangedAfterCommit(student.getId(), course.getId(), result.getYear(), result.getSemester(),
+                result.getTotalScore());
+        counterService.increment(DashboardCounter.Name.RESULTS, 1);
+        dashboardCache.evictStudentsAfterCommit(List.of(student.getUser().getId()));
         return mapToDTO(result);
     }
     
+    // List reads are one projection query; the existence check only runs when there is nothing to return
     public List<ResultDTO> getStudentResults(Long studentId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
-        
-        return resultRepository.findByStudent(student).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        List<ResultDTO> results = resultRepository.findDTOsByStudentId(studentId);
+        if (results.isEmpty() && !studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student not found");
+        }
+        return results;
     }
     
     public List<ResultDTO> getCourseResults(Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
-        
-        return resultRepository.findByCourse(course).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        List<ResultDTO> results = resultRepository.findDTOsByCourseId(courseId);
+        if (results.isEmpty() && !courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found");
+        }
+        return results;
     }
     
     @Transactional
     public ResultDTO updateResult(Long resultId, CreateResultRequest request) {
-        Result result = resultRepository.findById(resultId)
+        Result result = resultRepository.findByIdForUpdate(resultId)
                 .orElseThrow(() -> new ResourceNotFoundException("Result not found"));
         
+        // The old grade, score, year and semester are taken back from the summaries, the new ones added below
+        academicSummaryService.removeResult(result);
+        gradeDistributionService.removeResult(result);
+        ScoreChange removedRank = new ScoreChange(result.getStudent().getId(), result.getCourse().getId(),
+                result.getYear(), result.getSemester(), null);
         result.setMidtermScore(request.getMidtermScore());
         result.setFinalScore(request.getFinalScore());
         result.setYear(request.getYear());
         result.setSemester(request.getSemester());
         
-        // Recalculate total and grade
-        double total = (request.getMidtermScore() * 0.4) + (request.getFinalScore() * 0.6);
-        result.setTotalScore(total);
-        result.setGrade(calculateGrade(total));
+        grade(result);
         
         result = resultRepository.save(result);
+        academicSummaryService.addResult(result);
+        gradeDistributionService.addResult(result);
+        rankService.scoresChangedAfterCommit(List.of(removedRank, new ScoreChange(result.getStudent().getId(),
+                result.getCourse().getId(), result.getYear(), result.getSemester(), result.getTotalScore())));
+        dashboardCache.evictStudentsAfterCommit(List.of(result.getStudent().getUser().getId()));
         return mapToDTO(result);
     }
     
-    public List<ResultDTO> getAllResults() {
-        return resultRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    // One page in id order; the total is counted on request
+    public KeysetPage<ResultDTO> getResults(String cursor, Integer size, boolean count) {
+        int limit = pagination.limit(size);
+        KeysetPage<ResultDTO> page = pagination.page(
+                resultRepository.findPage(pagination.afterId(cursor), Limit.of(limit + 1)), limit, "id", ResultDTO::getId);
+        if (count) {
+            page.setTotal(resultRepository.count());
+        }
+        return page;
     }
 
     public ResultDTO getResultById(Long id) {
-        Result result = resultRepository.findById(id)
+        return resultRepository.findDTOById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Result not found with id: " + id));
-        return mapToDTO(result);
     }
 
     @Transactional
     public void deleteResult(Long id) {
-        if (!resultRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Result not found with id: " + id);
-        }
-        resultRepository.deleteById(id);
+        Result result = resultRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Result not found with id: " + id));
+        academicSummaryService.removeResult(result);
+        gradeDistributionService.removeResult(result);
+        rankService.scoreChangedAfterCommit(result.getStudent().getId(), result.getCourse().getId(), result.getYear(),
+                result.getSemester(), null);
+        resultRepository.delete(result);
+        counterService.increment(DashboardCounter.Name.RESULTS, -1);
+        dashboardCache.evictStudentsAfterCommit(List.of(result.getStudent().getUser().getId()));
     }
 
     public List<ResultDTO> getResultsByStudentId(Long studentId) {
@@ -142,31 +183,22 @@ public class ResultService {
         return getCourseResults(courseId);
     }
     
-    public List<ResultDTO> getResultsByInstructor(Long instructorId) {
-        User instructor = userRepository.findById(instructorId)
-                .orElseThrow(() -> new ResourceNotFoundException("Instructor not found"));
-        
-        List<Course> instructorCourses = courseRepository.findByInstructor(instructor);
-        
-        return instructorCourses.stream()
-                .flatMap(course -> resultRepository.findByCourse(course).stream())
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    // One page over every course the instructor teaches, optionally for one year and/or semester
+    public KeysetPage<ResultDTO> getResultsByInstructor(Long instructorId, Integer year, String semester,
+                                                        String cursor, Integer size) {
+        int limit = pagination.limit(size);
+        List<ResultDTO> rows = resultRepository.findInstructorPage(instructorId, year, semester,
+                pagination.afterId(cursor), Limit.of(limit + 1));
+        return pagination.page(rows, limit, "id", ResultDTO::getId);
     }
     
-    // Fixed calculateGrade method
-    private String calculateGrade(double score) {
-        if (score >= 85) return "A+";
-        else if (score >= 70) return "A";
-        else if (score >= 65) return "A-";
-        else if (score >= 60) return "B+";
-        else if (score >= 55) return "B";
-        else if (score >= 50) return "B-";
-        else if (score >= 45) return "C+";
-        else if (score >= 40) return "C";
-        else if (score >= 35) return "C-";
-        else if (score >= 30) return "D";
-        else return "F";
+    // Total and grade come from the active grading scheme
+    private void grade(Result result) {
+        CompiledGradingScheme scheme = gradingSchemeService.current();
+        double total = scheme.total(result.getMidtermScore(), result.getFinalScore());
+        result.setTotalScore(total);
+        result.setGrade(scheme.grade(total));
+        result.setGradingSchemeVersion(scheme.getVersion());
     }
     
     private ResultDTO mapToDTO(Result result) {
@@ -3,21 +3,27 @@ package com.university.course_managment.service;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.university.course_managment.dto.CourseDTO;
+import com.university.course_managment.dto.KeysetPage;
 import com.university.course_managment.dto.StudentDTO;
 import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.DashboardCounter;
+import com.university.course_managment.entity.Enrollment;
 import com.university.course_managment.entity.Student;
 import com.university.course_managment.entity.User;
 import com.university.course_managment.exception.ResourceNotFoundException;
 import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.EnrollmentRepository;
 import com.university.course_managment.repository.ResultRepository;
 import com.university.course_managment.repository.StudentRepository;
 import com.university.course_managment.repository.UserRepository;
+import com.university.course_managment.repository.WaitlistEntryRepository;
 
 @Service
 public class StudentService {
@@ -26,25 +32,69 @@ public class StudentService {
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
     private final ResultRepository resultRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final DashboardCounterService counterService;
+    private final DashboardCache dashboardCache;
+    private final AcademicSummaryService academicSummaryService;
+    private final RankService rankService;
     private final PasswordEncoder passwordEncoder;
+    private final Pagination pagination;
 
     // Constructor injection instead of @RequiredArgsConstructor
     public StudentService(StudentRepository studentRepository,
                          CourseRepository courseRepository,
                          UserRepository userRepository,
                          ResultRepository resultRepository,
-                         PasswordEncoder passwordEncoder) {
+                         EnrollmentRepository enrollmentRepository,
+                         WaitlistEntryRepository waitlistEntryRepository,
+                         DashboardCounterService counterService,
+                         DashboardCache dashboardCache,
+                         AcademicSummaryService academicSummaryService,
+                         RankService rankService,
+                         PasswordEncoder passwordEncoder,
+                         Pagination pagination) {
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
         this.userRepository = userRepository;
         this.resultRepository = resultRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.counterService = counterService;
+        this.dashboardCache = dashboardCache;
+        this.academicSummaryService = academicSummaryService;
+        this.rankService = rankService;
         this.passwordEncoder = passwordEncoder;
+        this.pagination = pagination;
     }
     
-    public List<StudentDTO> getAllStudents() {
-        return studentRepository.findAll().stream()
-                .map(this::mapToDTO)
+    // One page by id (default) or by student number, in one statement; the total is counted on request
+    public KeysetPage<StudentDTO> getStudents(String sort, String cursor, Integer size, boolean count) {
+        String order = pagination.sort(sort, "id", "studentId");
+        int limit = pagination.limit(size);
+        List<Object[]> rows = order.equals("id")
+                ? studentRepository.findPageById(pagination.afterId(cursor), Limit.of(limit + 1))
+                : studentRepository.findPageByStudentId(pagination.after(cursor, order), Limit.of(limit + 1));
+        List<StudentDTO> students = rows.stream()
+                .map(row -> StudentDTO.builder()
+                        .id((Long) row[0])
+                        .studentId((String) row[1])
+                        .firstName((String) row[2])
+                        .lastName((String) row[3])
+                        .email((String) row[4])
+                        .department((String) row[5])
+                        .year((Integer) row[6])
+                        .userId((Long) row[7])
+                        .enrolledCourses(((Number) row[8]).intValue())
+                        .build())
                 .collect(Collectors.toList());
+        KeysetPage<StudentDTO> page = order.equals("id")
+                ? pagination.page(students, limit, order, StudentDTO::getId)
+                : pagination.page(students, limit, order, StudentDTO::getStudentId);
+        if (count) {
+            page.setTotal(studentRepository.count());
+        }
+        return page;
     }
     
     public StudentDTO getStudentById(Long id) {
@@ -97,9 +147,26 @@ public class StudentService {
                 .build();
         
         Student saved = studentRepository.save(student);
+        counterService.increment(DashboardCounter.Name.STUDENTS, 1);
         return mapToDTO(saved);
     }
     
+    // Student users without a profile get a basic one on first access
+    @Transactional
+    public StudentDTO getOrCreateProfile(User user) {
+        Student student = studentRepository.findByUserId(user.getId()).orElse(null);
+        if (student == null) {
+            student = studentRepository.save(Student.builder()
+                    .studentId("STU" + String.format("%05d", user.getId()))
+                    .user(user)
+                    .department("General Studies")
+                    .year(1)
+                    .build());
+            counterService.increment(DashboardCounter.Name.STUDENTS, 1);
+        }
+        return mapToDTO(student);
+    }
+    
     @Transactional
     public StudentDTO updateStudent(Long id, StudentDTO studentDTO) {
         Student student = studentRepository.findById(id)
@@ -125,6 +192,7 @@ public class StudentService {
         }
         
         Student updated = studentRepository.save(student);
+        rankService.studentMovedAfterCommit(updated.getId(), updated.getDepartment(), updated.getYear());
         return mapToDTO(updated);
     }
     
@@ -138,19 +206,27 @@ public class StudentService {
             throw new RuntimeException("Cannot delete student with existing results");
         }
         
-        // Clear course enrollments
-        student.getCourses().clear();
-        studentRepository.save(student);
+        // Release seats and waitlist places, then remove enrollment rows
+        List<Long> enrolledCourses = enrollmentRepository.findCourseIdsByStudentId(id, Enrollment.Status.ENROLLED);
+        int released = courseRepository.releaseSeatsForStudent(id);
+        waitlistEntryRepository.deleteByStudentId(id);
+        enrollmentRepository.deleteByStudentId(id);
+        academicSummaryService.deleteForStudent(id);
         
         // Delete the student
         studentRepository.deleteById(id);
+        counterService.increment(DashboardCounter.Name.ENROLLMENTS, -released);
+        counterService.increment(DashboardCounter.Name.STUDENTS, -1);
+        dashboardCache.evictStudentsAfterCommit(List.of(student.getUser().getId()));
+        dashboardCache.evictCourseInstructorsAfterCommit(enrolledCourses);
     }
     
     public List<CourseDTO> getEnrolledCourses(Long studentId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student not found");
+        }
         
-        return student.getCourses().stream()
+        return enrollmentRepository.findCoursesByStudentId(studentId, Enrollment.Status.ENROLLED).stream()
                 .map(this::mapCourseToDTO)
                 .collect(Collectors.toList());
     }
@@ -187,7 +263,7 @@ public class StudentService {
                 .department(student.getDepartment())
                 .year(student.getYear())
                 .userId(student.getUser().getId())
-                .enrolledCourses(student.getCourses() != null ? student.getCourses().size() : 0)
+                .enrolledCourses((int) enrollmentRepository.countActiveByStudent(student.getId()))
                 .build();
     }
     
@@ -0,0 +1,223 @@
+package com.university.course_managment.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.course_managment.dto.TranscriptReportDTO;
+import com.university.course_managment.repository.ResultRepository;
+import com.university.course_managment.repository.TranscriptRow;
+
+// Term transcripts for every student. One cursor reads the term's results ordered by student and the
+// reading thread cuts them into one transcript per student; a bounded pool renders and writes them.
+// When the pool's queue is full the reader renders the next transcript itself, so only a handful of
+// transcripts are held in memory however large the term is.
+@Service
+public class TranscriptService {
+
+    // Takes one rendered transcript; called from several threads at once
+    private interface Sink {
+        void write(String name, byte[] content) throws IOException;
+    }
+
+    private final ResultRepository resultRepository;
+    private final GradingSchemeService gradingSchemeService;
+    private final ObjectMapper objectMapper;
+    private final Path outputDirectory;
+    private final int workers;
+
+    public TranscriptService(ResultRepository resultRepository,
+                             GradingSchemeService gradingSchemeService,
+                             ObjectMapper objectMapper,
+                             @Value("${results.transcripts.output-dir:${java.io.tmpdir}/transcripts}") String outputDirectory,
+                             @Value("${results.transcripts.workers:4}") int workers) {
+        this.resultRepository = resultRepository;
+        this.gradingSchemeService = gradingSchemeService;
+        this.objectMapper = objectMapper;
+        this.outputDirectory = Paths.get(outputDirectory);
+        this.workers = workers;
+    }
+
+    // One file per student under <output-dir>/<year>-<semester>; files of an earlier run are replaced
+    @Transactional(readOnly = true)
+    public TranscriptReportDTO writeToDirectory(Integer year, String semester) throws IOException {
+        Path directory = outputDirectory.resolve(year + "-" + safeName(semester));
+        Files.createDirectories(directory);
+        TranscriptReportDTO report = generate(year, semester,
+                (name, content) -> Files.write(directory.resolve(name), content));
+        report.setOutput(directory.toString());
+        return report;
+    }
+
+    // One zip entry per student followed by report.json. The zip is finished but the output is not
+    // closed; it belongs to the caller.
+    @Transactional(readOnly = true)
+    public TranscriptReportDTO writeZip(Integer year, String semester, OutputStream output) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(output);
+        TranscriptReportDTO report = generate(year, semester, (name, content) -> {
+            synchronized (zip) {
+                zip.putNextEntry(new ZipEntry(name));
+                zip.write(content);
+                zip.closeEntry();
+            }
+        });
+        zip.putNextEntry(new ZipEntry("report.json"));
+        zip.write(objectMapper.writeValueAsBytes(report));
+        zip.closeEntry();
+        zip.finish();
+        zip.flush();
+        return report;
+    }
+
+    private TranscriptReportDTO generate(Integer year, String semester, Sink sink) {
+        long started = System.nanoTime();
+        long students = 0;
+        long results = 0;
+        AtomicLong failed = new AtomicLong();
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 4),
+                task -> new Thread(task, "transcript-" + threads.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        try (Stream<TranscriptRow> rows = resultRepository.streamTranscriptRows(year, semester)) {
+            Transcript transcript = null;
+            Iterator<TranscriptRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                TranscriptRow row = iterator.next();
+                if (transcript == null || !transcript.studentId.equals(row.studentId())) {
+                    if (transcript != null) {
+                        submit(pool, transcript, sink, failed);
+                    }
+                    transcript = new Transcript(row, year, semester);
+                    students++;
+                }
+                transcript.lines.add(row);
+                transcript.points.add(gradingSchemeService.gradePointTenths(row.gradingSchemeVersion(), row.grade()));
+                results++;
+            }
+            if (transcript != null) {
+                submit(pool, transcript, sink, failed);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                // Keep waiting; every queued transcript is written before the report
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Transcript generation interrupted", e);
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        TranscriptReportDTO report = new TranscriptReportDTO();
+        report.setYear(year);
+        report.setSemester(semester);
+        report.setWorkers(workers);
+        report.setStudents(students);
+        report.setResults(results);
+        report.setFailed(failed.get());
+        report.setElapsedMillis(elapsedNanos / 1_000_000);
+        report.setStudentsPerSecond(elapsedNanos == 0 ? 0 : Math.round(students * 1e9 / elapsedNanos * 10) / 10.0);
+        return report;
+    }
+
+    private static void submit(ThreadPoolExecutor pool, Transcript transcript, Sink sink, AtomicLong failed) {
+        pool.execute(() -> {
+            try {
+                sink.write("transcript-" + safeName(transcript.studentNumber) + ".txt",
+                        transcript.render().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException | RuntimeException e) {
+                failed.incrementAndGet();
+            }
+        });
+    }
+
+    // Keeps request values and student numbers from reaching outside the output directory
+    private static String safeName(String value) {
+        return value.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    // The rows of one student, in course code order
+    private static final class Transcript {
+        private final Long studentId;
+        private final String studentNumber;
+        private final String name;
+        private final String department;
+        private final Integer year;
+        private final String semester;
+        private final List<TranscriptRow> lines = new ArrayList<>();
+        // Grade points of each line in tenths, null for a grade without points
+        private final List<Integer> points = new ArrayList<>();
+
+        Transcript(TranscriptRow row, Integer year, String semester) {
+            this.studentId = row.studentId();
+            this.studentNumber = row.studentNumber();
+            this.name = row.firstName() + " " + row.lastName();
+            this.department = row.department();
+            this.year = year;
+            this.semester = semester;
+        }
+
+        // Term GPA counts the same grades and credits as the academic summary
+        String render() {
+            StringBuilder text = new StringBuilder();
+            text.append("Transcript - ").append(semester).append(", year ").append(year).append('\n');
+            text.append("Student:    ").append(studentNumber).append("  ").append(name).append('\n');
+            text.append("Department: ").append(department).append("\n\n");
+            text.append(String.format(Locale.ROOT, "%-12s %-30s %7s %8s %8s %8s  %s%n",
+                    "Course", "Title", "Credits", "Midterm", "Final", "Total", "Grade"));
+
+            long qualityPoints = 0;
+            int attempted = 0;
+            int earned = 0;
+            for (int i = 0; i < lines.size(); i++) {
+                TranscriptRow line = lines.get(i);
+                String title = line.courseTitle();
+                int credits = line.credits() == null ? 0 : line.credits();
+                String grade = line.grade();
+                text.append(String.format(Locale.ROOT, "%-12s %-30s %7d %8s %8s %8s  %s%n", line.courseCode(),
+                        title.length() > 30 ? title.substring(0, 30) : title, credits,
+                        score(line.midtermScore()), score(line.finalScore()), score(line.totalScore()),
+                        grade == null ? "-" : grade));
+
+                Integer gradePoints = points.get(i);
+                if (gradePoints != null) {
+                    qualityPoints += (long) gradePoints * credits;
+                    attempted += credits;
+                    earned += gradePoints > 0 ? credits : 0;
+                }
+            }
+            text.append('\n').append(String.format(Locale.ROOT, "Credits attempted: %d   Credits earned: %d   Term GPA: %s%n",
+                    attempted, earned, attempted == 0 ? "-" : String.format(Locale.ROOT, "%.2f", qualityPoints / (attempted * 10.0))));
+            return text.toString();
+        }
+
+        private static String score(Double value) {
+            return value == null ? "-" : String.format(Locale.ROOT, "%.2f", value);
+        }
+    }
+}
@@ -4,21 +4,27 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.university.course_managment.dto.CreateUserRequest;
+import com.university.course_managment.dto.KeysetPage;
 import com.university.course_managment.dto.UpdateUserRequest;
 import com.university.course_managment.dto.UserDTO;
 import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.DashboardCounter;
+import com.university.course_managment.entity.Enrollment;
 import com.university.course_managment.entity.Student;
 import com.university.course_managment.entity.User;
 import com.university.course_managment.entity.User.Role;
 import com.university.course_managment.exception.ResourceNotFoundException;
 import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.EnrollmentRepository;
 import com.university.course_managment.repository.StudentRepository;
 import com.university.course_managment.repository.UserRepository;
+import com.university.course_managment.repository.WaitlistEntryRepository;
 
 @Service
 public class UserService {
@@ -26,36 +32,62 @@ public class UserService {
     private final UserRepository userRepository;
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final DashboardCounterService counterService;
+    private final DashboardCache dashboardCache;
+    private final AcademicSummaryService academicSummaryService;
     private final PasswordEncoder passwordEncoder;
+    private final Pagination pagination;
 
     public UserService(UserRepository userRepository, StudentRepository studentRepository,
-                      CourseRepository courseRepository, PasswordEncoder passwordEncoder) {
+                      CourseRepository courseRepository, EnrollmentRepository enrollmentRepository,
+                      WaitlistEntryRepository waitlistEntryRepository,
+                      DashboardCounterService counterService, DashboardCache dashboardCache,
+                      AcademicSummaryService academicSummaryService, PasswordEncoder passwordEncoder,
+                      Pagination pagination) {
         this.userRepository = userRepository;
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.counterService = counterService;
+        this.dashboardCache = dashboardCache;
+        this.academicSummaryService = academicSummaryService;
         this.passwordEncoder = passwordEncoder;
+        this.pagination = pagination;
     }
 
-    public List<UserDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
-    }
-    
-    public List<UserDTO> getUsersByRole(String role) {
-        Role roleEnum = Role.valueOf(role);
-        return userRepository.findAll().stream()
-                .filter(user -> user.getRole() == roleEnum)
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
-    }
-    
-    public List<UserDTO> getUnassignedStudentUsers() {
-        return userRepository.findAll().stream()
-                .filter(user -> user.getRole() == Role.STUDENT)
-                .filter(user -> !studentRepository.existsByUserId(user.getId()))
-                .map(this::mapToDTO)
+    // One page of all users or of one role, by id (default) or by email. Unassigned only applies to
+    // students and keeps those without a student profile.
+    public KeysetPage<UserDTO> getUsers(String role, boolean unassigned, String sort, String cursor, Integer size,
+                                        boolean count) {
+        Role roleFilter = role == null || role.isEmpty() ? null : Role.valueOf(role);
+        boolean unassignedOnly = unassigned && roleFilter == Role.STUDENT;
+        String order = pagination.sort(sort, "id", "email");
+        int limit = pagination.limit(size);
+        List<Object[]> rows = order.equals("id")
+                ? userRepository.findPageById(roleFilter, unassignedOnly, pagination.afterId(cursor), Limit.of(limit + 1))
+                : userRepository.findPageByEmail(roleFilter, unassignedOnly, pagination.after(cursor, order),
+                        Limit.of(limit + 1));
+        List<UserDTO> users = rows.stream()
+                .map(row -> UserDTO.builder()
+                        .id((Long) row[0])
+                        .email((String) row[1])
+                        .firstName((String) row[2])
+                        .lastName((String) row[3])
+                        .role(((Role) row[4]).name())
+                        .enabled((Boolean) row[5])
+                        .hasStudentProfile((Boolean) row[6])
+                        .build())
                 .collect(Collectors.toList());
+        KeysetPage<UserDTO> page = order.equals("id")
+                ? pagination.page(users, limit, order, UserDTO::getId)
+                : pagination.page(users, limit, order, UserDTO::getEmail);
+        if (count) {
+            page.setTotal(userRepository.countFiltered(roleFilter, unassignedOnly));
+        }
+        return page;
     }
 
     public UserDTO getUserById(Long id) {
@@ -80,6 +112,9 @@ public class UserService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        if (savedUser.getRole() == Role.INSTRUCTOR) {
+            counterService.increment(DashboardCounter.Name.INSTRUCTORS, 1);
+        }
         return mapToDTO(savedUser);
     }
 
@@ -98,9 +133,17 @@ public class UserService {
             }
         }
 
+        Role previousRole = user.getRole();
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setRole(Role.valueOf(request.getRole()));
+        if (previousRole != user.getRole()) {
+            if (previousRole == Role.INSTRUCTOR) {
+                counterService.increment(DashboardCounter.Name.INSTRUCTORS, -1);
+            } else if (user.getRole() == Role.INSTRUCTOR) {
+                counterService.increment(DashboardCounter.Name.INSTRUCTORS, 1);
+            }
+        }
         user.setEnabled(request.isEnabled());
 
         User updatedUser = userRepository.save(user);
@@ -127,11 +170,19 @@ public class UserService {
             // Delete student profile first if exists
             Optional<Student> student = studentRepository.findByUserId(id);
             if (student.isPresent()) {
-                // Clear enrollments first
-                student.get().getCourses().clear();
-                studentRepository.save(student.get());
+                // Release seats, waitlist places and enrollments first
+                List<Long> enrolledCourses = enrollmentRepository.findCourseIdsByStudentId(
+                        student.get().getId(), Enrollment.Status.ENROLLED);
+                int released = courseRepository.releaseSeatsForStudent(student.get().getId());
+                waitlistEntryRepository.deleteByStudentId(student.get().getId());
+                enrollmentRepository.deleteByStudentId(student.get().getId());
+                academicSummaryService.deleteForStudent(student.get().getId());
                 // Delete student profile
                 studentRepository.delete(student.get());
+                counterService.increment(DashboardCounter.Name.ENROLLMENTS, -released);
+                counterService.increment(DashboardCounter.Name.STUDENTS, -1);
+                dashboardCache.evictStudentsAfterCommit(List.of(id));
+                dashboardCache.evictCourseInstructorsAfterCommit(enrolledCourses);
             }
         }
         
@@ -142,6 +193,8 @@ public class UserService {
                 course.setInstructor(null);
                 courseRepository.save(course);
             }
+            counterService.increment(DashboardCounter.Name.INSTRUCTORS, -1);
+            dashboardCache.evictInstructorsAfterCommit(List.of(id));
         }
         
         userRepository.deleteById(id);
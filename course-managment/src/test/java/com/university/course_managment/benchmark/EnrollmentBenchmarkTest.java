@@ -0,0 +1,277 @@
+package com.university.course_managment.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.university.course_managment.dto.EnrollmentStatusDTO;
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.exception.EnrollmentException;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.EnrollmentRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+import com.university.course_managment.repository.WaitlistEntryRepository;
+import com.university.course_managment.service.EnrollmentService;
+
+// Registration-window benchmark for the enrollment path. Excluded from the normal build; run with
+//   mvn test -Pbenchmark -Dbenchmark.threads=64 -Dbenchmark.operations=50000
+// The report is logged and written to target/benchmark (enrollment.properties, and enrollment.txt with the
+// table). Pass the properties file of an earlier run as -Dbenchmark.baseline=... to compare against it.
+@Tag("benchmark")
+@SpringBootTest
+class EnrollmentBenchmarkTest {
+
+	private static final Logger log = LoggerFactory.getLogger(EnrollmentBenchmarkTest.class);
+
+	private static final int STUDENTS = Integer.getInteger("benchmark.students", 2000);
+	private static final int COURSES = Integer.getInteger("benchmark.courses", 20);
+	private static final int CAPACITY = Integer.getInteger("benchmark.capacity", 50);
+	private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+	private static final int OPERATIONS = Integer.getInteger("benchmark.operations", 20000);
+	private static final double DROP_RATIO = Double.parseDouble(System.getProperty("benchmark.drop-ratio", "0.3"));
+	private static final long SEED = Long.getLong("benchmark.seed", 42L);
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	@Autowired
+	private WaitlistEntryRepository waitlistEntryRepository;
+
+	@Test
+	void enrollDropMix() throws Exception {
+		String run = Long.toString(System.currentTimeMillis(), 36);
+		List<Long> courseIds = seedCourses(run);
+		List<Long> userIds = seedStudents(run);
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicInteger enrolled = new AtomicInteger();
+		AtomicInteger waitlisted = new AtomicInteger();
+		AtomicInteger dropped = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		AtomicInteger errors = new AtomicInteger();
+		AtomicInteger overbookedSamples = new AtomicInteger();
+
+		// Each worker records its own latencies, so recording never contends
+		long[][] latencies = new long[THREADS][];
+		int perThread = OPERATIONS / THREADS;
+		for (int t = 0; t < THREADS; t++) {
+			int worker = t;
+			latencies[worker] = new long[perThread];
+			executor.submit(() -> {
+				Random random = new Random(SEED + worker);
+				start.await();
+				for (int i = 0; i < perThread; i++) {
+					Long courseId = courseIds.get(random.nextInt(courseIds.size()));
+					Long userId = userIds.get(random.nextInt(userIds.size()));
+					boolean drop = random.nextDouble() < DROP_RATIO;
+					long begin = System.nanoTime();
+					try {
+						if (drop) {
+							enrollmentService.dropCourse(courseId, userId);
+							dropped.incrementAndGet();
+						} else if (enrollmentService.enrollInCourse(courseId, userId).getStatus()
+								== EnrollmentStatusDTO.Status.ENROLLED) {
+							enrolled.incrementAndGet();
+						} else {
+							waitlisted.incrementAndGet();
+						}
+					} catch (EnrollmentException e) {
+						// Business rejections are part of a realistic mix; anything else is an error
+						rejected.incrementAndGet();
+					} catch (RuntimeException e) {
+						errors.incrementAndGet();
+					}
+					latencies[worker][i] = System.nanoTime() - begin;
+				}
+				return null;
+			});
+		}
+
+		// Samples the capacity invariant while the mix is running, not only at the end
+		Thread sampler = new Thread(() -> {
+			while (running.get()) {
+				courseRepository.findAllById(courseIds).stream()
+						.filter(course -> course.getEnrolledCount() > course.getCapacity())
+						.forEach(course -> overbookedSamples.incrementAndGet());
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		}, "benchmark-invariant-sampler");
+
+		long begin = System.nanoTime();
+		sampler.start();
+		start.countDown();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(30, TimeUnit.MINUTES)).isTrue();
+		long elapsedNanos = System.nanoTime() - begin;
+		running.set(false);
+		sampler.join();
+
+		int violations = overbookedSamples.get() + checkFinalInvariants(courseIds);
+
+		long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+		Properties report = new Properties();
+		report.setProperty("students", String.valueOf(STUDENTS));
+		report.setProperty("courses", String.valueOf(COURSES));
+		report.setProperty("capacity", String.valueOf(CAPACITY));
+		report.setProperty("threads", String.valueOf(THREADS));
+		report.setProperty("operations", String.valueOf(all.length));
+		report.setProperty("drop-ratio", String.valueOf(DROP_RATIO));
+		report.setProperty("throughput.ops-per-sec", format(all.length / (elapsedNanos / 1e9)));
+		report.setProperty("latency.p50.ms", format(percentile(all, 0.50) / 1e6));
+		report.setProperty("latency.p99.ms", format(percentile(all, 0.99) / 1e6));
+		report.setProperty("latency.max.ms", format(all[all.length - 1] / 1e6));
+		report.setProperty("result.enrolled", String.valueOf(enrolled.get()));
+		report.setProperty("result.waitlisted", String.valueOf(waitlisted.get()));
+		report.setProperty("result.dropped", String.valueOf(dropped.get()));
+		report.setProperty("result.rejected", String.valueOf(rejected.get()));
+		report.setProperty("result.errors", String.valueOf(errors.get()));
+		report.setProperty("invariant.violations", String.valueOf(violations));
+		logAndStore(report);
+
+		assertThat(violations).isZero();
+		assertThat(errors.get()).isZero();
+	}
+
+	private List<Long> seedCourses(String run) {
+		List<Course> courses = new ArrayList<>();
+		for (int i = 0; i < COURSES; i++) {
+			courses.add(Course.builder()
+					.code("BENCH-" + run + "-" + i)
+					.title("Benchmark " + i)
+					.credits(3)
+					.capacity(CAPACITY)
+					.build());
+		}
+		return courseRepository.saveAll(courses).stream().map(Course::getId).toList();
+	}
+
+	private List<Long> seedStudents(String run) {
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < STUDENTS; i++) {
+			users.add(User.builder()
+					.email("bench-" + run + "-" + i + "@university.edu")
+					.password("secret")
+					.firstName("Bench")
+					.lastName("Student" + i)
+					.role(User.Role.STUDENT)
+					.build());
+		}
+		users = userRepository.saveAll(users);
+
+		List<Student> students = new ArrayList<>();
+		for (int i = 0; i < users.size(); i++) {
+			students.add(Student.builder()
+					.studentId("B" + run + i)
+					.user(users.get(i))
+					.department("CS")
+					.year(1)
+					.build());
+		}
+		studentRepository.saveAll(students);
+		return users.stream().map(User::getId).toList();
+	}
+
+	// Counter within capacity, counter equal to the ENROLLED rows, and no enrolled student still waitlisted
+	private int checkFinalInvariants(List<Long> courseIds) {
+		int violations = 0;
+		for (Course course : courseRepository.findAllById(courseIds)) {
+			long active = enrollmentRepository.countActiveByCourse(course.getId());
+			if (course.getEnrolledCount() > course.getCapacity()) {
+				violations++;
+			}
+			if (course.getEnrolledCount() != active) {
+				violations++;
+			}
+			if (active < course.getCapacity() && waitlistEntryRepository.countByCourseId(course.getId()) > 0) {
+				violations++;
+			}
+		}
+		return violations;
+	}
+
+	private static double percentile(long[] sorted, double p) {
+		return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+	}
+
+	private static String format(double value) {
+		return String.format("%.2f", value);
+	}
+
+	private static void logAndStore(Properties report) throws IOException {
+		Properties baseline = null;
+		String baselinePath = System.getProperty("benchmark.baseline");
+		if (baselinePath != null) {
+			baseline = new Properties();
+			try (InputStream in = Files.newInputStream(Paths.get(baselinePath))) {
+				baseline.load(in);
+			}
+		}
+
+		StringBuilder out = new StringBuilder("\n=== Enrollment benchmark ===\n");
+		for (String key : new TreeSet<>(report.stringPropertyNames())) {
+			out.append(String.format("%-26s %12s", key, report.getProperty(key)));
+			if (baseline != null && baseline.getProperty(key) != null && key.contains(".")) {
+				double before = Double.parseDouble(baseline.getProperty(key));
+				double after = Double.parseDouble(report.getProperty(key));
+				out.append(String.format("   baseline %12s", baseline.getProperty(key)));
+				if (before != 0) {
+					out.append(String.format("  (%+.1f%%)", (after - before) * 100 / before));
+				}
+			}
+			out.append('\n');
+		}
+		log.info("{}", out);
+
+		Path target = Paths.get("target", "benchmark", "enrollment.properties");
+		Files.createDirectories(target.getParent());
+		try (OutputStream os = Files.newOutputStream(target)) {
+			report.store(os, "Enrollment benchmark");
+		}
+		Files.writeString(target.resolveSibling("enrollment.txt"), out);
+	}
+}
@@ -0,0 +1,76 @@
+package com.university.course_managment.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.EnrollmentRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+@SpringBootTest
+class DataInitializerTest {
+
+	@Autowired
+	private CommandLineRunner init;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	@AfterEach
+	void dropJoinTable() {
+		jdbcTemplate.execute("DROP TABLE IF EXISTS student_courses");
+	}
+
+	@Test
+	void startupMigratesJoinTableRowsBeforeRecountingSeats() throws Exception {
+		Course course = courseRepository.save(Course.builder()
+				.code("LEGACY-101").title("Legacy").credits(3).capacity(30).build());
+		jdbcTemplate.execute("CREATE TABLE student_courses (student_id BIGINT NOT NULL, course_id BIGINT NOT NULL, "
+				+ "PRIMARY KEY (student_id, course_id))");
+		for (int i = 0; i < 3; i++) {
+			User user = userRepository.save(User.builder()
+					.email("legacy" + i + "@university.edu")
+					.password("secret")
+					.firstName("Legacy")
+					.lastName("Student" + i)
+					.role(User.Role.STUDENT)
+					.build());
+			Student student = studentRepository.save(Student.builder()
+					.studentId("LEGACY" + i)
+					.user(user)
+					.department("CS")
+					.year(1)
+					.build());
+			jdbcTemplate.update("INSERT INTO student_courses (student_id, course_id) VALUES (?, ?)",
+					student.getId(), course.getId());
+		}
+
+		init.run();
+		init.run();
+
+		assertThat(enrollmentRepository.countActiveByCourse(course.getId())).isEqualTo(3);
+		assertThat(courseRepository.findById(course.getId()).orElseThrow().getEnrolledCount()).isEqualTo(3);
+	}
+}
@@ -0,0 +1,92 @@
+package com.university.course_managment.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+import com.university.course_managment.service.DashboardStreamService;
+import com.university.course_managment.service.EnrollmentService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DashboardStreamTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DashboardStreamService dashboardStreamService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Test
+	void burstOfChangesIsPushedAsOneDelta() throws Exception {
+		User user = userRepository.save(User.builder()
+				.email("stream@university.edu")
+				.password("secret")
+				.firstName("Stream")
+				.lastName("Student")
+				.role(User.Role.STUDENT)
+				.build());
+		studentRepository.save(Student.builder()
+				.studentId("STREAM1")
+				.user(user)
+				.department("CS")
+				.year(1)
+				.build());
+		Course first = courseRepository.save(Course.builder()
+				.code("STREAM-101").title("Streams").credits(3).capacity(10).build());
+		Course second = courseRepository.save(Course.builder()
+				.code("STREAM-102").title("More Streams").credits(3).capacity(10).build());
+
+		MvcResult stream = mockMvc.perform(get("/api/dashboard/stream")
+						.with(authentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()))))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		assertThat(stream.getResponse().getContentAsString())
+				.contains("event:snapshot")
+				.contains("\"enrolledCourses\":0");
+
+		enrollmentService.enrollInCourse(first.getId(), user.getId());
+		enrollmentService.enrollInCourse(second.getId(), user.getId());
+		dashboardStreamService.flush();
+		dashboardStreamService.flush();
+
+		// Pushes are sent on the stream's own pool
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!stream.getResponse().getContentAsString().contains("event:delta")
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		Thread.sleep(200);
+		String events = stream.getResponse().getContentAsString();
+		assertThat(events.split("event:delta", -1)).hasSize(2);
+		assertThat(events.substring(events.indexOf("event:delta")))
+				.contains("{\"enrolledCourses\":2}");
+	}
+}
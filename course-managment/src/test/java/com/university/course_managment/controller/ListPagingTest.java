@@ -0,0 +1,145 @@
+package com.university.course_managment.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+import com.university.course_managment.service.EnrollmentService;
+import com.university.course_managment.service.Pagination;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ListPagingTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private Pagination pagination;
+
+	@Test
+	void listsArePagedByCursorInTheirSortOrder() throws Exception {
+		User admin = userRepository.save(User.builder()
+				.email("paging-admin@university.edu")
+				.password("secret")
+				.firstName("Paging")
+				.lastName("Admin")
+				.role(User.Role.ADMIN)
+				.build());
+		UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities());
+		Course course = courseRepository.save(Course.builder()
+				.code("PAGING-101").title("Paging").credits(3).capacity(10).build());
+		// Inserted out of student number order, so id order and studentId order differ
+		for (String number : List.of("PGS-3", "PGS-1", "PGS-4", "PGS-2", "PGS-5")) {
+			User user = userRepository.save(User.builder()
+					.email(number.toLowerCase() + "@university.edu")
+					.password("secret")
+					.firstName("Paged")
+					.lastName(number)
+					.role(User.Role.STUDENT)
+					.build());
+			studentRepository.save(Student.builder()
+					.studentId(number)
+					.user(user)
+					.department("CS")
+					.year(1)
+					.build());
+			enrollmentService.enrollInCourse(course.getId(), user.getId());
+		}
+		userRepository.save(User.builder()
+				.email("pgs-unassigned@university.edu")
+				.password("secret")
+				.firstName("Paged")
+				.lastName("Unassigned")
+				.role(User.Role.STUDENT)
+				.build());
+
+		List<String> roster = readAll("/api/courses/" + course.getId() + "/students?sort=studentId&size=2", "studentId", auth);
+		assertThat(roster).containsExactly("PGS-1", "PGS-2", "PGS-3", "PGS-4", "PGS-5");
+
+		List<String> byId = readAll("/api/courses/" + course.getId() + "/students?size=3", "studentId", auth);
+		assertThat(byId).containsExactly("PGS-3", "PGS-1", "PGS-4", "PGS-2", "PGS-5");
+
+		List<String> students = readAll("/api/students?sort=studentId&size=2", "studentId", auth);
+		assertThat(students.stream().filter(number -> number.startsWith("PGS-")))
+				.containsExactly("PGS-1", "PGS-2", "PGS-3", "PGS-4", "PGS-5");
+		assertThat(students).isSorted();
+
+		List<String> unassigned = readAll("/api/users?role=STUDENT&unassigned=true&sort=email&size=1", "email", auth);
+		assertThat(unassigned).contains("pgs-unassigned@university.edu").doesNotContain("pgs-1@university.edu");
+
+		// Every page is capped, whether or not the client asks for a size
+		assertThat(pagination.limit(null)).isEqualTo(50);
+		assertThat(pagination.limit(Integer.MAX_VALUE)).isEqualTo(200);
+
+		mockMvc.perform(get("/api/courses/" + course.getId() + "/students?size=2&count=true").with(authentication(auth)))
+				.andExpect(status().isOk())
+				.andExpect(header().string(PageResponses.TOTAL_COUNT, "5"))
+				.andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+				.andExpect(jsonPath("$.length()").value(2));
+
+		// A cursor only continues the sort it was made for
+		MvcResult first = mockMvc.perform(get("/api/students?sort=studentId&size=1").with(authentication(auth)))
+				.andExpect(status().isOk())
+				.andReturn();
+		String cursor = first.getResponse().getHeader(PageResponses.NEXT_CURSOR);
+		mockMvc.perform(get("/api/students?cursor=" + cursor).with(authentication(auth)))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/courses?sort=title").with(authentication(auth)))
+				.andExpect(status().isBadRequest());
+	}
+
+	private List<String> readAll(String url, String field, UsernamePasswordAuthenticationToken auth) throws Exception {
+		List<String> values = new ArrayList<>();
+		String cursor = null;
+		do {
+			MvcResult page = mockMvc.perform(get(cursor == null ? url : url + "&cursor=" + cursor).with(authentication(auth)))
+					.andExpect(status().isOk())
+					.andReturn();
+			for (JsonNode item : objectMapper.readTree(page.getResponse().getContentAsString())) {
+				values.add(item.get(field).asText());
+			}
+			cursor = page.getResponse().getHeader(PageResponses.NEXT_CURSOR);
+		} while (cursor != null);
+		return values;
+	}
+}
@@ -0,0 +1,122 @@
+package com.university.course_managment.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.course_managment.dto.CreateResultRequest;
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.ResultRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+import com.university.course_managment.service.EnrollmentService;
+import com.university.course_managment.service.ResultService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ResultExportTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private ResultRepository resultRepository;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private ResultService resultService;
+
+	@Test
+	void exportStreamsEveryResultAsNdjsonOrCsv() throws Exception {
+		User user = userRepository.save(User.builder()
+				.email("export@university.edu")
+				.password("secret")
+				.firstName("Ada, Jr")
+				.lastName("Export")
+				.role(User.Role.STUDENT)
+				.build());
+		Student student = studentRepository.save(Student.builder()
+				.studentId("EXPORT1")
+				.user(user)
+				.department("CS")
+				.year(1)
+				.build());
+		Course course = courseRepository.save(Course.builder()
+				.code("EXPORT-101").title("Export").credits(3).capacity(10).build());
+		enrollmentService.enrollInCourse(course.getId(), user.getId());
+		for (String semester : List.of("FALL", "SPRING")) {
+			CreateResultRequest request = new CreateResultRequest();
+			request.setStudentId(student.getId());
+			request.setCourseId(course.getId());
+			request.setYear(1);
+			request.setSemester(semester);
+			request.setMidtermScore(80.0);
+			request.setFinalScore(90.0);
+			resultService.createResult(request);
+		}
+		User admin = userRepository.save(User.builder()
+				.email("export-admin@university.edu")
+				.password("secret")
+				.firstName("Export")
+				.lastName("Admin")
+				.role(User.Role.ADMIN)
+				.build());
+		UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities());
+		long total = resultRepository.count();
+
+		String ndjson = mockMvc.perform(get("/api/results/export").with(authentication(auth)))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+				.andReturn().getResponse().getContentAsString();
+		List<String> lines = Arrays.asList(ndjson.split("\n"));
+		assertThat(lines).hasSize((int) total);
+		JsonNode last = objectMapper.readTree(lines.get(lines.size() - 1));
+		assertThat(last.get("studentName").asText()).isEqualTo("Ada, Jr Export");
+		assertThat(last.get("semester").asText()).isEqualTo("SPRING");
+		assertThat(last.get("grade").asText()).isEqualTo("A+");
+
+		String csv = mockMvc.perform(get("/api/results/export").param("format", "csv").with(authentication(auth)))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("text/csv"))
+				.andReturn().getResponse().getContentAsString();
+		List<String> rows = Arrays.asList(csv.split("\n"));
+		assertThat(rows).hasSize((int) total + 1);
+		assertThat(rows.get(0)).startsWith("id,studentId,studentName,");
+		assertThat(rows.get(rows.size() - 1)).contains(",\"Ada, Jr Export\"," + course.getId() + ",EXPORT-101,Export,")
+				.endsWith(",A+,1,SPRING");
+
+		mockMvc.perform(get("/api/results/export").param("format", "xml").with(authentication(auth)))
+				.andExpect(status().isBadRequest());
+	}
+}
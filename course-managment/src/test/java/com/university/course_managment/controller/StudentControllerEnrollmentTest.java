@@ -0,0 +1,177 @@
+package com.university.course_managment.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StudentControllerEnrollmentTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Test
+	void enrollRunsThroughAdmissionQueue() throws Exception {
+		User user = userRepository.save(User.builder()
+				.email("queued@university.edu")
+				.password("secret")
+				.firstName("Queued")
+				.lastName("Student")
+				.role(User.Role.STUDENT)
+				.build());
+		studentRepository.save(Student.builder()
+				.studentId("QUEUED1")
+				.user(user)
+				.department("CS")
+				.year(1)
+				.build());
+		Course course = courseRepository.save(Course.builder()
+				.code("QUEUE-101").title("Queue").credits(3).capacity(10).build());
+
+		MvcResult pending = mockMvc.perform(post("/api/students/enroll/" + course.getId())
+						.with(authentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()))))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(pending))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("ENROLLED"));
+	}
+
+	@Test
+	void waitlistedEnrollmentAnswersWithTicket() throws Exception {
+		User user = userRepository.save(User.builder()
+				.email("waitlisted@university.edu")
+				.password("secret")
+				.firstName("Waitlisted")
+				.lastName("Student")
+				.role(User.Role.STUDENT)
+				.build());
+		studentRepository.save(Student.builder()
+				.studentId("WAITLIST1")
+				.user(user)
+				.department("CS")
+				.year(1)
+				.build());
+		Course course = courseRepository.save(Course.builder()
+				.code("FULL-101").title("Full").credits(3).capacity(0).build());
+
+		MvcResult pending = mockMvc.perform(post("/api/students/enroll/" + course.getId())
+						.with(authentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()))))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(pending))
+				.andExpect(status().isAccepted())
+				.andExpect(header().exists("Location"))
+				.andExpect(jsonPath("$.state").value("COMPLETED"))
+				.andExpect(jsonPath("$.result.status").value("WAITLISTED"));
+	}
+
+	@Test
+	void retryWithIdempotencyKeyReplaysFirstResponse() throws Exception {
+		User user = userRepository.save(User.builder()
+				.email("retry@university.edu")
+				.password("secret")
+				.firstName("Retry")
+				.lastName("Student")
+				.role(User.Role.STUDENT)
+				.build());
+		studentRepository.save(Student.builder()
+				.studentId("RETRY1")
+				.user(user)
+				.department("CS")
+				.year(1)
+				.build());
+		Course course = courseRepository.save(Course.builder()
+				.code("RETRY-101").title("Retry").credits(3).capacity(10).build());
+
+		// Without the key the second attempt would fail with "Already enrolled"
+		for (int attempt = 0; attempt < 2; attempt++) {
+			MvcResult pending = mockMvc.perform(post("/api/students/enroll/" + course.getId())
+							.header("Idempotency-Key", "retry-key-1")
+							.with(authentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()))))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+
+			mockMvc.perform(asyncDispatch(pending))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.status").value("ENROLLED"));
+		}
+		assertThat(courseRepository.findById(course.getId()).orElseThrow().getEnrolledCount()).isEqualTo(1);
+
+		mockMvc.perform(post("/api/students/enroll/" + (course.getId() + 1000))
+						.header("Idempotency-Key", "retry-key-1")
+						.with(authentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()))))
+				.andExpect(status().isUnprocessableEntity());
+	}
+
+	@Test
+	void enrollmentRejectionsAreTypedClientErrors() throws Exception {
+		User user = userRepository.save(User.builder()
+				.email("rejected@university.edu")
+				.password("secret")
+				.firstName("Rejected")
+				.lastName("Student")
+				.role(User.Role.STUDENT)
+				.build());
+		studentRepository.save(Student.builder()
+				.studentId("REJECT1")
+				.user(user)
+				.department("CS")
+				.year(1)
+				.build());
+		Course course = courseRepository.save(Course.builder()
+				.code("REJECT-101").title("Reject").credits(3).capacity(10).build());
+		UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+
+		mockMvc.perform(delete("/api/students/drop/" + course.getId()).with(authentication(auth)))
+				.andExpect(status().isUnprocessableEntity())
+				.andExpect(jsonPath("$.code").value("NOT_ENROLLED"));
+
+		for (int attempt = 0; attempt < 2; attempt++) {
+			MvcResult pending = mockMvc.perform(post("/api/students/enroll/" + course.getId()).with(authentication(auth)))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+			if (attempt == 0) {
+				mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk());
+			} else {
+				mockMvc.perform(asyncDispatch(pending))
+						.andExpect(status().isConflict())
+						.andExpect(jsonPath("$.code").value("ALREADY_ENROLLED"))
+						.andExpect(jsonPath("$.error").value("Already enrolled in this course"));
+			}
+		}
+	}
+}
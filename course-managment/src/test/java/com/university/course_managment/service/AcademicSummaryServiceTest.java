@@ -0,0 +1,109 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.university.course_managment.dto.AcademicSummaryDTO;
+import com.university.course_managment.dto.CreateCourseRequest;
+import com.university.course_managment.dto.CreateResultRequest;
+import com.university.course_managment.dto.ResultDTO;
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+@SpringBootTest
+class AcademicSummaryServiceTest {
+
+	@Autowired
+	private AcademicSummaryService academicSummaryService;
+
+	@Autowired
+	private ResultService resultService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Test
+	void resultChangesApplyDeltasToOverallAndTermTotals() {
+		User user = userRepository.save(User.builder()
+				.email("gpa@university.edu")
+				.password("secret")
+				.firstName("Grade")
+				.lastName("Student")
+				.role(User.Role.STUDENT)
+				.build());
+		Student student = studentRepository.save(Student.builder()
+				.studentId("GPA1")
+				.user(user)
+				.department("CS")
+				.year(1)
+				.build());
+		Course four = courseRepository.save(Course.builder().code("GPA-401").title("Four").credits(4).capacity(10).build());
+		Course two = courseRepository.save(Course.builder().code("GPA-201").title("Two").credits(2).capacity(10).build());
+		enrollmentService.enrollInCourse(four.getId(), user.getId());
+		enrollmentService.enrollInCourse(two.getId(), user.getId());
+
+		// A (4.0) over 4 credits in the fall, F over 2 credits in the spring
+		ResultDTO fall = resultService.createResult(request(student.getId(), four.getId(), 80.0, "FALL"));
+		ResultDTO spring = resultService.createResult(request(student.getId(), two.getId(), 20.0, "SPRING"));
+		AcademicSummaryDTO summary = academicSummaryService.getSummary(student.getId());
+		assertThat(summary.getGpa()).isEqualTo(2.67);
+		assertThat(summary.getGradedCredits()).isEqualTo(6);
+		assertThat(summary.getCompletedCredits()).isEqualTo(4);
+		assertThat(summary.getCompletedCourses()).isEqualTo(2);
+		assertThat(summary.getTerms()).extracting(AcademicSummaryDTO.Term::getSemester).containsExactly("FALL", "SPRING");
+		assertThat(summary.getTerms()).extracting(AcademicSummaryDTO.Term::getGpa).containsExactly(4.0, 0.0);
+
+		// Regrading the spring result to B (3.0) and moving it to the fall takes the old contribution back
+		resultService.updateResult(spring.getId(), request(student.getId(), two.getId(), 55.0, "FALL"));
+		summary = academicSummaryService.getSummary(student.getId());
+		assertThat(summary.getGpa()).isEqualTo(3.67);
+		assertThat(summary.getCompletedCredits()).isEqualTo(6);
+		assertThat(summary.getTerms()).hasSize(1);
+		assertThat(summary.getTerms().get(0).getCompletedCourses()).isEqualTo(2);
+
+		// Credits weight every result, so changing them rebuilds the totals
+		CreateCourseRequest update = new CreateCourseRequest();
+		update.setCode("GPA-201");
+		update.setTitle("Two");
+		update.setCredits(4);
+		update.setCapacity(10);
+		courseService.updateCourse(two.getId(), update);
+		assertThat(academicSummaryService.getSummary(student.getId()).getGpa()).isEqualTo(3.5);
+
+		resultService.deleteResult(fall.getId());
+		summary = academicSummaryService.getSummary(student.getId());
+		assertThat(summary.getGpa()).isEqualTo(3.0);
+		assertThat(summary.getGradedCredits()).isEqualTo(4);
+		assertThat(summary.getCompletedCourses()).isEqualTo(1);
+	}
+
+	private CreateResultRequest request(Long studentId, Long courseId, double score, String semester) {
+		CreateResultRequest request = new CreateResultRequest();
+		request.setStudentId(studentId);
+		request.setCourseId(courseId);
+		request.setMidtermScore(score);
+		request.setFinalScore(score);
+		request.setYear(1);
+		request.setSemester(semester);
+		return request;
+	}
+}
@@ -0,0 +1,78 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.university.course_managment.dto.BulkEnrollmentRequest;
+import com.university.course_managment.dto.BulkEnrollmentResponse;
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.EnrollmentRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+@SpringBootTest
+class BulkEnrollmentTest {
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	@Test
+	void bulkEnrollFillsCoursesAndReportsEachPair() {
+		List<Long> studentIds = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			User user = userRepository.save(User.builder()
+					.email("bulk" + i + "@university.edu")
+					.password("secret")
+					.firstName("Bulk")
+					.lastName("Student" + i)
+					.role(User.Role.STUDENT)
+					.build());
+			studentIds.add(studentRepository.save(Student.builder()
+					.studentId("BULK" + i)
+					.user(user)
+					.department("CS")
+					.year(1)
+					.build()).getId());
+		}
+		Course roomy = courseRepository.save(Course.builder()
+				.code("BULK-101").title("Roomy").credits(3).capacity(2000).build());
+		Course tight = courseRepository.save(Course.builder()
+				.code("BULK-102").title("Tight").credits(3).capacity(600).build());
+
+		studentIds.add(-1L);
+		BulkEnrollmentResponse response = enrollmentService.bulkEnroll(
+				new BulkEnrollmentRequest(studentIds, List.of(tight.getId(), roomy.getId())));
+
+		assertThat(response.getEnrolled()).isEqualTo(1600);
+		assertThat(response.getFailed()).isEqualTo(2 + 400);
+		assertThat(courseRepository.findById(roomy.getId()).orElseThrow().getEnrolledCount()).isEqualTo(1000);
+		assertThat(courseRepository.findById(tight.getId()).orElseThrow().getEnrolledCount()).isEqualTo(600);
+		assertThat(enrollmentRepository.countActiveByCourse(tight.getId())).isEqualTo(600);
+
+		BulkEnrollmentResponse again = enrollmentService.bulkEnroll(
+				new BulkEnrollmentRequest(studentIds.subList(0, 10), List.of(roomy.getId())));
+		assertThat(again.getEnrolled()).isZero();
+		assertThat(again.getResults()).allMatch(item -> "Already enrolled in this course".equals(item.getMessage()));
+	}
+}
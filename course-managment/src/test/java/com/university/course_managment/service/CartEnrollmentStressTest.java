@@ -0,0 +1,143 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.exception.EnrollmentException;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.EnrollmentRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+@SpringBootTest
+class CartEnrollmentStressTest {
+
+	private static final int COURSES = 6;
+	private static final int CAPACITY = 15;
+	private static final int STUDENTS = 80;
+	private static final int CART_SIZE = 3;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	@Test
+	void overlappingCartsAreAllOrNothingWithoutDeadlock() throws Exception {
+		List<Long> courseIds = new ArrayList<>();
+		for (int i = 0; i < COURSES; i++) {
+			courseIds.add(courseRepository.save(Course.builder()
+					.code("CART-" + i)
+					.title("Cart " + i)
+					.credits(3)
+					.capacity(CAPACITY)
+					.build()).getId());
+		}
+
+		// Every cart overlaps others and lists its courses in a random order
+		Random random = new Random(42);
+		List<Long> userIds = new ArrayList<>();
+		List<List<Long>> carts = new ArrayList<>();
+		for (int i = 0; i < STUDENTS; i++) {
+			User user = userRepository.save(User.builder()
+					.email("cart" + i + "@university.edu")
+					.password("secret")
+					.firstName("Cart")
+					.lastName("Student" + i)
+					.role(User.Role.STUDENT)
+					.build());
+			studentRepository.save(Student.builder()
+					.studentId("CART" + i)
+					.user(user)
+					.department("CS")
+					.year(1)
+					.build());
+			userIds.add(user.getId());
+
+			List<Long> shuffled = new ArrayList<>(courseIds);
+			Collections.shuffle(shuffled, random);
+			carts.add(new ArrayList<>(shuffled.subList(0, CART_SIZE)));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(STUDENTS);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger succeeded = new AtomicInteger();
+		AtomicInteger rejectedFull = new AtomicInteger();
+		AtomicInteger unexpected = new AtomicInteger();
+
+		for (int i = 0; i < STUDENTS; i++) {
+			Long userId = userIds.get(i);
+			List<Long> cart = carts.get(i);
+			executor.submit(() -> {
+				try {
+					start.await();
+					assertThat(enrollmentService.enrollCart(cart, userId)).hasSize(CART_SIZE);
+					succeeded.incrementAndGet();
+				} catch (EnrollmentException e) {
+					if (e.getReason() == EnrollmentException.Reason.COURSE_FULL) {
+						rejectedFull.incrementAndGet();
+					} else {
+						unexpected.incrementAndGet();
+					}
+				} catch (RuntimeException e) {
+					unexpected.incrementAndGet();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return null;
+			});
+		}
+
+		start.countDown();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+
+		assertThat(unexpected.get()).isZero();
+		assertThat(succeeded.get() + rejectedFull.get()).isEqualTo(STUDENTS);
+		assertThat(succeeded.get()).isPositive();
+
+		long totalEnrolled = 0;
+		for (Long courseId : courseIds) {
+			long active = enrollmentRepository.countActiveByCourse(courseId);
+			assertThat(active).isLessThanOrEqualTo(CAPACITY);
+			assertThat(courseRepository.findById(courseId).orElseThrow().getEnrolledCount()).isEqualTo((int) active);
+			totalEnrolled += active;
+		}
+		assertThat(totalEnrolled).isEqualTo((long) succeeded.get() * CART_SIZE);
+
+		// A rejected cart must leave no partial enrollments behind
+		for (int i = 0; i < STUDENTS; i++) {
+			Long studentId = studentRepository.findIdByUserId(userIds.get(i)).orElseThrow();
+			long enrolledInCart = carts.get(i).stream()
+					.filter(courseId -> enrollmentRepository.isEnrolled(studentId, courseId))
+					.count();
+			assertThat(enrolledInCart).isIn(0L, (long) CART_SIZE);
+		}
+	}
+}
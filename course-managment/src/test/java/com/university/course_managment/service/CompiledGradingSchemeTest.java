@@ -0,0 +1,28 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.university.course_managment.entity.GradeBoundary;
+import com.university.course_managment.entity.GradingScheme;
+
+class CompiledGradingSchemeTest {
+
+	@Test
+	void totalOnATwoDecimalBoundaryGetsThatBoundarysGrade() {
+		CompiledGradingScheme scheme = new CompiledGradingScheme(new GradingScheme(1, "Decimals", 0.5, 0.5, List.of(
+				new GradeBoundary(69.99, "B", 3.0),
+				new GradeBoundary(0.29, "D", 1.0),
+				new GradeBoundary(0.0, "F", 0.0))));
+
+		// 69.99 * 100 and 0.29 * 100 are both just below a whole number in binary floating point
+		assertThat(scheme.grade(69.99)).isEqualTo("B");
+		assertThat(scheme.grade(69.98)).isEqualTo("D");
+		assertThat(scheme.grade(0.29)).isEqualTo("D");
+		assertThat(scheme.grade(0.28)).isEqualTo("F");
+		assertThat(scheme.grade(100.0)).isEqualTo("B");
+	}
+}
@@ -0,0 +1,96 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+class DashboardCacheTest {
+
+	@Autowired
+	private DashboardService dashboardService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void enrollmentEvictsOnlyTheAffectedDashboards() {
+		User instructor = createUser("cache-instructor@university.edu", User.Role.INSTRUCTOR);
+		User otherInstructor = createUser("cache-other@university.edu", User.Role.INSTRUCTOR);
+		User studentUser = createUser("cache-student@university.edu", User.Role.STUDENT);
+		User otherStudent = createUser("cache-bystander@university.edu", User.Role.STUDENT);
+		studentRepository.save(Student.builder().studentId("CACHE1").user(studentUser).department("CS").year(1).build());
+		studentRepository.save(Student.builder().studentId("CACHE2").user(otherStudent).department("CS").year(1).build());
+		Course course = courseRepository.save(Course.builder()
+				.code("CACHE-101").title("Caching").credits(3).capacity(10).instructor(instructor).build());
+
+		assertThat(dashboardService.getStudentDashboardStats(studentUser.getId()).getEnrolledCourses()).isZero();
+		assertThat(dashboardService.getStudentDashboardStats(otherStudent.getId()).getEnrolledCourses()).isZero();
+		assertThat(dashboardService.getInstructorDashboardStats(instructor.getId()).getTotalStudents()).isZero();
+		dashboardService.getInstructorDashboardStats(otherInstructor.getId());
+		dashboardService.getAdminDashboardStats();
+		double hits = meterRegistry.get("cache.gets").tag("cache", DashboardCache.STUDENT).tag("result", "hit")
+				.functionCounter().count();
+		dashboardService.getStudentDashboardStats(studentUser.getId());
+		assertThat(meterRegistry.get("cache.gets").tag("cache", DashboardCache.STUDENT).tag("result", "hit")
+				.functionCounter().count()).isEqualTo(hits + 1);
+
+		enrollmentService.enrollInCourse(course.getId(), studentUser.getId());
+
+		assertThat(cached(DashboardCache.STUDENT, studentUser.getId())).isFalse();
+		assertThat(cached(DashboardCache.INSTRUCTOR, instructor.getId())).isFalse();
+		assertThat(cached(DashboardCache.ADMIN, DashboardCache.ADMIN_KEY)).isFalse();
+		assertThat(cached(DashboardCache.STUDENT, otherStudent.getId())).isTrue();
+		assertThat(cached(DashboardCache.INSTRUCTOR, otherInstructor.getId())).isTrue();
+
+		assertThat(dashboardService.getStudentDashboardStats(studentUser.getId()).getEnrolledCourses()).isEqualTo(1);
+		assertThat(dashboardService.getInstructorDashboardStats(instructor.getId()).getTotalStudents()).isEqualTo(1);
+
+		enrollmentService.dropCourse(course.getId(), studentUser.getId());
+		assertThat(dashboardService.getStudentDashboardStats(studentUser.getId()).getEnrolledCourses()).isZero();
+		assertThat(dashboardService.getInstructorDashboardStats(instructor.getId()).getTotalStudents()).isZero();
+		assertThat(meterRegistry.get("dashboard.cache.invalidations").tag("cache", DashboardCache.STUDENT)
+				.counter().count()).isGreaterThanOrEqualTo(2);
+	}
+
+	private boolean cached(String cacheName, Object key) {
+		return cacheManager.getCache(cacheName).get(key) != null;
+	}
+
+	private User createUser(String email, User.Role role) {
+		return userRepository.save(User.builder()
+				.email(email)
+				.password("secret")
+				.firstName("Cache")
+				.lastName(role.name())
+				.role(role)
+				.build());
+	}
+}
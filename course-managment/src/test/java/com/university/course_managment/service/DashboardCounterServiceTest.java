@@ -0,0 +1,99 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.university.course_managment.dto.CourseDTO;
+import com.university.course_managment.dto.CreateCourseRequest;
+import com.university.course_managment.dto.CreateUserRequest;
+import com.university.course_managment.dto.DashboardStats;
+import com.university.course_managment.dto.StudentDTO;
+import com.university.course_managment.entity.DashboardCounter;
+import com.university.course_managment.entity.Enrollment;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.EnrollmentRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+@SpringBootTest
+class DashboardCounterServiceTest {
+
+	@Autowired
+	private DashboardCounterService counterService;
+
+	@Autowired
+	private DashboardService dashboardService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	@Test
+	void serviceWritesMaintainCountersAndReconcileRebuildsThem() {
+		counterService.reconcile();
+		Map<DashboardCounter.Name, Long> before = counterService.getTotals();
+
+		CreateCourseRequest courseRequest = new CreateCourseRequest();
+		courseRequest.setCode("DASH-101");
+		courseRequest.setTitle("Dashboards");
+		courseRequest.setCredits(3);
+		courseRequest.setCapacity(10);
+		CourseDTO course = courseService.createCourse(courseRequest);
+		userService.createUser(new CreateUserRequest("dash-instructor@university.edu", "secret", "Dash", "Instructor", "INSTRUCTOR"));
+		StudentDTO student = studentService.createStudent(StudentDTO.builder()
+				.studentId("DASH1")
+				.firstName("Dash")
+				.lastName("Student")
+				.email("dash-student@university.edu")
+				.department("CS")
+				.year(1)
+				.build());
+		enrollmentService.enrollInCourse(course.getId(), student.getUserId());
+
+		Map<DashboardCounter.Name, Long> after = counterService.getTotals();
+		assertThat(after.get(DashboardCounter.Name.COURSES)).isEqualTo(before.get(DashboardCounter.Name.COURSES) + 1);
+		assertThat(after.get(DashboardCounter.Name.INSTRUCTORS)).isEqualTo(before.get(DashboardCounter.Name.INSTRUCTORS) + 1);
+		assertThat(after.get(DashboardCounter.Name.STUDENTS)).isEqualTo(before.get(DashboardCounter.Name.STUDENTS) + 1);
+		assertThat(after.get(DashboardCounter.Name.ENROLLMENTS)).isEqualTo(before.get(DashboardCounter.Name.ENROLLMENTS) + 1);
+
+		enrollmentService.dropCourse(course.getId(), student.getUserId());
+		assertThat(counterService.getTotals().get(DashboardCounter.Name.ENROLLMENTS))
+				.isEqualTo(before.get(DashboardCounter.Name.ENROLLMENTS));
+
+		// Drift from writes that bypass the services is repaired by reconciliation
+		counterService.increment(DashboardCounter.Name.COURSES, 1000);
+		counterService.reconcile();
+		DashboardStats stats = dashboardService.getAdminDashboardStats();
+		assertThat(stats.getTotalCourses()).isEqualTo(courseRepository.count());
+		assertThat(stats.getTotalStudents()).isEqualTo(studentRepository.count());
+		assertThat(stats.getTotalInstructors()).isEqualTo(userRepository.countByRole(User.Role.INSTRUCTOR));
+		assertThat(counterService.getTotals().get(DashboardCounter.Name.ENROLLMENTS))
+				.isEqualTo(enrollmentRepository.countByStatus(Enrollment.Status.ENROLLED));
+	}
+}
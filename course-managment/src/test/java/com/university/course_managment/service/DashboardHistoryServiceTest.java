@@ -0,0 +1,79 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.university.course_managment.dto.MetricPointDTO;
+import com.university.course_managment.entity.DashboardCounter;
+import com.university.course_managment.entity.DashboardSnapshot;
+import com.university.course_managment.entity.DashboardSnapshot.Resolution;
+import com.university.course_managment.repository.DashboardSnapshotRepository;
+
+@SpringBootTest
+class DashboardHistoryServiceTest {
+
+	private static final DashboardCounter.Name METRIC = DashboardCounter.Name.RESULTS;
+
+	@Autowired
+	private DashboardHistoryService historyService;
+
+	@Autowired
+	private DashboardSnapshotRepository snapshotRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void agingPointsAreRolledUpAndQueriedAtOneResolution() {
+		LocalDateTime now = LocalDateTime.parse("2030-06-01T12:00:00");
+		raw("2030-05-20T09:10:00", 10);
+		raw("2030-05-20T09:40:00", 14);
+		raw("2030-05-20T10:05:00", 20);
+		raw("2030-06-01T11:00:00", 30);
+		DashboardSnapshot hourly = new DashboardSnapshot(METRIC, Resolution.HOURLY, LocalDateTime.parse("2030-01-05T03:00:00"), 1);
+		hourly.merge(new DashboardSnapshot(METRIC, Resolution.HOURLY, hourly.getBucketStart(), 3));
+		snapshotRepository.save(hourly);
+		snapshotRepository.save(new DashboardSnapshot(METRIC, Resolution.HOURLY, LocalDateTime.parse("2030-01-05T07:00:00"), 5));
+		snapshotRepository.save(new DashboardSnapshot(METRIC, Resolution.DAILY, LocalDateTime.parse("2024-01-01T00:00:00"), 1));
+
+		transactionTemplate.executeWithoutResult(status -> historyService.rollUp(now));
+
+		assertThat(snapshotRepository.findRange(METRIC, List.of(Resolution.RAW),
+				LocalDateTime.parse("2030-01-01T00:00:00"), now)).hasSize(1);
+		List<DashboardSnapshot> hours = snapshotRepository.findRange(METRIC, List.of(Resolution.HOURLY),
+				LocalDateTime.parse("2030-01-01T00:00:00"), now);
+		assertThat(hours).extracting(DashboardSnapshot::getSampleCount).containsExactly(2, 1);
+		assertThat(hours.get(0).getLastValue()).isEqualTo(14);
+		List<DashboardSnapshot> days = snapshotRepository.findRange(METRIC, List.of(Resolution.DAILY),
+				LocalDateTime.parse("2020-01-01T00:00:00"), now);
+		assertThat(days).hasSize(1);
+		assertThat(days.get(0).getBucketStart()).isEqualTo(LocalDateTime.parse("2030-01-05T00:00:00"));
+		assertThat(days.get(0).getMinValue()).isEqualTo(1);
+		assertThat(days.get(0).getMaxValue()).isEqualTo(5);
+		assertThat(days.get(0).getLastValue()).isEqualTo(5);
+
+		// Finer points still in range are folded into daily buckets
+		List<MetricPointDTO> points = historyService.getHistory(METRIC,
+				LocalDateTime.parse("2030-05-20T06:00:00"), now, Resolution.DAILY);
+		assertThat(points).extracting(MetricPointDTO::getBucketStart).containsExactly(
+				LocalDateTime.parse("2030-05-20T00:00:00"), LocalDateTime.parse("2030-06-01T00:00:00"));
+		assertThat(points.get(0).getMin()).isEqualTo(10);
+		assertThat(points.get(0).getLast()).isEqualTo(20);
+		assertThat(points.get(0).getAverage()).isEqualTo(44.0 / 3);
+
+		assertThat(historyService.resolutionFor(now.minusHours(6), now)).isEqualTo(Resolution.RAW);
+		assertThat(historyService.resolutionFor(now.minusDays(7), now)).isEqualTo(Resolution.HOURLY);
+		assertThat(historyService.resolutionFor(now.minusDays(365), now)).isEqualTo(Resolution.DAILY);
+	}
+
+	private void raw(String time, long value) {
+		snapshotRepository.save(new DashboardSnapshot(METRIC, Resolution.RAW, LocalDateTime.parse(time), value));
+	}
+}
@@ -0,0 +1,119 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import com.university.course_managment.dto.CreateResultRequest;
+import com.university.course_managment.dto.DashboardStats;
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class DashboardQueryCountTest {
+
+	@Autowired
+	private DashboardService dashboardService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private ResultService resultService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Test
+	void eachDashboardIsOneStatementWithoutLoadingEntities() {
+		User instructor = userRepository.save(User.builder()
+				.email("dash-count-instructor@university.edu")
+				.password("secret")
+				.firstName("Count")
+				.lastName("Instructor")
+				.role(User.Role.INSTRUCTOR)
+				.build());
+		User studentUser = userRepository.save(User.builder()
+				.email("dash-count-student@university.edu")
+				.password("secret")
+				.firstName("Count")
+				.lastName("Student")
+				.role(User.Role.STUDENT)
+				.build());
+		Student student = studentRepository.save(Student.builder()
+				.studentId("DASHCOUNT1")
+				.user(studentUser)
+				.department("CS")
+				.year(1)
+				.build());
+		Course first = courseRepository.save(Course.builder()
+				.code("COUNT-101").title("Counting").credits(3).capacity(10).instructor(instructor).build());
+		Course second = courseRepository.save(Course.builder()
+				.code("COUNT-102").title("More Counting").credits(3).capacity(10).instructor(instructor).build());
+		enrollmentService.enrollInCourse(first.getId(), studentUser.getId());
+		enrollmentService.enrollInCourse(second.getId(), studentUser.getId());
+		resultService.createResult(resultRequest(student.getId(), first.getId(), 80.0));
+		resultService.createResult(resultRequest(student.getId(), second.getId(), 60.0));
+
+		DashboardStats studentStats = measure(() -> dashboardService.getStudentDashboardStats(studentUser.getId()));
+		assertThat(studentStats.getEnrolledCourses()).isEqualTo(2);
+		assertThat(studentStats.getCompletedCourses()).isEqualTo(2);
+		// A (4.0) and B+ (3.3), three credits each
+		assertThat(studentStats.getGpa()).isEqualTo(3.65);
+
+		DashboardStats instructorStats = measure(() -> dashboardService.getInstructorDashboardStats(instructor.getId()));
+		assertThat(instructorStats.getTotalCourses()).isEqualTo(2);
+		assertThat(instructorStats.getTotalStudents()).isEqualTo(2);
+
+		measure(dashboardService::getAdminDashboardStats);
+	}
+
+	// Caches are cleared first so every call reaches the database
+	private DashboardStats measure(Supplier<DashboardStats> dashboard) {
+		cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		DashboardStats stats = dashboard.get();
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		return stats;
+	}
+
+	private CreateResultRequest resultRequest(Long studentId, Long courseId, double score) {
+		CreateResultRequest request = new CreateResultRequest();
+		request.setStudentId(studentId);
+		request.setCourseId(courseId);
+		request.setMidtermScore(score);
+		request.setFinalScore(score);
+		request.setYear(1);
+		request.setSemester("FALL");
+		return request;
+	}
+}
@@ -0,0 +1,114 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.university.course_managment.dto.EnrollmentStatusDTO;
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.EnrollmentRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+import com.university.course_managment.repository.WaitlistEntryRepository;
+
+@SpringBootTest
+class EnrollmentServiceConcurrencyTest {
+
+	private static final int THREADS = 300;
+	private static final int CAPACITY = 50;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	@Autowired
+	private WaitlistEntryRepository waitlistEntryRepository;
+
+	@Test
+	void concurrentEnrollmentsNeverOverbook() throws Exception {
+		Course course = courseRepository.save(Course.builder()
+				.code("RACE-101")
+				.title("Registration Day")
+				.credits(3)
+				.capacity(CAPACITY)
+				.build());
+
+		List<Long> userIds = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			User user = userRepository.save(User.builder()
+					.email("race" + i + "@university.edu")
+					.password("secret")
+					.firstName("Race")
+					.lastName("Student" + i)
+					.role(User.Role.STUDENT)
+					.build());
+			studentRepository.save(Student.builder()
+					.studentId("RACE" + i)
+					.user(user)
+					.department("CS")
+					.year(1)
+					.build());
+			userIds.add(user.getId());
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger enrolled = new AtomicInteger();
+		AtomicInteger waitlisted = new AtomicInteger();
+		AtomicInteger unexpected = new AtomicInteger();
+
+		for (Long userId : userIds) {
+			executor.submit(() -> {
+				try {
+					start.await();
+					EnrollmentStatusDTO status = enrollmentService.enrollInCourse(course.getId(), userId);
+					if (status.getStatus() == EnrollmentStatusDTO.Status.ENROLLED) {
+						enrolled.incrementAndGet();
+					} else {
+						waitlisted.incrementAndGet();
+					}
+				} catch (RuntimeException e) {
+					unexpected.incrementAndGet();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return null;
+			});
+		}
+
+		start.countDown();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+
+		assertThat(unexpected.get()).isZero();
+		assertThat(enrolled.get()).isEqualTo(CAPACITY);
+		assertThat(waitlisted.get()).isEqualTo(THREADS - CAPACITY);
+		assertThat(courseRepository.findById(course.getId()).orElseThrow().getEnrolledCount()).isEqualTo(CAPACITY);
+		assertThat(enrollmentRepository.countActiveByCourse(course.getId())).isEqualTo(CAPACITY);
+		assertThat(waitlistEntryRepository.countByCourseId(course.getId())).isEqualTo(THREADS - CAPACITY);
+	}
+}
@@ -0,0 +1,159 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.university.course_managment.dto.EnrollmentStatusDTO;
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.EnrollmentRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+@SpringBootTest
+class EnrollmentWaitlistTest {
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	@Test
+	void dropPromotesHeadOfWaitlistInOrder() {
+		Course course = courseRepository.save(Course.builder()
+				.code("WAIT-101")
+				.title("Waitlist")
+				.credits(3)
+				.capacity(1)
+				.build());
+		List<Long> userIds = createStudents("wait", 4);
+
+		assertThat(enrollmentService.enrollInCourse(course.getId(), userIds.get(0)).getStatus())
+				.isEqualTo(EnrollmentStatusDTO.Status.ENROLLED);
+		for (int i = 1; i < 4; i++) {
+			EnrollmentStatusDTO status = enrollmentService.enrollInCourse(course.getId(), userIds.get(i));
+			assertThat(status.getStatus()).isEqualTo(EnrollmentStatusDTO.Status.WAITLISTED);
+			assertThat(status.getWaitlistPosition()).isEqualTo(i);
+		}
+
+		enrollmentService.leaveWaitlist(course.getId(), userIds.get(1));
+		assertThat(enrollmentService.getWaitlistPosition(course.getId(), userIds.get(3)).getWaitlistPosition())
+				.isEqualTo(2);
+
+		enrollmentService.dropCourse(course.getId(), userIds.get(0));
+
+		Long promotedStudent = studentRepository.findIdByUserId(userIds.get(2)).orElseThrow();
+		assertThat(enrollmentRepository.isEnrolled(promotedStudent, course.getId())).isTrue();
+		assertThat(courseRepository.findById(course.getId()).orElseThrow().getEnrolledCount()).isEqualTo(1);
+		assertThat(enrollmentService.getWaitlistSize(course.getId())).isEqualTo(1);
+		assertThat(enrollmentService.getWaitlistPosition(course.getId(), userIds.get(3)).getWaitlistPosition())
+				.isEqualTo(1);
+	}
+
+	@Test
+	void seatFreedWhileJoiningWaitlistIsNeverLost() throws Exception {
+		List<Long> userIds = createStudents("waitrace", 40);
+		for (int round = 0; round < 20; round++) {
+			Course course = courseRepository.save(Course.builder()
+					.code("RACE-" + round)
+					.title("Race")
+					.credits(3)
+					.capacity(1)
+					.build());
+			Long holder = userIds.get(2 * round);
+			Long newcomer = userIds.get(2 * round + 1);
+			enrollmentService.enrollInCourse(course.getId(), holder);
+
+			CountDownLatch start = new CountDownLatch(1);
+			Thread drop = new Thread(() -> {
+				await(start);
+				enrollmentService.dropCourse(course.getId(), holder);
+			});
+			drop.start();
+			Thread enroll = new Thread(() -> {
+				await(start);
+				enrollmentService.enrollInCourse(course.getId(), newcomer);
+			});
+			enroll.start();
+			start.countDown();
+			drop.join();
+			enroll.join();
+
+			// Enrolled directly or promoted by the drop, but never left waiting beside a free seat
+			Long newcomerStudent = studentRepository.findIdByUserId(newcomer).orElseThrow();
+			assertThat(enrollmentRepository.isEnrolled(newcomerStudent, course.getId())).isTrue();
+			assertThat(enrollmentService.getWaitlistSize(course.getId())).isZero();
+			assertThat(courseRepository.findById(course.getId()).orElseThrow().getEnrolledCount()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void reEnrollAfterDropReusesEnrollmentRow() {
+		Course course = courseRepository.save(Course.builder()
+				.code("WAIT-102")
+				.title("Re-enroll")
+				.credits(3)
+				.capacity(5)
+				.build());
+		Long userId = createStudents("again", 1).get(0);
+		Long studentId = studentRepository.findIdByUserId(userId).orElseThrow();
+
+		enrollmentService.enrollInCourse(course.getId(), userId);
+		enrollmentService.dropCourse(course.getId(), userId);
+		assertThat(enrollmentRepository.isEnrolled(studentId, course.getId())).isFalse();
+
+		assertThat(enrollmentService.enrollInCourse(course.getId(), userId).getStatus())
+				.isEqualTo(EnrollmentStatusDTO.Status.ENROLLED);
+		assertThat(enrollmentRepository.isEnrolled(studentId, course.getId())).isTrue();
+		assertThat(enrollmentRepository.findByStudentIdAndCourseId(studentId, course.getId())).isPresent();
+		assertThat(courseRepository.findById(course.getId()).orElseThrow().getEnrolledCount()).isEqualTo(1);
+	}
+
+	private List<Long> createStudents(String prefix, int count) {
+		List<Long> userIds = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			User user = userRepository.save(User.builder()
+					.email(prefix + i + "@university.edu")
+					.password("secret")
+					.firstName("Wait")
+					.lastName("Student" + i)
+					.role(User.Role.STUDENT)
+					.build());
+			studentRepository.save(Student.builder()
+					.studentId(prefix.toUpperCase() + i)
+					.user(user)
+					.department("CS")
+					.year(1)
+					.build());
+			userIds.add(user.getId());
+		}
+		return userIds;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.university.course_managment.dto.CreateResultRequest;
+import com.university.course_managment.dto.GradeDistributionDTO;
+import com.university.course_managment.dto.ResultDTO;
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+@SpringBootTest
+class GradeDistributionServiceTest {
+
+	private static final List<Double> QUARTILES = List.of(25.0, 50.0, 75.0);
+
+	@Autowired
+	private GradeDistributionService gradeDistributionService;
+
+	@Autowired
+	private ResultService resultService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Test
+	void distributionFollowsResultWritesAndMergesAcrossCourses() {
+		Course course = courseRepository.save(Course.builder()
+				.code("DIST-101").title("Distribution").credits(3).capacity(10).build());
+		Course other = courseRepository.save(Course.builder()
+				.code("DIST-102").title("Other").credits(3).capacity(10).build());
+		List<ResultDTO> results = new ArrayList<>();
+		double[] scores = {40, 60, 72, 88, 95};
+		for (int i = 0; i < scores.length; i++) {
+			results.add(grade("dist" + i, course, scores[i], "FALL"));
+		}
+		grade("dist-other", other, 50, "SPRING");
+
+		GradeDistributionDTO fall = gradeDistributionService.getCourseDistribution(course.getId(), 1, "FALL", 20, QUARTILES);
+		assertThat(fall.getCount()).isEqualTo(5);
+		assertThat(fall.getMean()).isEqualTo(71.0);
+		assertThat(fall.getStandardDeviation()).isCloseTo(19.74, within(0.01));
+		assertThat(fall.getMedian()).isCloseTo(72.0, within(1.0));
+		assertThat(fall.getPercentiles()).containsOnlyKeys("p25", "p50", "p75");
+		assertThat(fall.getPercentiles().get("p75")).isCloseTo(88.0, within(1.0));
+		assertThat(fall.getHistogram()).extracting(GradeDistributionDTO.Bin::getCount).containsExactly(0L, 0L, 1L, 2L, 2L);
+		assertThat(fall.getGrades()).containsEntry("A+", 2L).containsEntry("A", 1L).containsEntry("B+", 1L)
+				.containsEntry("C", 1L).containsEntry("F", 0L);
+
+		resultService.deleteResult(results.get(4).getId());
+		CreateResultRequest lower = request(results.get(0).getStudentId(), course, 30, "FALL");
+		resultService.updateResult(results.get(0).getId(), lower);
+		fall = gradeDistributionService.getCourseDistribution(course.getId(), 1, "FALL", 20, QUARTILES);
+		assertThat(fall.getCount()).isEqualTo(4);
+		assertThat(fall.getGrades()).containsEntry("A+", 1L).containsEntry("C", 0L).containsEntry("D", 1L);
+
+		GradeDistributionDTO merged = gradeDistributionService.getDistribution(
+				List.of(course.getId(), other.getId()), null, null, 10, QUARTILES);
+		assertThat(merged.getCount()).isEqualTo(5);
+		assertThat(merged.getMean()).isEqualTo(60.0);
+		assertThat(gradeDistributionService.getCourseDistribution(other.getId(), 1, "FALL", 10, QUARTILES).getMedian())
+				.isNull();
+	}
+
+	private ResultDTO grade(String prefix, Course course, double score, String semester) {
+		User user = userRepository.save(User.builder()
+				.email(prefix + "@university.edu")
+				.password("secret")
+				.firstName("Dist")
+				.lastName(prefix)
+				.role(User.Role.STUDENT)
+				.build());
+		Student student = studentRepository.save(Student.builder()
+				.studentId(prefix.toUpperCase())
+				.user(user)
+				.department("CS")
+				.year(1)
+				.build());
+		enrollmentService.enrollInCourse(course.getId(), user.getId());
+		return resultService.createResult(request(student.getId(), course, score, semester));
+	}
+
+	private CreateResultRequest request(Long studentId, Course course, double score, String semester) {
+		CreateResultRequest request = new CreateResultRequest();
+		request.setStudentId(studentId);
+		request.setCourseId(course.getId());
+		request.setYear(1);
+		request.setSemester(semester);
+		request.setMidtermScore(score);
+		request.setFinalScore(score);
+		return request;
+	}
+}
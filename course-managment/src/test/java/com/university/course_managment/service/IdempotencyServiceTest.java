@@ -0,0 +1,54 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.university.course_managment.exception.IdempotencyKeyReuseException;
+
+class IdempotencyServiceTest {
+
+	@Test
+	void replayReturnsStoredResultWithoutRunningAgain() {
+		IdempotencyService service = new IdempotencyService(100, Duration.ofMinutes(5));
+		AtomicInteger calls = new AtomicInteger();
+
+		assertThat(service.execute("k1", "enroll:1", "7", calls::incrementAndGet)).isEqualTo(1);
+		assertThat(service.execute("k1", "enroll:1", "7", calls::incrementAndGet)).isEqualTo(1);
+		assertThat(calls.get()).isEqualTo(1);
+
+		// Same key from another user or without a key runs normally
+		assertThat(service.execute("k1", "enroll:2", "7", calls::incrementAndGet)).isEqualTo(2);
+		assertThat(service.execute(null, "enroll:1", "7", calls::incrementAndGet)).isEqualTo(3);
+	}
+
+	@Test
+	void keyReusedForDifferentRequestIsRejected() {
+		IdempotencyService service = new IdempotencyService(100, Duration.ofMinutes(5));
+		service.execute("k1", "enroll:1", "7", () -> "first");
+
+		assertThatThrownBy(() -> service.execute("k1", "enroll:1", "8", () -> "second"))
+				.isInstanceOf(IdempotencyKeyReuseException.class);
+	}
+
+	@Test
+	void failuresAreNotStoredAndMemoryStaysBounded() {
+		IdempotencyService service = new IdempotencyService(50, Duration.ofMinutes(5));
+		AtomicInteger calls = new AtomicInteger();
+
+		assertThatThrownBy(() -> service.execute("k1", "drop:1", "7", () -> {
+			calls.incrementAndGet();
+			throw new RuntimeException("Lock timeout");
+		})).hasMessage("Lock timeout");
+		assertThat(service.execute("k1", "drop:1", "7", calls::incrementAndGet)).isEqualTo(2);
+
+		for (int i = 0; i < 10_000; i++) {
+			service.execute("key-" + i, "drop:1", "7", () -> "ok");
+		}
+		assertThat(service.size()).isEqualTo(50);
+	}
+}
@@ -0,0 +1,188 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.university.course_managment.dto.BulkEnrollmentRequest;
+import com.university.course_managment.dto.BulkEnrollmentResponse;
+import com.university.course_managment.dto.CreateGradingSchemeRequest;
+import com.university.course_managment.dto.EnrollmentStatusDTO;
+import com.university.course_managment.dto.GradingSchemeDTO;
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Result;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.exception.EnrollmentException;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.ResultRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+@SpringBootTest
+class PrerequisiteEnrollmentTest {
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private CourseService courseService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private ResultRepository resultRepository;
+
+	@Autowired
+	private GradingSchemeService gradingSchemeService;
+
+	@Test
+	void enrollmentRequiresPassingEveryTransitivePrerequisite() {
+		Course intro = saveCourse("PRE-101");
+		Course dataStructures = saveCourse("PRE-201");
+		Course algorithms = saveCourse("PRE-301");
+		courseService.addPrerequisite(dataStructures.getId(), intro.getId());
+		courseService.addPrerequisite(algorithms.getId(), dataStructures.getId());
+
+		User user = userRepository.save(User.builder()
+				.email("prereq@university.edu")
+				.password("secret")
+				.firstName("Pre")
+				.lastName("Student")
+				.role(User.Role.STUDENT)
+				.build());
+		Student student = studentRepository.save(Student.builder()
+				.studentId("PRE1")
+				.user(user)
+				.department("CS")
+				.year(2)
+				.build());
+
+		assertThatThrownBy(() -> enrollmentService.enrollInCourse(algorithms.getId(), user.getId()))
+				.isInstanceOf(EnrollmentException.class)
+				.hasMessageContaining("PRE-101, PRE-201");
+
+		saveResult(student, intro, "B");
+		saveResult(student, dataStructures, "F");
+		assertThatThrownBy(() -> enrollmentService.enrollInCourse(algorithms.getId(), user.getId()))
+				.hasMessageEndingWith("PRE-201");
+
+		saveResult(student, dataStructures, "A");
+		assertThat(enrollmentService.enrollInCourse(algorithms.getId(), user.getId()).getStatus())
+				.isEqualTo(EnrollmentStatusDTO.Status.ENROLLED);
+
+		assertThatThrownBy(() -> courseService.addPrerequisite(intro.getId(), algorithms.getId()))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void bulkEnrollReportsMissingPrerequisitesPerStudent() {
+		Course intro = saveCourse("PREB-101");
+		Course advanced = saveCourse("PREB-201");
+		Course open = saveCourse("PREB-102");
+		courseService.addPrerequisite(advanced.getId(), intro.getId());
+
+		Student ready = saveStudent("PREB1");
+		Student notReady = saveStudent("PREB2");
+		saveResult(ready, intro, "A");
+		saveResult(notReady, intro, "F");
+
+		BulkEnrollmentResponse response = enrollmentService.bulkEnroll(new BulkEnrollmentRequest(
+				List.of(ready.getId(), notReady.getId()), List.of(advanced.getId(), open.getId())));
+
+		assertThat(response.getEnrolled()).isEqualTo(3);
+		assertThat(response.getFailed()).isEqualTo(1);
+		assertThat(response.getResults())
+				.filteredOn(item -> !item.isSuccess())
+				.singleElement()
+				.satisfies(item -> {
+					assertThat(item.getStudentId()).isEqualTo(notReady.getId());
+					assertThat(item.getCourseId()).isEqualTo(advanced.getId());
+					assertThat(item.getMessage()).isEqualTo("Prerequisites not met: PREB-101");
+				});
+		assertThat(courseRepository.findById(advanced.getId()).orElseThrow().getEnrolledCount()).isEqualTo(1);
+	}
+
+	@Test
+	void failingGradeComesFromTheSchemeTheResultWasGradedUnder() {
+		CreateGradingSchemeRequest request = new CreateGradingSchemeRequest();
+		request.setName("Pass / no pass");
+		request.setMidtermWeight(0.5);
+		request.setFinalWeight(0.5);
+		request.setBoundaries(List.of(new GradingSchemeDTO.Boundary(50.0, "P", 2.0),
+				new GradingSchemeDTO.Boundary(0.0, "NP", 0.0)));
+		int version = gradingSchemeService.createScheme(request).getVersion();
+
+		Course intro = saveCourse("PREP-101");
+		Course advanced = saveCourse("PREP-201");
+		courseService.addPrerequisite(advanced.getId(), intro.getId());
+		Student passed = saveStudent("PREP1");
+		Student notPassed = saveStudent("PREP2");
+		saveResult(passed, intro, "P", version);
+		saveResult(notPassed, intro, "NP", version);
+
+		assertThatThrownBy(() -> enrollmentService.enrollInCourse(advanced.getId(), notPassed.getUser().getId()))
+				.isInstanceOf(EnrollmentException.class)
+				.hasMessageEndingWith("PREP-101");
+		BulkEnrollmentResponse response = enrollmentService.bulkEnroll(new BulkEnrollmentRequest(
+				List.of(passed.getId(), notPassed.getId()), List.of(advanced.getId())));
+		assertThat(response.getResults())
+				.extracting(BulkEnrollmentResponse.Item::getStudentId, BulkEnrollmentResponse.Item::isSuccess)
+				.containsExactly(tuple(passed.getId(), true), tuple(notPassed.getId(), false));
+	}
+
+	private Student saveStudent(String studentId) {
+		User user = userRepository.save(User.builder()
+				.email(studentId.toLowerCase() + "@university.edu")
+				.password("secret")
+				.firstName("Pre")
+				.lastName("Student")
+				.role(User.Role.STUDENT)
+				.build());
+		return studentRepository.save(Student.builder()
+				.studentId(studentId)
+				.user(user)
+				.department("CS")
+				.year(2)
+				.build());
+	}
+
+	private Course saveCourse(String code) {
+		return courseRepository.save(Course.builder()
+				.code(code)
+				.title(code)
+				.credits(3)
+				.capacity(10)
+				.build());
+	}
+
+	private void saveResult(Student student, Course course, String grade) {
+		saveResult(student, course, grade, null);
+	}
+
+	private void saveResult(Student student, Course course, String grade, Integer schemeVersion) {
+		resultRepository.save(Result.builder()
+				.student(student)
+				.course(course)
+				.midtermScore(50.0)
+				.finalScore(50.0)
+				.year(grade.equals("F") ? 1 : 2)
+				.semester("FALL")
+				.grade(grade)
+				.gradingSchemeVersion(schemeVersion)
+				.build());
+	}
+}
@@ -0,0 +1,61 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.university.course_managment.repository.CoursePrerequisiteRepository;
+
+class PrerequisiteGraphTest {
+
+	@Test
+	void closureFollowsEdgesTransitively() {
+		PrerequisiteGraph graph = graphWithEdges(new Object[] { 3L, 2L }, new Object[] { 2L, 1L });
+
+		assertThat(graph.findMissing(3L, List.of())).containsExactlyInAnyOrder(1L, 2L);
+		assertThat(graph.findMissing(3L, List.of(1L))).containsExactly(2L);
+		assertThat(graph.findMissing(3L, List.of(1L, 2L, 99L))).isEmpty();
+		assertThat(graph.hasPrerequisites(1L)).isFalse();
+		assertThat(graph.hasPrerequisites(42L)).isFalse();
+	}
+
+	@Test
+	void edgeChangesUpdateDependentsIncrementally() {
+		PrerequisiteGraph graph = graphWithEdges(new Object[] { 3L, 2L });
+
+		// 2 now requires 1, so 3 requires 1 as well
+		graph.addEdge(2L, 1L);
+		assertThat(graph.findMissing(3L, List.of())).containsExactlyInAnyOrder(1L, 2L);
+
+		// 3 also requires 1 directly; removing 2 -> 1 must keep 1 in the closure of 3
+		graph.addEdge(3L, 1L);
+		graph.removeEdge(2L, 1L);
+		assertThat(graph.findMissing(2L, List.of())).isEmpty();
+		assertThat(graph.findMissing(3L, List.of())).containsExactlyInAnyOrder(1L, 2L);
+
+		graph.removeEdge(3L, 1L);
+		assertThat(graph.findMissing(3L, List.of())).containsExactly(2L);
+	}
+
+	@Test
+	void detectsCycles() {
+		PrerequisiteGraph graph = graphWithEdges(new Object[] { 3L, 2L }, new Object[] { 2L, 1L });
+
+		assertThat(graph.wouldCreateCycle(1L, 3L)).isTrue();
+		assertThat(graph.wouldCreateCycle(2L, 2L)).isTrue();
+		assertThat(graph.wouldCreateCycle(3L, 1L)).isFalse();
+		assertThat(graph.wouldCreateCycle(4L, 3L)).isFalse();
+	}
+
+	private PrerequisiteGraph graphWithEdges(Object[]... edges) {
+		CoursePrerequisiteRepository repository = mock(CoursePrerequisiteRepository.class);
+		when(repository.findAllEdges()).thenReturn(List.of(edges));
+		PrerequisiteGraph graph = new PrerequisiteGraph(repository);
+		graph.reload();
+		return graph;
+	}
+}
@@ -0,0 +1,158 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.university.course_managment.dto.CreateResultRequest;
+import com.university.course_managment.dto.RankDTO;
+import com.university.course_managment.dto.ResultDTO;
+import com.university.course_managment.dto.StudentDTO;
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.exception.ResourceNotFoundException;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+@SpringBootTest
+class RankServiceTest {
+
+	@Autowired
+	private RankService rankService;
+
+	@Autowired
+	private ResultService resultService;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Test
+	void ranksFollowResultWritesAndSurviveRebuild() {
+		Course course = courseRepository.save(Course.builder()
+				.code("RANK-101").title("Rank").credits(3).capacity(10).build());
+		Course other = courseRepository.save(Course.builder()
+				.code("RANK-102").title("Other").credits(3).capacity(10).build());
+		Student first = student("rank0");
+		Student second = student("rank1");
+		Student third = student("rank2");
+		ResultDTO firstResult = grade(first, course, 90);
+		ResultDTO secondResult = grade(second, course, 70);
+		grade(third, course, 70);
+		grade(third, other, 50);
+
+		RankDTO best = rankService.getCourseRank(first.getId(), course.getId(), 1, "FALL");
+		assertThat(best.getRank()).isEqualTo(1);
+		assertThat(best.getOutOf()).isEqualTo(3);
+		assertThat(best.getPercentile()).isEqualTo(83.33);
+		RankDTO tied = rankService.getCourseRank(third.getId(), course.getId(), 1, "FALL");
+		assertThat(tied.getRank()).isEqualTo(2);
+		assertThat(tied.getPercentile()).isEqualTo(33.33);
+
+		RankDTO cohort = rankService.getCohortRank(third.getId());
+		assertThat(cohort.getDepartment()).isEqualTo("RANKING");
+		assertThat(cohort.getCohortYear()).isEqualTo(3);
+		assertThat(cohort.getScore()).isEqualTo(60.0);
+		assertThat(cohort.getRank()).isEqualTo(3);
+		assertThat(cohort.getPercentile()).isEqualTo(16.67);
+
+		resultService.updateResult(secondResult.getId(), request(second, course, 95));
+		resultService.deleteResult(firstResult.getId());
+		assertThat(rankService.getCourseRank(second.getId(), course.getId(), 1, "FALL").getRank()).isEqualTo(1);
+		assertThat(rankService.getCourseRank(third.getId(), course.getId(), 1, "FALL").getOutOf()).isEqualTo(2);
+		assertThat(rankService.getCohortRank(second.getId()).getRank()).isEqualTo(1);
+		assertThatThrownBy(() -> rankService.getCohortRank(first.getId())).isInstanceOf(ResourceNotFoundException.class);
+
+		StudentDTO moved = new StudentDTO();
+		moved.setStudentId(third.getStudentId());
+		moved.setDepartment("RANKING-2");
+		moved.setYear(3);
+		studentService.updateStudent(third.getId(), moved);
+		cohort = rankService.getCohortRank(third.getId());
+		assertThat(cohort.getDepartment()).isEqualTo("RANKING-2");
+		assertThat(cohort.getOutOf()).isEqualTo(1);
+		assertThat(rankService.getCohortRank(second.getId()).getOutOf()).isEqualTo(1);
+
+		rankService.rebuild();
+		assertThat(rankService.getCourseRank(second.getId(), course.getId(), 1, "FALL").getPercentile()).isEqualTo(75.0);
+		assertThat(rankService.getCohortRank(third.getId()).getScore()).isEqualTo(60.0);
+		assertThat(rankService.getCohortRank(third.getId()).getDepartment()).isEqualTo("RANKING-2");
+		assertThatThrownBy(() -> rankService.getCourseRank(first.getId(), course.getId(), 1, "FALL"))
+				.isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	@Test
+	void treeRanksMatchACountOfBetterScores() {
+		RankTree tree = new RankTree();
+		Map<Long, Double> scores = new HashMap<>();
+		Random random = new Random(21);
+		for (int i = 0; i < 5000; i++) {
+			long member = random.nextInt(400);
+			if (random.nextInt(4) == 0) {
+				assertThat(tree.remove(member)).isEqualTo(scores.remove(member));
+			} else {
+				double score = random.nextInt(50) * 2.0;
+				assertThat(tree.put(member, score)).isEqualTo(scores.put(member, score));
+			}
+		}
+
+		assertThat(tree.size()).isEqualTo(scores.size());
+		scores.forEach((member, score) -> {
+			long better = scores.values().stream().filter(other -> other > score).count();
+			assertThat(tree.standingOf(member).getRank()).isEqualTo(better + 1);
+		});
+		assertThat(tree.standingOf(1000)).isNull();
+	}
+
+	private Student student(String prefix) {
+		User user = userRepository.save(User.builder()
+				.email(prefix + "@university.edu")
+				.password("secret")
+				.firstName("Rank")
+				.lastName(prefix)
+				.role(User.Role.STUDENT)
+				.build());
+		return studentRepository.save(Student.builder()
+				.studentId(prefix.toUpperCase())
+				.user(user)
+				.department("RANKING")
+				.year(3)
+				.build());
+	}
+
+	private ResultDTO grade(Student student, Course course, double score) {
+		enrollmentService.enrollInCourse(course.getId(), student.getUser().getId());
+		return resultService.createResult(request(student, course, score));
+	}
+
+	private CreateResultRequest request(Student student, Course course, double score) {
+		CreateResultRequest request = new CreateResultRequest();
+		request.setStudentId(student.getId());
+		request.setCourseId(course.getId());
+		request.setYear(1);
+		request.setSemester("FALL");
+		request.setMidtermScore(score);
+		request.setFinalScore(score);
+		return request;
+	}
+}
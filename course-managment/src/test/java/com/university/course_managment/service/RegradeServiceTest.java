@@ -0,0 +1,225 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.university.course_managment.dto.CreateGradingSchemeRequest;
+import com.university.course_managment.dto.CreateResultRequest;
+import com.university.course_managment.dto.GradingSchemeDTO;
+import com.university.course_managment.dto.RegradeReportDTO;
+import com.university.course_managment.dto.ResultDTO;
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Result;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.ResultRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+@SpringBootTest
+class RegradeServiceTest {
+
+	@Autowired
+	private GradingSchemeService gradingSchemeService;
+
+	@Autowired
+	private ResultService resultService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private AcademicSummaryService academicSummaryService;
+
+	@Autowired
+	private GradeDistributionService gradeDistributionService;
+
+	@Autowired
+	private RankService rankService;
+
+	@Autowired
+	private DashboardCache dashboardCache;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private ResultRepository resultRepository;
+
+	@Test
+	void regradeMovesTermOntoNewSchemeInParallelChunks() {
+		Course course = courseRepository.save(Course.builder()
+				.code("REGRADE-101").title("Regrade").credits(3).capacity(10).build());
+		List<ResultDTO> results = new ArrayList<>();
+		results.add(grade("regrade0", course, 80, 90));
+		results.add(grade("regrade1", course, 50, 70));
+		results.add(grade("regrade2", course, 20, 30));
+		assertThat(results).extracting(ResultDTO::getGrade).containsExactly("A+", "B+", "F");
+
+		int previous = gradingSchemeService.current().getVersion();
+		try {
+			CreateGradingSchemeRequest request = new CreateGradingSchemeRequest();
+			request.setName("Even weights");
+			request.setMidtermWeight(0.5);
+			request.setFinalWeight(0.5);
+			request.setBoundaries(List.of(new GradingSchemeDTO.Boundary(90.0, "A", 4.0),
+					new GradingSchemeDTO.Boundary(60.0, "B", 2.5), new GradingSchemeDTO.Boundary(0.0, "F", 0.0)));
+			request.setActivate(true);
+			GradingSchemeDTO scheme = gradingSchemeService.createScheme(request);
+			assertThat(gradingSchemeService.current().getVersion()).isEqualTo(scheme.getVersion());
+
+			// One result per chunk, so the chunks run on several workers at once
+			RegradeService regradeService = new RegradeService(resultRepository, studentRepository,
+					gradingSchemeService, academicSummaryService, gradeDistributionService, rankService, dashboardCache,
+					jdbcTemplate, transactionTemplate, 3, 1);
+			RegradeReportDTO report = regradeService.regrade(4, "REGRADE", null);
+			assertThat(report.getChunks()).isEqualTo(3);
+			assertThat(report.getWorkers()).isEqualTo(3);
+			assertThat(report.getFailedChunks()).isZero();
+			assertThat(report.getUpdated()).isEqualTo(3);
+			assertThat(report.getGradesChanged()).isEqualTo(2);
+
+			List<Result> regraded = resultRepository.findAllById(
+					results.stream().map(ResultDTO::getId).collect(Collectors.toList()));
+			assertThat(regraded).extracting(Result::getGrade).containsExactlyInAnyOrder("B", "B", "F");
+			assertThat(regraded).extracting(Result::getTotalScore).containsExactlyInAnyOrder(85.0, 60.0, 25.0);
+			assertThat(regraded).extracting(Result::getGradingSchemeVersion).containsOnly(scheme.getVersion());
+			// Grade points come from the new scheme, not from a fixed letter scale
+			assertThat(academicSummaryService.getSummary(results.get(0).getStudentId()).getGpa()).isEqualTo(2.5);
+			assertThat(gradeDistributionService.getCourseDistribution(course.getId(), 4, "REGRADE", 10, List.of())
+					.getGrades()).containsExactly(Map.entry("A", 0L), Map.entry("B", 2L),
+							Map.entry("F", 1L));
+
+			assertThat(regradeService.regrade(4, "REGRADE", null).getUpdated()).isZero();
+		} finally {
+			gradingSchemeService.activate(previous);
+		}
+		assertThat(gradingSchemeService.current().getVersion()).isEqualTo(previous);
+	}
+
+	@Test
+	void regradeRacingResultUpdatesKeepsSummariesInStep() throws Exception {
+		Course course = courseRepository.save(Course.builder()
+				.code("REGRADE-201").title("Race").credits(3).capacity(30).build());
+		List<ResultDTO> results = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			results.add(grade("regraderace" + i, course, "RACE", 40 + i, 50 + i));
+		}
+
+		int previous = gradingSchemeService.current().getVersion();
+		try {
+			CreateGradingSchemeRequest scheme = new CreateGradingSchemeRequest();
+			scheme.setName("Race weights");
+			scheme.setMidtermWeight(0.5);
+			scheme.setFinalWeight(0.5);
+			scheme.setBoundaries(List.of(new GradingSchemeDTO.Boundary(90.0, "A", 4.0),
+					new GradingSchemeDTO.Boundary(40.0, "C", 2.0), new GradingSchemeDTO.Boundary(0.0, "F", 0.0)));
+			scheme.setActivate(true);
+			gradingSchemeService.createScheme(scheme);
+
+			RegradeService regradeService = new RegradeService(resultRepository, studentRepository,
+					gradingSchemeService, academicSummaryService, gradeDistributionService, rankService, dashboardCache,
+					jdbcTemplate, transactionTemplate, 4, 1);
+			Thread updater = new Thread(() -> results.forEach(result -> {
+				CreateResultRequest request = new CreateResultRequest();
+				request.setStudentId(result.getStudentId());
+				request.setCourseId(course.getId());
+				request.setYear(4);
+				request.setSemester("RACE");
+				request.setMidtermScore(95.0);
+				request.setFinalScore(95.0);
+				resultService.updateResult(result.getId(), request);
+			}));
+			updater.start();
+			RegradeReportDTO report = regradeService.regrade(4, "RACE", null);
+			updater.join();
+			assertThat(report.getFailedChunks()).isZero();
+
+			// Whichever side wrote a row last, the summaries hold exactly its grade and score
+			for (ResultDTO result : results) {
+				assertThat(academicSummaryService.getSummary(result.getStudentId()).getGpa()).isEqualTo(4.0);
+			}
+			assertThat(gradeDistributionService.getCourseDistribution(course.getId(), 4, "RACE", 10, List.of())
+					.getGrades()).containsEntry("A", 20L).containsEntry("C", 0L).containsEntry("F", 0L);
+		} finally {
+			gradingSchemeService.activate(previous);
+		}
+	}
+
+	@Test
+	void schemeWithoutLowestBoundaryIsRejected() {
+		CreateGradingSchemeRequest request = new CreateGradingSchemeRequest();
+		request.setName("Gaps");
+		request.setMidtermWeight(0.4);
+		request.setFinalWeight(0.6);
+		request.setBoundaries(List.of(new GradingSchemeDTO.Boundary(50.0, "P", 1.0)));
+		assertThatThrownBy(() -> gradingSchemeService.createScheme(request))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void schemeWithoutGradePointsIsRejected() {
+		CreateGradingSchemeRequest request = new CreateGradingSchemeRequest();
+		request.setName("Pass or fail");
+		request.setMidtermWeight(0.4);
+		request.setFinalWeight(0.6);
+		request.setBoundaries(List.of(new GradingSchemeDTO.Boundary(50.0, "P", null),
+				new GradingSchemeDTO.Boundary(0.0, "F", 0.0)));
+		assertThatThrownBy(() -> gradingSchemeService.createScheme(request))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("grade points");
+	}
+
+	private ResultDTO grade(String prefix, Course course, double midterm, double finalScore) {
+		return grade(prefix, course, "REGRADE", midterm, finalScore);
+	}
+
+	private ResultDTO grade(String prefix, Course course, String semester, double midterm, double finalScore) {
+		User user = userRepository.save(User.builder()
+				.email(prefix + "@university.edu")
+				.password("secret")
+				.firstName("Regrade")
+				.lastName(prefix)
+				.role(User.Role.STUDENT)
+				.build());
+		Student student = studentRepository.save(Student.builder()
+				.studentId(prefix.toUpperCase())
+				.user(user)
+				.department("CS")
+				.year(4)
+				.build());
+		enrollmentService.enrollInCourse(course.getId(), user.getId());
+		CreateResultRequest request = new CreateResultRequest();
+		request.setStudentId(student.getId());
+		request.setCourseId(course.getId());
+		request.setYear(4);
+		request.setSemester(semester);
+		request.setMidtermScore(midterm);
+		request.setFinalScore(finalScore);
+		return resultService.createResult(request);
+	}
+}
@@ -0,0 +1,100 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.university.course_managment.dto.ResultImportResponse;
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.ResultRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+@SpringBootTest
+class ResultImportServiceTest {
+
+	@Autowired
+	private ResultImportService resultImportService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private AcademicSummaryService academicSummaryService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private ResultRepository resultRepository;
+
+	@Test
+	void importWritesValidRowsAcrossChunksAndReportsTheRest() throws Exception {
+		User enrolledUser = createStudent("import-a");
+		User otherUser = createStudent("import-b");
+		Long enrolled = studentRepository.findIdByUserId(enrolledUser.getId()).orElseThrow();
+		Long other = studentRepository.findIdByUserId(otherUser.getId()).orElseThrow();
+		Course course = courseRepository.save(Course.builder()
+				.code("IMPORT-101").title("Import").credits(3).capacity(10).build());
+		enrollmentService.enrollInCourse(course.getId(), enrolledUser.getId());
+
+		StringBuilder csv = new StringBuilder("studentId,courseId,year,semester,midtermScore,finalScore\n");
+		csv.append(enrolled).append(',').append(course.getId()).append(",1,FALL,80,90\n");
+		csv.append(enrolled).append(',').append(course.getId()).append(",1,FALL,10,10\n");
+		csv.append(other).append(',').append(course.getId()).append(",1,FALL,80,90\n");
+		csv.append(enrolled).append(",999999,1,FALL,80,90\n");
+		csv.append("999999,").append(course.getId()).append(",1,FALL,80,90\n");
+		csv.append(enrolled).append(',').append(course.getId()).append(",7,FALL,80,90\n");
+		csv.append("not a row\n");
+		// More rows than one chunk holds
+		for (int i = 0; i < 600; i++) {
+			csv.append(enrolled).append(',').append(course.getId()).append(",2,T").append(i).append(",50,50\n");
+		}
+
+		ResultImportResponse response = resultImportService.importCsv(
+				new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(response.getRows()).isEqualTo(607);
+		assertThat(response.getImported()).isEqualTo(601);
+		assertThat(response.getFailed()).isEqualTo(6);
+		assertThat(response.getErrors()).extracting(ResultImportResponse.RowError::getLine)
+				.containsExactlyInAnyOrder(3, 4, 5, 6, 7, 8);
+		assertThat(response.getErrors()).extracting(ResultImportResponse.RowError::getMessage).contains(
+				"Student is not enrolled in this course", "Course not found", "Student not found");
+		assertThat(resultRepository.findKeysByStudentIdsAndCourseIds(
+				List.of(enrolled), List.of(course.getId()))).hasSize(601);
+		assertThat(academicSummaryService.getSummary(enrolled).getCompletedCourses()).isEqualTo(601);
+	}
+
+	private User createStudent(String prefix) {
+		User user = userRepository.save(User.builder()
+				.email(prefix + "@university.edu")
+				.password("secret")
+				.firstName("Import")
+				.lastName(prefix)
+				.role(User.Role.STUDENT)
+				.build());
+		studentRepository.save(Student.builder()
+				.studentId(prefix.toUpperCase())
+				.user(user)
+				.department("CS")
+				.year(1)
+				.build());
+		return user;
+	}
+}
@@ -0,0 +1,163 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.university.course_managment.dto.CreateResultRequest;
+import com.university.course_managment.dto.KeysetPage;
+import com.university.course_managment.dto.ResultDTO;
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.exception.ResourceNotFoundException;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class ResultQueryCountTest {
+
+	@Autowired
+	private ResultService resultService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void eachResultListIsOneStatementWithoutLoadingEntities() {
+		Course first = courseRepository.save(Course.builder()
+				.code("LIST-101").title("Listing").credits(3).capacity(10).build());
+		Course second = courseRepository.save(Course.builder()
+				.code("LIST-102").title("More Listing").credits(3).capacity(10).build());
+		Student student = student("list0");
+		ResultDTO created = grade(student, first, 80.0);
+		grade(student, second, 60.0);
+		grade(student("list1"), first, 70.0);
+
+		List<ResultDTO> studentResults = measure(() -> resultService.getStudentResults(student.getId()));
+		assertThat(studentResults).extracting(ResultDTO::getCourseCode).containsExactly("LIST-101", "LIST-102");
+		assertThat(studentResults.get(0).getStudentName()).isEqualTo("List list0");
+		assertThat(studentResults.get(0).getTotalScore()).isEqualTo(80.0);
+
+		List<ResultDTO> courseResults = measure(() -> resultService.getCourseResults(first.getId()));
+		assertThat(courseResults).extracting(ResultDTO::getStudentName).containsExactly("List list0", "List list1");
+		assertThat(courseResults).extracting(ResultDTO::getCourseTitle).containsOnly("Listing");
+
+		assertThat(measure(() -> resultService.getResults(null, null, false)).getItems()).hasSizeGreaterThanOrEqualTo(3);
+		ResultDTO byId = measure(() -> resultService.getResultById(created.getId()));
+		assertThat(byId.getGrade()).isEqualTo(created.getGrade());
+		assertThat(byId.getSemester()).isEqualTo("FALL");
+
+		assertThatThrownBy(() -> resultService.getStudentResults(student.getId() + 1000))
+				.isInstanceOf(ResourceNotFoundException.class);
+		assertThatThrownBy(() -> resultService.getCourseResults(first.getId() + 1000))
+				.isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	@Test
+	void instructorResultsArePagedWithOneStatementPerPage() {
+		User instructor = userRepository.save(User.builder()
+				.email("paged-instructor@university.edu")
+				.password("secret")
+				.firstName("Paged")
+				.lastName("Instructor")
+				.role(User.Role.INSTRUCTOR)
+				.build());
+		Course first = courseRepository.save(Course.builder()
+				.code("PAGE-101").title("Paging").credits(3).capacity(10).instructor(instructor).build());
+		Course second = courseRepository.save(Course.builder()
+				.code("PAGE-102").title("More Paging").credits(3).capacity(10).instructor(instructor).build());
+		Course foreign = courseRepository.save(Course.builder()
+				.code("PAGE-103").title("Someone Else's").credits(3).capacity(10).build());
+		List<Long> expected = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Student student = student("page" + i);
+			expected.add(grade(student, first, 70.0 + i).getId());
+			expected.add(grade(student, second, 50.0 + i).getId());
+			grade(student, foreign, 90.0);
+		}
+
+		List<Long> seen = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			String after = cursor;
+			KeysetPage<ResultDTO> page = measure(
+					() -> resultService.getResultsByInstructor(instructor.getId(), null, null, after, 4));
+			page.getItems().forEach(result -> seen.add(result.getId()));
+			cursor = page.getNextCursor();
+			pages++;
+		} while (cursor != null);
+		assertThat(pages).isEqualTo(2);
+		assertThat(seen).isEqualTo(expected);
+
+		KeysetPage<ResultDTO> filtered = resultService.getResultsByInstructor(instructor.getId(), 1, "SPRING", null, null);
+		assertThat(filtered.getItems()).isEmpty();
+		assertThat(filtered.getNextCursor()).isNull();
+		assertThatThrownBy(() -> resultService.getResultsByInstructor(instructor.getId(), null, null, "not a cursor", 4))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private <T> T measure(Supplier<T> read) {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		T value = read.get();
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		return value;
+	}
+
+	private Student student(String prefix) {
+		User user = userRepository.save(User.builder()
+				.email(prefix + "@university.edu")
+				.password("secret")
+				.firstName("List")
+				.lastName(prefix)
+				.role(User.Role.STUDENT)
+				.build());
+		return studentRepository.save(Student.builder()
+				.studentId(prefix.toUpperCase())
+				.user(user)
+				.department("CS")
+				.year(1)
+				.build());
+	}
+
+	private ResultDTO grade(Student student, Course course, double score) {
+		enrollmentService.enrollInCourse(course.getId(), student.getUser().getId());
+		CreateResultRequest request = new CreateResultRequest();
+		request.setStudentId(student.getId());
+		request.setCourseId(course.getId());
+		request.setYear(1);
+		request.setSemester("FALL");
+		request.setMidtermScore(score);
+		request.setFinalScore(score);
+		return resultService.createResult(request);
+	}
+}
@@ -0,0 +1,145 @@
+package com.university.course_managment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.course_managment.dto.CreateResultRequest;
+import com.university.course_managment.dto.TranscriptReportDTO;
+import com.university.course_managment.entity.Course;
+import com.university.course_managment.entity.Student;
+import com.university.course_managment.entity.User;
+import com.university.course_managment.repository.CourseRepository;
+import com.university.course_managment.repository.ResultRepository;
+import com.university.course_managment.repository.StudentRepository;
+import com.university.course_managment.repository.UserRepository;
+
+@SpringBootTest
+class TranscriptServiceTest {
+
+	private static final String TERM = "TRANSCRIPT";
+
+	@Autowired
+	private TranscriptService transcriptService;
+
+	@Autowired
+	private ResultService resultService;
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private ResultRepository resultRepository;
+
+	@Autowired
+	private GradingSchemeService gradingSchemeService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void writesOneTranscriptPerStudentToDirectoryAndZip(@TempDir Path outputDir) throws IOException {
+		Course algebra = courseRepository.save(Course.builder()
+				.code("TRANS-101").title("Algebra").credits(3).capacity(10).build());
+		Course physics = courseRepository.save(Course.builder()
+				.code("TRANS-102").title("Physics").credits(4).capacity(10).build());
+		Student first = student("trans0");
+		grade(first, algebra, 95);
+		grade(first, physics, 72);
+		grade(student("trans1"), algebra, 60);
+		grade(student("trans2"), physics, 88);
+
+		// Two workers with a queue of eight, so the pool and the reading thread both render
+		TranscriptService service = new TranscriptService(resultRepository, gradingSchemeService, objectMapper, outputDir.toString(), 2);
+		TranscriptReportDTO report = transactionTemplate.execute(status -> {
+			try {
+				return service.writeToDirectory(5, TERM);
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertThat(report.getStudents()).isEqualTo(3);
+		assertThat(report.getResults()).isEqualTo(4);
+		assertThat(report.getFailed()).isZero();
+		assertThat(report.getStudentsPerSecond()).isPositive();
+
+		Path directory = outputDir.resolve("5-" + TERM);
+		try (var files = Files.list(directory)) {
+			assertThat(files.map(file -> file.getFileName().toString()))
+					.containsExactlyInAnyOrder("transcript-TRANS0.txt", "transcript-TRANS1.txt", "transcript-TRANS2.txt");
+		}
+		String transcript = Files.readString(directory.resolve("transcript-TRANS0.txt"));
+		assertThat(transcript).contains("TRANS0  Transcript trans0", "TRANS-101", "TRANS-102", "95.00", "72.00");
+		assertThat(transcript).contains("Credits attempted: 7   Credits earned: 7   Term GPA: ");
+
+		ByteArrayOutputStream zip = new ByteArrayOutputStream();
+		assertThat(transcriptService.writeZip(5, TERM, zip).getStudents()).isEqualTo(3);
+		List<String> entries = new ArrayList<>();
+		try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip.toByteArray()))) {
+			for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+				entries.add(entry.getName());
+				if (entry.getName().equals("transcript-TRANS0.txt")) {
+					assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(transcript);
+				}
+			}
+		}
+		assertThat(entries).hasSize(4).endsWith("report.json")
+				.contains("transcript-TRANS0.txt", "transcript-TRANS1.txt", "transcript-TRANS2.txt");
+	}
+
+	private Student student(String prefix) {
+		User user = userRepository.save(User.builder()
+				.email(prefix + "@university.edu")
+				.password("secret")
+				.firstName("Transcript")
+				.lastName(prefix)
+				.role(User.Role.STUDENT)
+				.build());
+		return studentRepository.save(Student.builder()
+				.studentId(prefix.toUpperCase())
+				.user(user)
+				.department("CS")
+				.year(2)
+				.build());
+	}
+
+	private void grade(Student student, Course course, double score) {
+		enrollmentService.enrollInCourse(course.getId(), student.getUser().getId());
+		CreateResultRequest request = new CreateResultRequest();
+		request.setStudentId(student.getId());
+		request.setCourseId(course.getId());
+		request.setYear(5);
+		request.setSemester(TERM);
+		request.setMidtermScore(score);
+		request.setFinalScore(score);
+		resultService.createResult(request);
+	}
+}
@@ -20,7 +20,7 @@ import {
 } from '@/components/ui/table';
 import { Badge } from '@/components/ui/badge';
 import { ArrowLeft, Users, BookOpen, Calendar } from 'lucide-react';
-import apiClient from '@/lib/api/client';
+import apiClient, { getAllPages } from '@/lib/api/client';
 import { useAuthStore } from '@/lib/store/auth.store';
 
 export default function CourseDetailsPage() {
@@ -44,8 +44,7 @@ export default function CourseDetailsPage() {
       // Only fetch students if admin or instructor
       if (user?.role === 'ADMIN' || user?.role === 'INSTRUCTOR') {
         try {
-          const studentsRes = await apiClient.get(`/courses/${params.id}/students`);
-          setStudents(studentsRes.data || []);
+          setStudents(await getAllPages(`/courses/${params.id}/students`));
         } catch (error) {
           console.log('Students data not available');
           setStudents([]);
@@ -32,7 +32,7 @@ import {
 } from '@/components/ui/alert-dialog';
 import { Badge } from '@/components/ui/badge';
 import { useAuthStore } from '@/lib/store/auth.store';
-import apiClient from '@/lib/api/client';
+import apiClient, { getAllPages } from '@/lib/api/client';
 import { Plus, Search, Users, Clock, BookOpen, Trash, Edit, Eye, Check } from 'lucide-react';
 import CourseForm from '@/components/forms/CourseForm';
 
@@ -70,8 +70,7 @@ export default function CoursesPage() {
   const fetchCourses = async () => {
     try {
       setLoading(true);
-      const response = await apiClient.get('/courses');
-      setCourses(response.data);
+      setCourses(await getAllPages('/courses'));
     } catch (error) {
       console.error('Error fetching courses:', error);
     } finally {
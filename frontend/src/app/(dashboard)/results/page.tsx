@@ -24,7 +24,7 @@ import {
   TabsTrigger,
 } from '@/components/ui/tabs';
 import { useAuthStore } from '@/lib/store/auth.store';
-import apiClient from '@/lib/api/client';
+import apiClient, { getAllPages } from '@/lib/api/client';
 import { Plus, Search, FileText } from 'lucide-react';
 import ResultsTable from '@/components/results/ResultsTable';
 import ResultForm from '@/components/forms/ResultForm';
@@ -61,10 +61,10 @@ export default function ResultsPage() {
       let response;
 
       if (user?.role === 'ADMIN') {
-        response = await apiClient.get('/results');
+        response = { data: await getAllPages('/results') };
       } else if (user?.role === 'INSTRUCTOR') {
         // Assuming there's an endpoint for instructor results
-        response = await apiClient.get('/results/instructor');
+        response = { data: await getAllPages('/results/instructor') };
       } else if (user?.role === 'STUDENT') {
         // For students, fetch only their results
         response = await apiClient.get(`/results/student/${user.id}`);
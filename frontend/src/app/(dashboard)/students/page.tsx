@@ -18,7 +18,7 @@ import {
   DialogTitle,
 } from '@/components/ui/dialog';
 import { useAuthStore } from '@/lib/store/auth.store';
-import apiClient from '@/lib/api/client';
+import apiClient, { getAllPages } from '@/lib/api/client';
 import { Plus, Search, Pencil, Trash, GraduationCap, BookOpen } from 'lucide-react';
 import { useRouter } from 'next/navigation';
 import StudentForm from '@/components/forms/StudentForm';
@@ -51,8 +51,7 @@ export default function StudentsPage() {
   const fetchStudents = async () => {
     try {
       setLoading(true);
-      const response = await apiClient.get('/students');
-      setStudents(response.data);
+      setStudents(await getAllPages('/students'));
     } catch (error) {
       console.error('Error fetching students:', error);
     } finally {
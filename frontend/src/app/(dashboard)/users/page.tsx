@@ -41,7 +41,7 @@ import {
   UserCheck,
   UserX,
 } from 'lucide-react';
-import apiClient from '@/lib/api/client';
+import apiClient, { getAllPages } from '@/lib/api/client';
 import UserForm from '@/components/forms/UserForm';
 
 interface User {
@@ -80,9 +80,9 @@ export default function UsersPage() {
       }
       
       console.log("API URL:", url);
-      const response = await apiClient.get(url);
-      console.log("Users response:", response.data);
-      setUsers(response.data || []);
+      const users = await getAllPages(url);
+      console.log("Users response:", users);
+      setUsers(users);
     } catch (error: any) {
       console.error('Error fetching users:', error);
       console.error('Response details:', error.response?.data);
@@ -15,7 +15,7 @@ import {
   SelectTrigger,
   SelectValue,
 } from '@/components/ui/select';
-import apiClient from '@/lib/api/client';
+import apiClient, { getAllPages } from '@/lib/api/client';
 import { Loader2 } from 'lucide-react';
 
 const courseSchema = z.object({
@@ -80,9 +80,9 @@ export default function CourseForm({ onSuccess, initialData }: CourseFormProps)
 
   const fetchInstructors = async () => {
     try {
-      const response = await apiClient.get('/users?role=INSTRUCTOR');
-      console.log('Instructors fetched:', response.data);
-      setInstructors(response.data || []);
+      const instructors = await getAllPages('/users?role=INSTRUCTOR');
+      console.log('Instructors fetched:', instructors);
+      setInstructors(instructors);
     } catch (error) {
       console.error('Error fetching instructors:', error);
       setInstructors([]);
@@ -14,7 +14,7 @@ import {
   SelectTrigger,
   SelectValue,
 } from '@/components/ui/select';
-import apiClient from '@/lib/api/client';
+import apiClient, { getAllPages } from '@/lib/api/client';
 import { useAuthStore } from '@/lib/store/auth.store'; // Add this import
 import { Loader2 } from 'lucide-react';
 
@@ -95,8 +95,7 @@ export default function ResultForm({ initialData, onSuccess }: ResultFormProps)
   const fetchEnrolledStudents = async (courseId: number) => {
     try {
       // Fetch only students enrolled in the selected course
-      const response = await apiClient.get(`/courses/${courseId}/students`);
-      setEnrolledStudents(response.data || []);
+      setEnrolledStudents(await getAllPages(`/courses/${courseId}/students`));
     } catch (error) {
       console.error('Error fetching enrolled students:', error);
       setEnrolledStudents([]);
@@ -105,8 +104,7 @@ export default function ResultForm({ initialData, onSuccess }: ResultFormProps)
 
   const fetchCourses = async () => {
     try {
-      const response = await apiClient.get('/courses');
-      let courses = response.data || [];
+      let courses = await getAllPages('/courses');
       
       // If user is instructor, filter to only their courses
       const currentUser = useAuthStore.getState().user;
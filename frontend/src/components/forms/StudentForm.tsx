@@ -14,7 +14,7 @@ import {
   SelectTrigger,
   SelectValue,
 } from '@/components/ui/select';
-import apiClient from '@/lib/api/client';
+import apiClient, { getAllPages } from '@/lib/api/client';
 import { Loader2 } from 'lucide-react';
 import { Alert, AlertDescription } from '@/components/ui/alert';
 
@@ -95,8 +95,7 @@ export default function StudentForm({ initialData, isEditing = false, onSuccess
 
   const fetchUnassignedUsers = async () => {
     try {
-      const response = await apiClient.get('/users?role=STUDENT&unassigned=true');
-      setUsers(response.data || []);
+      setUsers(await getAllPages('/users?role=STUDENT&unassigned=true'));
     } catch (error) {
       console.error('Error fetching users:', error);
       setUsers([]);
@@ -120,4 +120,16 @@ apiClient.interceptors.response.use(
   }
 );
 
+// List endpoints answer one capped page at a time; follow X-Next-Cursor until the last page
+export async function getAllPages<T = any>(url: string): Promise<T[]> {
+  const items: T[] = [];
+  let cursor: string | undefined;
+  do {
+    const response = await apiClient.get<T[]>(url, { params: cursor ? { cursor } : undefined });
+    items.push(...(response.data || []));
+    cursor = response.headers['x-next-cursor'];
+  } while (cursor);
+  return items;
+}
+
 export default apiClient;
\ No newline at end of file